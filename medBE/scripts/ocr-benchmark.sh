@@ -0,0 +1,60 @@
+#!/bin/bash
+
+# OCR 엔진 벤치마크 스크립트
+# 제품 사진 폴더의 이미지를 /api/analysis/ocr/upload로 보내 지연 시간(p50/p95)과 처리량을 측정
+# 엔진별 비교는 서버를 OCR_ENGINE_MODE=vision / local / local-first로 각각 띄운 뒤 같은 폴더로 실행
+# 같은 이미지 재요청이 캐시에 맞지 않도록 서버는 OCR_CACHE_ENABLED=false(ocr.cache.enabled=false)로 실행
+#
+# 사용법: ./scripts/ocr-benchmark.sh <이미지 폴더> [동시 요청 수=4] [반복 횟수=1]
+# 환경 변수: BASE_URL (기본값 http://localhost:8080), TOKEN (JWT, 선택)
+
+set -e
+
+CORPUS_DIR="$1"
+CONCURRENCY="${2:-4}"
+ROUNDS="${3:-1}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+
+if [ -z "$CORPUS_DIR" ] || [ ! -d "$CORPUS_DIR" ]; then
+    echo "사용법: $0 <이미지 폴더> [동시 요청 수] [반복 횟수]"
+    exit 1
+fi
+
+RESULTS=$(mktemp)
+trap 'rm -f "$RESULTS"' EXIT
+
+FILES=$(find "$CORPUS_DIR" -maxdepth 1 -type f \( -iname '*.jpg' -o -iname '*.jpeg' -o -iname '*.png' -o -iname '*.webp' \))
+if [ -z "$FILES" ]; then
+    echo "❌ 이미지 파일이 없습니다: $CORPUS_DIR"
+    exit 1
+fi
+
+export BASE_URL TOKEN
+START=$(date +%s.%N)
+for _ in $(seq "$ROUNDS"); do
+    echo "$FILES"
+done | xargs -d '\n' -P "$CONCURRENCY" -I {} sh -c '
+    curl -s -o /dev/null -w "%{http_code} %{time_total}\n" \
+        -X POST "$BASE_URL/api/analysis/ocr/upload" \
+        -H "Content-Type: application/octet-stream" \
+        ${TOKEN:+-H "Authorization: Bearer $TOKEN"} \
+        --data-binary @"{}"
+' >> "$RESULTS"
+END=$(date +%s.%N)
+
+TOTAL=$(wc -l < "$RESULTS")
+FAILED=$(awk '$1 != 200' "$RESULTS" | wc -l)
+ELAPSED=$(echo "$END - $START" | bc)
+
+echo "=========================================="
+echo "요청 수: $TOTAL (실패: $FAILED), 동시 요청 수: $CONCURRENCY"
+echo "전체 소요 시간: ${ELAPSED}s, 처리량: $(echo "scale=2; $TOTAL / $ELAPSED" | bc) req/s"
+awk '$1 == 200 { print $2 }' "$RESULTS" | sort -n | awk '
+    { t[NR] = $1; sum += $1 }
+    END {
+        if (NR == 0) { print "성공한 요청이 없습니다"; exit }
+        printf "지연 시간: 평균 %.3fs, p50 %.3fs, p95 %.3fs, 최대 %.3fs\n",
+            sum / NR, t[int(NR * 0.5) > 0 ? int(NR * 0.5) : 1], t[int(NR * 0.95) > 0 ? int(NR * 0.95) : 1], t[NR]
+    }'
+echo "엔진별 서버 측 소요 시간: $BASE_URL/actuator/metrics/ocr.engine.duration"
+echo "=========================================="
@@ -0,0 +1,92 @@
+#!/bin/bash
+
+# 게시글 검색 벤치마크 스크립트
+# 별도 벤치마크 DB에 schema.sql을 적용하고 합성 게시글(기본 100만 건)을 만든 뒤
+# 검색어별 첫 페이지 쿼리(PostRepository.search와 같은 SQL)의 실행 시간(p50/p95)을 측정
+#
+# 사용법: ./scripts/post-search-benchmark.sh <벤치마크 DB 이름> [게시글 수=1000000] [검색어별 반복 횟수=20] [후보 수=0]
+# 후보 수: 0이면 제한 없는 쿼리(PostRepository.search), 양수면 최신 N건만 점수 계산(searchRecent, community.search.max-candidates)
+# 환경 변수: PGHOST, PGPORT, PGUSER, PGPASSWORD (psql 기본 연결 설정)
+# 주의: 지정한 DB의 posts/users 테이블에 데이터를 추가하므로 운영 DB에서 실행하지 마세요
+
+set -e
+
+DB_NAME="$1"
+POST_COUNT="${2:-1000000}"
+ROUNDS="${3:-20}"
+CANDIDATES="${4:-0}"
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+SCHEMA="$SCRIPT_DIR/../src/main/resources/db/schema.sql"
+
+if [ -z "$DB_NAME" ]; then
+    echo "사용법: $0 <벤치마크 DB 이름> [게시글 수] [검색어별 반복 횟수] [후보 수]"
+    exit 1
+fi
+
+echo "📦 스키마 적용: $DB_NAME"
+psql -q -d "$DB_NAME" -f "$SCHEMA" > /dev/null
+
+echo "📝 합성 게시글 ${POST_COUNT}건 생성 중..."
+psql -q -d "$DB_NAME" <<SQL
+INSERT INTO users (username, password, email, nickname)
+VALUES ('search_bench', 'x', 'search_bench@example.com', 'search_bench')
+ON CONFLICT DO NOTHING;
+
+WITH words AS (
+    SELECT ARRAY['타이레놀을', '아세트아미노펜', '이부프로펜', '복용', '부작용이', '두통에', '알러지', '땅콩',
+                 '우유', '항생제', '감기약을', '위장', '속쓰림', '졸음이', '처방', '약국에서', '하루', '두번',
+                 '식후', '복용했는데', 'vitamin', 'omega3', '유산균', '피부', '발진이', '어지러움'] AS w
+)
+INSERT INTO posts (author_id, title, content, category, moderation_status, created_at)
+SELECT u.id,
+       w[1 + (g * 7) % 26] || ' ' || w[1 + (g * 13) % 26] || ' 질문',
+       (SELECT string_agg(w[1 + ((g * 31 + k * 17) % 26)], ' ') FROM generate_series(1, 40) AS k),
+       CASE g % 3 WHEN 0 THEN '자유게시판' WHEN 1 THEN '질문' ELSE '후기' END,
+       'APPROVED',
+       CURRENT_TIMESTAMP - (g || ' seconds')::interval
+FROM generate_series(1, $POST_COUNT) AS g, words, users u
+WHERE u.username = 'search_bench';
+
+ANALYZE posts;
+SQL
+
+RESULTS=$(mktemp)
+trap 'rm -f "$RESULTS"' EXIT
+
+for KEYWORD in "타이레놀" "부작용" "땅콩 알러지" "vitamin" "속쓰림 처방" "약" "없는검색어"; do
+    for _ in $(seq "$ROUNDS"); do
+        if [ "$CANDIDATES" -gt 0 ]; then
+            psql -At -d "$DB_NAME" -v keyword="$KEYWORD" -v candidates="$CANDIDATES" <<'SQL' | awk '/Execution Time/ { print $3 }' >> "$RESULTS.$$"
+EXPLAIN (ANALYZE)
+SELECT c.id, ts_rank(c.search_vector, c.query) AS score
+FROM (
+    SELECT p.id, p.search_vector, query
+    FROM posts p, med_search_query(:'keyword') AS query
+    WHERE p.search_vector @@ query AND p.moderation_status = 'APPROVED'
+    ORDER BY p.id DESC LIMIT :candidates
+) c
+ORDER BY score DESC, c.id DESC LIMIT 21;
+SQL
+        else
+            psql -At -d "$DB_NAME" -v keyword="$KEYWORD" <<'SQL' | awk '/Execution Time/ { print $3 }' >> "$RESULTS.$$"
+EXPLAIN (ANALYZE)
+SELECT p.id, ts_rank(p.search_vector, query) AS score
+FROM posts p, med_search_query(:'keyword') AS query
+WHERE p.search_vector @@ query AND p.moderation_status = 'APPROVED'
+ORDER BY score DESC, p.id DESC LIMIT 21;
+SQL
+        fi
+    done
+    sort -n "$RESULTS.$$" | awk -v keyword="$KEYWORD" '
+        { t[NR] = $1 }
+        END {
+            printf "%-12s p50 %8.2fms, p95 %8.2fms, 최대 %8.2fms\n", keyword,
+                t[int(NR * 0.5) > 0 ? int(NR * 0.5) : 1], t[int(NR * 0.95) > 0 ? int(NR * 0.95) : 1], t[NR]
+        }' | tee -a "$RESULTS"
+    rm -f "$RESULTS.$$"
+done
+
+echo "=========================================="
+echo "실행 계획 확인: idx_posts_search_vector (Bitmap Index Scan) 사용 여부를 EXPLAIN으로 확인하세요"
+echo "흔한 검색어의 p95가 목표를 넘으면 후보 수를 바꿔 다시 측정한 뒤 community.search.max-candidates를 설정하세요"
+echo "=========================================="
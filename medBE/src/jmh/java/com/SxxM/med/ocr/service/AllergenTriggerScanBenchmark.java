@@ -0,0 +1,105 @@
+package com.sxxm.med.ocr.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 알러지 트리거 검색: Aho-Corasick 오토마톤(AllergenTriggerScanner) vs 이전 트리거별 contains()
+ * 실행: ./gradlew jmh --args="AllergenTriggerScan"
+ * label은 성분표 한 장 분량(수백 자), long은 여러 장을 이어 붙인 약 5만 자
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllergenTriggerScanBenchmark {
+    
+    /**
+     * 사전 파일로 옮기기 전 OcrAnalysisService.detectFoodAllergenTriggers의 그룹별 트리거 목록
+     */
+    private static final Map<String, List<String>> LEGACY_GROUPS = new LinkedHashMap<>();
+    
+    static {
+        LEGACY_GROUPS.put("NUTS", List.of("땅콩", "peanut", "아몬드", "almond", "호두", "walnut",
+                "피스타치오", "pistachio", "캐슈넛", "cashew", "헤이즐넛", "hazelnut", "macadamia", "브라질넛"));
+        LEGACY_GROUPS.put("DAIRY_EGG", List.of("우유", "milk", "유청", "whey", "카제인", "casein",
+                "계란", "egg", "난백", "albumin", "ovalbumin", "lysozyme"));
+        LEGACY_GROUPS.put("SEAFOOD", List.of("연어", "salmon", "참치", "tuna", "cod", "fish",
+                "새우", "shrimp", "게", "crab", "crustacean", "조개", "clam", "mussel", "oyster", "mollusc"));
+        LEGACY_GROUPS.put("GRAINS_GLUTEN", List.of("밀", "wheat", "글루텐", "gluten", "보리", "barley", "호밀", "rye"));
+        LEGACY_GROUPS.put("SOY", List.of("대두", "soy", "soybean", "레시틴", "lecithin"));
+        LEGACY_GROUPS.put("SEEDS", List.of("참깨", "sesame", "해바라기씨", "sunflower seed"));
+        LEGACY_GROUPS.put("OTHER", List.of("젤라틴", "gelatin", "아황산", "sulfite", "sulphite",
+                "셀러리", "celery", "겨자", "mustard", "루핀", "lupin"));
+    }
+    
+    private static final String LABEL = "제품명: 통밀 크래커 / 원재료명: 밀가루(밀:미국산), 식물성유지(팜유), 설탕, 대두유, "
+            + "레시-\n틴(대두), 전지분유(우유), 계란, 정제소금, 탄산수소나트륨, 향료(버터향), 비타민C / "
+            + "Ingredients: Wheat Flour, Palm Oil, Sugar, Soybean Oil, Soy Lecithin, Whole Milk Powder, Egg, Salt / "
+            + "이 제품은 메밀, 땅콩, 대두, 우유, 밀, 새우, 호두를 사용한 제품과 같은 제조 시설에서 제조하고 있습니다";
+    
+    @Param({"label", "long"})
+    private String input;
+    
+    private String text;
+    private List<String> groups;
+    private AllergenTriggerScanner scanner;
+    
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder(LABEL);
+        while ("long".equals(input) && builder.length() < 50_000) {
+            builder.append('\n').append(LABEL);
+        }
+        text = builder.toString();
+        groups = List.copyOf(LEGACY_GROUPS.keySet());
+        
+        scanner = new AllergenTriggerScanner(new DefaultResourceLoader());
+        Field triggersPath = ReflectionUtils.findField(AllergenTriggerScanner.class, "triggersPath");
+        ReflectionUtils.makeAccessible(triggersPath);
+        ReflectionUtils.setField(triggersPath, scanner, "classpath:allergen/food-triggers.txt");
+        scanner.init();
+    }
+    
+    @Benchmark
+    public List<AllergenTriggerScanner.Match> automaton() {
+        return scanner.scan(text, groups);
+    }
+    
+    /**
+     * 이전 구현 그대로 (호출마다 소문자 변환 후 트리거별 contains, 첫 일치만 확인)
+     */
+    @Benchmark
+    public List<String> legacyContains() {
+        List<String> detected = new ArrayList<>();
+        String lower = text.toLowerCase();
+        for (String group : groups) {
+            for (String trigger : LEGACY_GROUPS.getOrDefault(group, List.of())) {
+                if (lower.contains(trigger.toLowerCase())) {
+                    detected.add(trigger);
+                }
+            }
+        }
+        return detected.stream().distinct().toList();
+    }
+}
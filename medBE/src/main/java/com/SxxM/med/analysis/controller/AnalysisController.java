@@ -1,24 +1,45 @@
 package com.sxxm.med.analysis.controller;
 
 import com.sxxm.med.auth.repository.UserRepository;
+import com.sxxm.med.common.RequestDeadline;
 import com.sxxm.med.ocr.dto.OcrAnalysisRequest;
 import com.sxxm.med.ocr.dto.OcrAnalysisResponse;
 import com.sxxm.med.analysis.dto.SideEffectAnalysisRequest;
 import com.sxxm.med.analysis.dto.SideEffectAnalysisResponse;
 import com.sxxm.med.analysis.dto.SymptomAnalysisRequest;
 import com.sxxm.med.analysis.dto.SymptomAnalysisResponse;
+import com.sxxm.med.ocr.service.ImageTooLargeException;
+import com.sxxm.med.ocr.service.ImageUploadReader;
 import com.sxxm.med.ocr.service.OcrAnalysisService;
+import com.sxxm.med.analysis.service.GptRequestRejectedException;
 import com.sxxm.med.analysis.service.SideEffectAnalysisService;
+import com.sxxm.med.analysis.service.StreamCancelledException;
 import com.sxxm.med.analysis.service.SymptomAnalysisService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/api/analysis")
@@ -31,18 +52,125 @@ public class AnalysisController {
     private final SideEffectAnalysisService sideEffectAnalysisService;
     private final OcrAnalysisService ocrAnalysisService;
     private final UserRepository userRepository;
+    private final ImageUploadReader imageUploadReader;
+    
+    @Qualifier("analysisStreamExecutor")
+    private final TaskExecutor analysisStreamExecutor;
+    
+    @Value("${analysis.stream.timeout-ms:120000}")
+    private long streamTimeoutMs;
+    
+    // nginx proxy_read_timeout(60s)보다 짧게 설정해 응답받을 수 없는 작업을 계속하지 않도록 함
+    @Value("${analysis.request.deadline-ms:55000}")
+    private long requestDeadlineMs;
     
     @PostMapping("/symptom")
     @Operation(summary = "증상 분석", description = "사용자의 증상을 분석하여 추천 약물 및 주의사항을 제공합니다.")
     public ResponseEntity<SymptomAnalysisResponse> analyzeSymptom(
             @Valid @RequestBody SymptomAnalysisRequest request
     ) {
+        RequestDeadline deadline = RequestDeadline.start(Duration.ofMillis(requestDeadlineMs));
         try {
             SymptomAnalysisResponse response = symptomAnalysisService.analyzeSymptom(request);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
+            if (deadline.isExpired()) {
+                log.warn("증상 분석 요청 처리 기한 초과: {}", e.getMessage());
+                return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+            }
+            if (e instanceof GptRequestRejectedException) {
+                log.warn("증상 분석 요청 거절 (GPT 과부하): {}", e.getMessage());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
             log.error("증상 분석 요청 처리 중 오류 발생", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } finally {
+            deadline.close();
+        }
+    }
+    
+    /**
+     * 스트리밍 증상 분석 (SSE)
+     * 이벤트: token(GPT 토큰 조각), result(검증된 최종 SymptomAnalysisResponse), error(status, message)
+     * 처리 기한은 SSE 시간 제한과 같고, SSE가 끝나면(완료, 시간 초과, 연결 오류) 진행 중인 GPT 스트림도 바로 끊음
+     */
+    @PostMapping(value = "/symptom/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "증상 분석 (스트리밍)", description = "GPT 응답을 SSE로 실시간 전달하고, 마지막에 검증된 분석 결과를 전송합니다.")
+    public ResponseEntity<SseEmitter> streamSymptomAnalysis(
+            @Valid @RequestBody SymptomAnalysisRequest request
+    ) {
+        long acceptedAt = System.nanoTime();
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Disposable.Swap gptStream = Disposables.swap();
+        emitter.onTimeout(() -> {
+            log.warn("스트리밍 증상 분석 시간 초과: userId={}", request.getUserId());
+            gptStream.dispose();
+        });
+        emitter.onCompletion(gptStream::dispose);
+        emitter.onError(e -> gptStream.dispose());
+        
+        try {
+            analysisStreamExecutor.execute(() -> runSymptomStream(request, emitter, gptStream, acceptedAt));
+        } catch (TaskRejectedException e) {
+            log.warn("스트리밍 증상 분석 요청 거절 (작업 풀 포화): userId={}", request.getUserId());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+    
+    private void runSymptomStream(
+            SymptomAnalysisRequest request,
+            SseEmitter emitter,
+            Disposable.Swap gptStream,
+            long acceptedAt
+    ) {
+        // 작업 풀 대기 시간을 빼서 SSE 시간 제한과 같은 시각에 끝나도록 함
+        Duration budget = Duration.ofMillis(streamTimeoutMs).minusNanos(System.nanoTime() - acceptedAt);
+        RequestDeadline deadline = RequestDeadline.start(budget.isNegative() ? Duration.ZERO : budget);
+        try {
+            SymptomAnalysisResponse response = symptomAnalysisService.analyzeSymptomStreaming(request,
+                    token -> send(emitter, SseEmitter.event().name("token").data(Map.of("text", token), MediaType.APPLICATION_JSON)),
+                    gptStream);
+            send(emitter, SseEmitter.event().name("result").data(response, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (StreamCancelledException e) {
+            log.info("스트리밍 증상 분석 중 클라이언트 연결 종료: userId={}", request.getUserId());
+            emitter.completeWithError(e);
+        } catch (GptRequestRejectedException e) {
+            log.warn("스트리밍 증상 분석 요청 거절 (GPT 과부하): {}", e.getMessage());
+            sendStreamError(emitter, HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 잠시 후 다시 시도해주세요.");
+        } catch (Exception e) {
+            if (deadline.isExpired()) {
+                log.warn("스트리밍 증상 분석 처리 기한 초과: {}", e.getMessage());
+                sendStreamError(emitter, HttpStatus.GATEWAY_TIMEOUT, "분석 시간이 초과되었습니다. 다시 시도해주세요.");
+                return;
+            }
+            log.error("스트리밍 증상 분석 처리 중 오류 발생", e);
+            sendStreamError(emitter, HttpStatus.INTERNAL_SERVER_ERROR, "증상 분석 중 오류가 발생했습니다.");
+        } finally {
+            deadline.close();
+        }
+    }
+    
+    /**
+     * @throws StreamCancelledException 클라이언트 연결이 끊겼거나, 시간 초과 등으로 SSE가 이미 완료된 경우
+     *                                  (GPT 스트림 중단용이며 오류가 아님)
+     */
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            throw new StreamCancelledException("클라이언트에 스트리밍 이벤트를 전송할 수 없습니다", e);
+        }
+    }
+    
+    private void sendStreamError(SseEmitter emitter, HttpStatus status, String message) {
+        try {
+            emitter.send(SseEmitter.event().name("error")
+                    .data(Map.of("status", status.value(), "message", message), MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
         }
     }
     
@@ -51,16 +179,23 @@ public class AnalysisController {
     public ResponseEntity<SideEffectAnalysisResponse> analyzeSideEffect(
             @Valid @RequestBody SideEffectAnalysisRequest request
     ) {
+        RequestDeadline deadline = RequestDeadline.start(Duration.ofMillis(requestDeadlineMs));
         try {
             SideEffectAnalysisResponse response = sideEffectAnalysisService.analyzeSideEffect(request);
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
+            if (deadline.isExpired()) {
+                log.warn("부작용 분석 요청 처리 기한 초과: {}", e.getMessage());
+                return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+            }
             log.error("부작용 분석 요청 처리 중 오류 발생: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .build();
         } catch (Exception e) {
             log.error("부작용 분석 요청 처리 중 예상치 못한 오류 발생", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } finally {
+            deadline.close();
         }
     }
     
@@ -70,6 +205,7 @@ public class AnalysisController {
             Authentication authentication,
             @Valid @RequestBody OcrAnalysisRequest request
     ) {
+        RequestDeadline deadline = RequestDeadline.start(Duration.ofMillis(requestDeadlineMs));
         try {
             // JWT에서 사용자 정보 추출 (인증이 있으면 userId 설정, 없으면 null 허용)
             if (authentication != null && authentication.getName() != null) {
@@ -88,13 +224,88 @@ public class AnalysisController {
             OcrAnalysisResponse response = ocrAnalysisService.analyzeOcrImage(request);
             log.info("OCR 분석 완료: userId={}", request.getUserId());
             return ResponseEntity.ok(response);
+        } catch (ImageTooLargeException e) {
+            log.warn("OCR 이미지 크기 초과: userId={}, {}", request.getUserId(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
         } catch (RuntimeException e) {
+            if (deadline.isExpired()) {
+                log.warn("OCR 분석 요청 처리 기한 초과: userId={}, {}", request.getUserId(), e.getMessage());
+                return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+            }
             log.error("OCR 분석 요청 처리 중 오류 발생: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (Exception e) {
             log.error("OCR 분석 요청 처리 중 예상치 못한 오류 발생: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } finally {
+            deadline.close();
+        }
+    }
+    
+    @PostMapping(value = "/ocr/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "OCR 분석 (이미지 파일 업로드)",
+            description = "multipart/form-data의 image 파트로 이미지를 받아 OCR 분석합니다. Base64 JSON보다 메모리 사용이 적습니다.")
+    public ResponseEntity<OcrAnalysisResponse> analyzeOcrUpload(
+            Authentication authentication,
+            @RequestPart("image") MultipartFile image
+    ) {
+        return analyzeOcrBytes(authentication, "multipart", () -> imageUploadReader.read(image));
+    }
+    
+    @PostMapping(value = "/ocr/upload", consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, "image/*"})
+    @Operation(summary = "OCR 분석 (이미지 바이너리 본문)",
+            description = "요청 본문 전체를 이미지 바이너리로 받아 OCR 분석합니다 (Content-Type: application/octet-stream 또는 image/*).")
+    public ResponseEntity<OcrAnalysisResponse> analyzeOcrStream(
+            Authentication authentication,
+            HttpServletRequest httpRequest
+    ) {
+        return analyzeOcrBytes(authentication, "stream",
+                () -> imageUploadReader.read(httpRequest.getInputStream(), httpRequest.getContentLengthLong()));
+    }
+    
+    private ResponseEntity<OcrAnalysisResponse> analyzeOcrBytes(
+            Authentication authentication,
+            String uploadType,
+            Callable<byte[]> imageReader
+    ) {
+        RequestDeadline deadline = RequestDeadline.start(Duration.ofMillis(requestDeadlineMs));
+        Long userId = null;
+        try {
+            if (authentication != null && authentication.getName() != null) {
+                userId = userRepository.findByUsername(authentication.getName())
+                        .map(user -> user.getId())
+                        .orElse(null);
+            }
+            byte[] imageBytes = imageReader.call();
+            log.info("OCR 업로드 분석 시작: userId={}, uploadType={}, 바이트 크기={}", userId, uploadType, imageBytes.length);
+            
+            OcrAnalysisResponse response = ocrAnalysisService.analyzeOcrImageBytes(userId, imageBytes);
+            log.info("OCR 업로드 분석 완료: userId={}", userId);
+            return ResponseEntity.ok(response);
+        } catch (ImageTooLargeException e) {
+            log.warn("OCR 업로드 이미지 크기 초과: userId={}, {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        } catch (RuntimeException e) {
+            if (deadline.isExpired()) {
+                log.warn("OCR 업로드 분석 요청 처리 기한 초과: userId={}, {}", userId, e.getMessage());
+                return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+            }
+            log.error("OCR 업로드 분석 요청 처리 중 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            log.error("OCR 업로드 분석 요청 처리 중 예상치 못한 오류 발생: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } finally {
+            deadline.close();
         }
     }
+    
+    /**
+     * multipart 업로드 크기 초과 (spring.servlet.multipart.max-file-size)
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<Void> handleMaxUploadSize(MaxUploadSizeExceededException e) {
+        log.warn("OCR 업로드 이미지 크기 초과: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+    }
 }
-
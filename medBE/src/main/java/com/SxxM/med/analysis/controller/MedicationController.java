@@ -2,13 +2,17 @@ package com.sxxm.med.analysis.controller;
 
 import com.sxxm.med.analysis.dto.MedicationInfo;
 import com.sxxm.med.analysis.service.MedicationDbService;
+import com.sxxm.med.common.RequestDeadline;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -20,27 +24,44 @@ public class MedicationController {
     
     private final MedicationDbService medicationDbService;
     
+    @Value("${analysis.request.deadline-ms:55000}")
+    private long requestDeadlineMs;
+    
     @GetMapping("/search")
     @Operation(summary = "약 검색", description = "약물명으로 의약품 정보를 검색합니다.")
     public ResponseEntity<MedicationInfo> searchMedication(@RequestParam String name) {
+        RequestDeadline deadline = RequestDeadline.start(Duration.ofMillis(requestDeadlineMs));
         try {
             MedicationInfo medication = medicationDbService.getMedicationInfo(name);
             return ResponseEntity.ok(medication);
         } catch (Exception e) {
+            if (deadline.isExpired()) {
+                log.warn("약 검색 처리 기한 초과: {}", name);
+                return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+            }
             log.error("약 검색 실패: {}", name, e);
             return ResponseEntity.internalServerError().build();
+        } finally {
+            deadline.close();
         }
     }
     
     @PostMapping("/search/batch")
     @Operation(summary = "약 일괄 검색", description = "여러 약물명으로 의약품 정보를 일괄 검색합니다.")
     public ResponseEntity<List<MedicationInfo>> searchMedications(@RequestBody List<String> medicationNames) {
+        RequestDeadline deadline = RequestDeadline.start(Duration.ofMillis(requestDeadlineMs));
         try {
             List<MedicationInfo> medications = medicationDbService.getMedicationInfoList(medicationNames);
             return ResponseEntity.ok(medications);
         } catch (Exception e) {
+            if (deadline.isExpired()) {
+                log.warn("약 일괄 검색 처리 기한 초과: 요청 개수={}", medicationNames.size());
+                return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+            }
             log.error("약 일괄 검색 실패", e);
             return ResponseEntity.internalServerError().build();
+        } finally {
+            deadline.close();
         }
     }
 }
@@ -18,5 +18,7 @@ public class SymptomAnalysisRequest {
     
     @NotBlank(message = "증상 설명은 필수입니다")
     private String symptomText;
+    
+    private boolean bypassCache; // true이면 GPT 응답 캐시를 사용하지 않음
 }
 
@@ -0,0 +1,51 @@
+package com.sxxm.med.analysis.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * GPT 응답 캐시 (2차 영속 계층)
+ * cache_key = SHA-256(모델 + 전체 메시지 목록 + 요청 옵션)
+ */
+@Entity
+@Table(name = "gpt_response_cache")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GptResponseCache {
+    
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+    
+    @Column(nullable = false, length = 100)
+    private String model;
+    
+    @Column(name = "call_site", length = 50)
+    private String callSite;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+    
+    @Column(name = "total_tokens")
+    private Integer totalTokens;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
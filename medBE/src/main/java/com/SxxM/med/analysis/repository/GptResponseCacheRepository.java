@@ -0,0 +1,18 @@
+package com.sxxm.med.analysis.repository;
+
+import com.sxxm.med.analysis.entity.GptResponseCache;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface GptResponseCacheRepository extends JpaRepository<GptResponseCache, String> {
+    
+    @Modifying
+    @Query("delete from GptResponseCache c where c.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
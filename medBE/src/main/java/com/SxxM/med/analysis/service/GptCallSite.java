@@ -0,0 +1,20 @@
+package com.sxxm.med.analysis.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * GPT 호출 지점 구분
+ * 캐시 TTL(gpt.cache.ttl-minutes.{key}), 스케줄러 우선순위, 메트릭 태그에 사용
+ */
+@Getter
+@RequiredArgsConstructor
+public enum GptCallSite {
+    SYMPTOM_ANALYSIS("symptom-analysis", 720, GptPriority.INTERACTIVE),
+    CONTENT_MODERATION("content-moderation", 10080, GptPriority.BACKGROUND),
+    GENERAL("general", 60, GptPriority.STANDARD);
+    
+    private final String key;
+    private final long defaultTtlMinutes;
+    private final GptPriority priority;
+}
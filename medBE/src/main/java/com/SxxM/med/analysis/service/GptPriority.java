@@ -0,0 +1,11 @@
+package com.sxxm.med.analysis.service;
+
+/**
+ * GPT 요청 우선순위 클래스 (ordinal이 작을수록 우선)
+ * 과부하 시 낮은 우선순위부터 거절
+ */
+public enum GptPriority {
+    INTERACTIVE,
+    STANDARD,
+    BACKGROUND
+}
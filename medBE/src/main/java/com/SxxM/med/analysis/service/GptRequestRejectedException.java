@@ -0,0 +1,11 @@
+package com.sxxm.med.analysis.service;
+
+/**
+ * GPT 스케줄러가 과부하로 요청을 거절한 경우 (대기열 초과, 선점, 대기 시간 초과)
+ */
+public class GptRequestRejectedException extends RuntimeException {
+    
+    public GptRequestRejectedException(String message) {
+        super(message);
+    }
+}
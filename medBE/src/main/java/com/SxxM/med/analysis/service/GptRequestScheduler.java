@@ -0,0 +1,313 @@
+package com.sxxm.med.analysis.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import com.sxxm.med.common.RequestDeadline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * GPT 호출 스케줄러
+ * - 동시 실행 수 제한 (gpt.scheduler.max-concurrent)
+ * - 분당 토큰 예산 (프롬프트 길이로 추정, 실제 usage로 정산)
+ * - 우선순위 클래스별 대기열: 높은 우선순위가 항상 먼저 진입하고, 대기열이 가득 차면 낮은 우선순위부터 거절
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GptRequestScheduler {
+    
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    
+    @Value("${gpt.scheduler.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${gpt.scheduler.max-concurrent:4}")
+    private int maxConcurrent;
+    
+    @Value("${gpt.scheduler.tokens-per-minute:60000}")
+    private long tokensPerMinute;
+    
+    @Value("${gpt.scheduler.max-queue-size:50}")
+    private int maxQueueSize;
+    
+    @Value("${gpt.scheduler.completion-token-estimate:800}")
+    private int completionTokenEstimate;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition stateChanged = lock.newCondition();
+    private final Map<GptPriority, Deque<Waiter>> queues = new EnumMap<>(GptPriority.class);
+    private final Map<GptPriority, Long> maxWaitNanos = new EnumMap<>(GptPriority.class);
+    
+    private volatile int inFlight;
+    private volatile double availableTokens;
+    private long lastRefillNanos;
+    private double tokensPerNano;
+    private LongSupplier nanoClock = System::nanoTime;
+    
+    @PostConstruct
+    public void init() {
+        availableTokens = tokensPerMinute;
+        lastRefillNanos = nanoClock.getAsLong();
+        tokensPerNano = tokensPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        
+        for (GptPriority priority : GptPriority.values()) {
+            Deque<Waiter> queue = new ArrayDeque<>();
+            queues.put(priority, queue);
+            
+            long defaultWaitMs = switch (priority) {
+                case INTERACTIVE -> 30000L;
+                case STANDARD -> 15000L;
+                case BACKGROUND -> 5000L;
+            };
+            long waitMs = environment.getProperty(
+                    "gpt.scheduler.max-wait-ms." + priority.name().toLowerCase(), Long.class, defaultWaitMs);
+            maxWaitNanos.put(priority, TimeUnit.MILLISECONDS.toNanos(waitMs));
+            
+            Gauge.builder("gpt.scheduler.queue.depth", queue, Deque::size)
+                    .description("GPT 요청 대기열 길이")
+                    .tag("priority", tagOf(priority))
+                    .register(meterRegistry);
+        }
+        Gauge.builder("gpt.scheduler.in.flight", this, scheduler -> scheduler.inFlight)
+                .description("실행 중인 GPT 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("gpt.scheduler.tokens.available", this, scheduler -> scheduler.availableTokens)
+                .description("남은 분당 토큰 예산")
+                .register(meterRegistry);
+        
+        log.info("GPT 스케줄러 초기화: enabled={}, maxConcurrent={}, tokensPerMinute={}, maxQueueSize={}",
+                enabled, maxConcurrent, tokensPerMinute, maxQueueSize);
+    }
+    
+    /**
+     * 시간 측정 함수 교체 (테스트용 가짜 시계, init 전에 호출)
+     */
+    void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * 대기 중인 요청을 깨워 대기 기한과 토큰 예산을 다시 확인하게 함 (가짜 시계를 움직인 뒤 호출)
+     */
+    void wakeWaiters() {
+        lock.lock();
+        try {
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 프롬프트 길이 기반 토큰 추정
+     * 한글 등 비ASCII 문자는 약 1토큰/문자, ASCII는 약 4문자/토큰으로 계산하고 예상 응답 토큰을 더함
+     */
+    public int estimateTokens(String... texts) {
+        long ascii = 0;
+        long nonAscii = 0;
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) < 128) {
+                    ascii++;
+                } else {
+                    nonAscii++;
+                }
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, nonAscii + (ascii + 3) / 4 + completionTokenEstimate);
+    }
+    
+    /**
+     * 실행 권한 획득 (대기열 진입 후 차례가 올 때까지 대기)
+     *
+     * @throws GptRequestRejectedException 대기열 초과, 상위 우선순위에 의한 선점, 대기 시간 초과 시
+     */
+    public Permit acquire(GptPriority priority, int estimatedTokens) {
+        if (!enabled) {
+            return new Permit(priority, 0, false);
+        }
+        
+        Waiter waiter = new Waiter(priority, (int) Math.min(estimatedTokens, tokensPerMinute));
+        long startNanos = nanoClock.getAsLong();
+        // 요청 처리 기한이 설정된 경우 남은 시간 이상 대기하지 않음
+        long waitBudgetNanos = RequestDeadline.current()
+                .map(deadline -> Math.min(deadline.remaining().toNanos(), maxWaitNanos.get(priority)))
+                .orElse(maxWaitNanos.get(priority));
+        long deadlineNanos = startNanos + waitBudgetNanos;
+        
+        lock.lock();
+        try {
+            if (!enqueue(waiter)) {
+                throw reject(priority, "queue_full");
+            }
+            
+            while (true) {
+                if (waiter.shed) {
+                    throw reject(priority, "preempted");
+                }
+                
+                refillTokens();
+                boolean head = isHead(waiter);
+                if (head && inFlight < maxConcurrent && availableTokens >= waiter.tokens) {
+                    queues.get(priority).pollFirst();
+                    inFlight++;
+                    availableTokens -= waiter.tokens;
+                    Timer.builder("gpt.scheduler.queue.wait")
+                            .description("GPT 요청 대기 시간")
+                            .tag("priority", tagOf(priority))
+                            .register(meterRegistry)
+                            .record(nanoClock.getAsLong() - startNanos, TimeUnit.NANOSECONDS);
+                    stateChanged.signalAll();
+                    return new Permit(priority, waiter.tokens, true);
+                }
+                
+                long remainingNanos = deadlineNanos - nanoClock.getAsLong();
+                if (remainingNanos <= 0) {
+                    queues.get(priority).remove(waiter);
+                    stateChanged.signalAll();
+                    throw reject(priority, "timeout");
+                }
+                
+                long waitNanos = remainingNanos;
+                if (head && inFlight < maxConcurrent) {
+                    // 토큰 예산 부족: 필요한 만큼 채워질 때까지만 대기
+                    double deficit = waiter.tokens - availableTokens;
+                    waitNanos = Math.min(waitNanos, (long) (deficit / tokensPerNano) + 1);
+                }
+                try {
+                    stateChanged.awaitNanos(waitNanos);
+                } catch (InterruptedException e) {
+                    queues.get(priority).remove(waiter);
+                    stateChanged.signalAll();
+                    Thread.currentThread().interrupt();
+                    throw reject(priority, "interrupted");
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 실행 권한 반환 및 실제 사용 토큰으로 예산 정산
+     *
+     * @param actualTokens GPT 응답의 usage.total_tokens (알 수 없으면 0)
+     */
+    public void release(Permit permit, int actualTokens) {
+        if (!permit.active) {
+            return;
+        }
+        lock.lock();
+        try {
+            permit.active = false;
+            inFlight--;
+            if (actualTokens > 0) {
+                availableTokens = Math.min(tokensPerMinute, availableTokens + permit.reservedTokens - actualTokens);
+            }
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 대기열 진입. 전체 대기열이 가득 찬 경우 더 낮은 우선순위의 가장 최근 대기 요청을 선점 거절하고,
+     * 선점할 대상이 없으면 진입 실패
+     */
+    private boolean enqueue(Waiter waiter) {
+        int queued = queues.values().stream().mapToInt(Deque::size).sum();
+        if (queued >= maxQueueSize) {
+            GptPriority[] priorities = GptPriority.values();
+            Waiter victim = null;
+            for (int i = priorities.length - 1; i > waiter.priority.ordinal() && victim == null; i--) {
+                victim = queues.get(priorities[i]).pollLast();
+            }
+            if (victim == null) {
+                return false;
+            }
+            victim.shed = true;
+            stateChanged.signalAll();
+        }
+        queues.get(waiter.priority).addLast(waiter);
+        return true;
+    }
+    
+    private boolean isHead(Waiter waiter) {
+        for (GptPriority priority : GptPriority.values()) {
+            Waiter first = queues.get(priority).peekFirst();
+            if (first != null) {
+                return first == waiter;
+            }
+        }
+        return false;
+    }
+    
+    private void refillTokens() {
+        long now = nanoClock.getAsLong();
+        availableTokens = Math.min(tokensPerMinute, availableTokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+    
+    private GptRequestRejectedException reject(GptPriority priority, String reason) {
+        Counter.builder("gpt.scheduler.rejected")
+                .description("과부하로 거절된 GPT 요청 수")
+                .tag("priority", tagOf(priority))
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        log.warn("GPT 요청 거절: priority={}, reason={}, inFlight={}, availableTokens={}",
+                priority, reason, inFlight, (long) availableTokens);
+        return new GptRequestRejectedException("GPT 요청이 과부하로 거절되었습니다 (" + priority + ", " + reason + ")");
+    }
+    
+    private String tagOf(GptPriority priority) {
+        return priority.name().toLowerCase();
+    }
+    
+    private static final class Waiter {
+        private final GptPriority priority;
+        private final int tokens;
+        private boolean shed;
+        
+        private Waiter(GptPriority priority, int tokens) {
+            this.priority = priority;
+            this.tokens = tokens;
+        }
+    }
+    
+    public static final class Permit {
+        private final GptPriority priority;
+        private final int reservedTokens;
+        private boolean active;
+        
+        private Permit(GptPriority priority, int reservedTokens, boolean active) {
+            this.priority = priority;
+            this.reservedTokens = reservedTokens;
+            this.active = active;
+        }
+        
+        public GptPriority getPriority() {
+            return priority;
+        }
+    }
+}
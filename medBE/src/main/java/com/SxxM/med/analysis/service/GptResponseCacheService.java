@@ -0,0 +1,253 @@
+package com.sxxm.med.analysis.service;
+
+import com.sxxm.med.analysis.entity.GptResponseCache;
+import com.sxxm.med.analysis.repository.GptResponseCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GPT 응답 2단계 캐시
+ * 1차: 메모리 LRU, 2차: Postgres(gpt_response_cache) 테이블
+ * 호출 지점(GptCallSite)별 TTL을 적용하고 적중률/절약 토큰 수를 메트릭으로 노출
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GptResponseCacheService {
+    
+    private final GptResponseCacheRepository gptResponseCacheRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    
+    @Value("${gpt.cache.enabled:true}")
+    private boolean cacheEnabled;
+    
+    @Value("${gpt.cache.persistent.enabled:true}")
+    private boolean persistentEnabled;
+    
+    @Value("${gpt.cache.memory.max-entries:500}")
+    private int memoryMaxEntries;
+    
+    private Map<String, CachedCompletion> memoryCache;
+    private TransactionTemplate writeTransaction;
+    
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    
+    @PostConstruct
+    public void init() {
+        memoryCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedCompletion> eldest) {
+                return size() > memoryMaxEntries;
+            }
+        });
+        
+        // 캐시 저장 실패가 호출자의 트랜잭션을 롤백시키지 않도록 별도 트랜잭션에서 저장
+        writeTransaction = new TransactionTemplate(transactionManager);
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        
+        Gauge.builder("gpt.cache.hit.ratio", this, GptResponseCacheService::getHitRatio)
+                .description("GPT 응답 캐시 적중률")
+                .register(meterRegistry);
+        Gauge.builder("gpt.cache.memory.size", memoryCache, Map::size)
+                .description("메모리 캐시 항목 수")
+                .register(meterRegistry);
+        
+        log.info("GPT 응답 캐시 초기화: enabled={}, persistent={}, memoryMaxEntries={}",
+                cacheEnabled, persistentEnabled, memoryMaxEntries);
+    }
+    
+    public boolean isEnabled() {
+        return cacheEnabled;
+    }
+    
+    /**
+     * 캐시 키 생성: 모델 + 요청 옵션 + 전체 메시지(role/content) 목록의 SHA-256
+     * Map.of()의 순회 순서는 JVM마다 다르므로 필드를 명시적으로 직렬화
+     */
+    public String buildKey(String model, double temperature, boolean jsonMode, List<Map<String, Object>> messages) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, model);
+            update(digest, Double.toString(temperature));
+            update(digest, jsonMode ? "json_object" : "text");
+            for (Map<String, Object> message : messages) {
+                update(digest, String.valueOf(message.get("role")));
+                update(digest, String.valueOf(message.get("content")));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (Exception e) {
+            throw new IllegalStateException("GPT 캐시 키 생성 실패: " + e.getMessage(), e);
+        }
+    }
+    
+    private void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+    
+    /**
+     * 캐시 조회 (메모리 → DB 순)
+     */
+    public Optional<String> get(String cacheKey, GptCallSite callSite) {
+        CachedCompletion cached = memoryCache.get(cacheKey);
+        if (cached != null && cached.isExpired()) {
+            memoryCache.remove(cacheKey);
+            cached = null;
+        }
+        if (cached != null) {
+            recordHit(callSite, "memory", cached.totalTokens());
+            return Optional.of(cached.content());
+        }
+        
+        if (persistentEnabled) {
+            try {
+                Optional<GptResponseCache> entity = gptResponseCacheRepository.findById(cacheKey)
+                        .filter(row -> row.getExpiresAt().isAfter(LocalDateTime.now()));
+                if (entity.isPresent()) {
+                    GptResponseCache row = entity.get();
+                    CachedCompletion promoted = new CachedCompletion(
+                            row.getContent(), row.getTotalTokens() != null ? row.getTotalTokens() : 0, row.getExpiresAt());
+                    memoryCache.put(cacheKey, promoted);
+                    recordHit(callSite, "db", promoted.totalTokens());
+                    return Optional.of(promoted.content());
+                }
+            } catch (Exception e) {
+                log.warn("GPT 캐시 DB 조회 실패 (캐시 미적중으로 처리): callSite={}, 오류={}", callSite.getKey(), e.getMessage());
+            }
+        }
+        
+        missCount.incrementAndGet();
+        counter(callSite, "miss").increment();
+        return Optional.empty();
+    }
+    
+    /**
+     * 캐시 저장 (호출 지점별 TTL 적용)
+     */
+    public void put(String cacheKey, String model, GptCallSite callSite, String content, int totalTokens) {
+        long ttlMinutes = getTtlMinutes(callSite);
+        if (ttlMinutes <= 0 || content == null) {
+            return;
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(ttlMinutes);
+        memoryCache.put(cacheKey, new CachedCompletion(content, totalTokens, expiresAt));
+        
+        if (!persistentEnabled) {
+            return;
+        }
+        try {
+            writeTransaction.executeWithoutResult(status -> gptResponseCacheRepository.save(
+                    GptResponseCache.builder()
+                            .cacheKey(cacheKey)
+                            .model(model)
+                            .callSite(callSite.getKey())
+                            .content(content)
+                            .totalTokens(totalTokens)
+                            .expiresAt(expiresAt)
+                            .build()));
+        } catch (Exception e) {
+            log.warn("GPT 캐시 DB 저장 실패 (메모리 캐시만 사용): callSite={}, 오류={}", callSite.getKey(), e.getMessage());
+        }
+    }
+    
+    /**
+     * 잘못된 캐시 항목 제거 (파싱 실패 등)
+     */
+    public void evict(String cacheKey) {
+        memoryCache.remove(cacheKey);
+        if (!persistentEnabled) {
+            return;
+        }
+        try {
+            writeTransaction.executeWithoutResult(status -> gptResponseCacheRepository.deleteById(cacheKey));
+        } catch (Exception e) {
+            log.warn("GPT 캐시 DB 항목 삭제 실패: 오류={}", e.getMessage());
+        }
+    }
+    
+    public void recordBypass(GptCallSite callSite) {
+        counter(callSite, "bypass").increment();
+    }
+    
+    /**
+     * 만료된 DB 캐시 항목 정리 (1시간 주기)
+     */
+    @Scheduled(fixedDelayString = "${gpt.cache.purge-interval-ms:3600000}", initialDelay = 60000)
+    public void purgeExpired() {
+        if (!cacheEnabled || !persistentEnabled) {
+            return;
+        }
+        try {
+            Integer deleted = writeTransaction.execute(status -> gptResponseCacheRepository.deleteExpired(LocalDateTime.now()));
+            if (deleted != null && deleted > 0) {
+                log.info("만료된 GPT 캐시 항목 정리 완료: 삭제 개수={}", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("만료된 GPT 캐시 항목 정리 실패: 오류={}", e.getMessage());
+        }
+    }
+    
+    private long getTtlMinutes(GptCallSite callSite) {
+        return environment.getProperty("gpt.cache.ttl-minutes." + callSite.getKey(), Long.class,
+                callSite.getDefaultTtlMinutes());
+    }
+    
+    private void recordHit(GptCallSite callSite, String tier, int totalTokens) {
+        hitCount.incrementAndGet();
+        counter(callSite, "hit_" + tier).increment();
+        if (totalTokens > 0) {
+            Counter.builder("gpt.cache.tokens.saved")
+                    .description("캐시 적중으로 절약한 GPT 토큰 수")
+                    .tag("callSite", callSite.getKey())
+                    .register(meterRegistry)
+                    .increment(totalTokens);
+        }
+    }
+    
+    private Counter counter(GptCallSite callSite, String result) {
+        return Counter.builder("gpt.cache.requests")
+                .description("GPT 응답 캐시 조회 결과")
+                .tag("callSite", callSite.getKey())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    private double getHitRatio() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+    
+    private record CachedCompletion(String content, int totalTokens, LocalDateTime expiresAt) {
+        boolean isExpired() {
+            return expiresAt.isBefore(LocalDateTime.now());
+        }
+    }
+}
@@ -1,24 +1,50 @@
 package com.sxxm.med.analysis.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sxxm.med.common.RequestDeadline;
+import com.sxxm.med.common.RequestDeadlineExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GptService {
     
+    private static final String JSON_SYSTEM_PROMPT = "You are a medical assistant. Always respond in valid JSON format only.";
+    private static final String TEXT_SYSTEM_PROMPT = "You are a medical assistant. Provide detailed analysis.";
+    private static final double TEMPERATURE = 0.3;
+    private static final String STREAM_DONE = "[DONE]";
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_EVENT_TYPE =
+            new ParameterizedTypeReference<>() {};
+    
     private final WebClient.Builder webClientBuilder;
     private final ObjectMapper objectMapper;
+    private final GptResponseCacheService gptResponseCacheService;
+    private final GptRequestScheduler gptRequestScheduler;
+    private final MeterRegistry meterRegistry;
     
     @Value("${gpt.api.key}")
     private String apiKey;
@@ -29,6 +55,12 @@ public class GptService {
     @Value("${gpt.model:gpt-4}")
     private String model;
     
+    @Value("${gpt.api.timeout-ms:60000}")
+    private long requestTimeoutMs;
+    
+    @Value("${gpt.stream.idle-timeout-ms:30000}")
+    private long streamIdleTimeoutMs;
+    
     private WebClient getWebClient() {
         return webClientBuilder
                 .baseUrl(apiUrl)
@@ -38,38 +70,21 @@ public class GptService {
     }
     
     public <T> T analyzeWithGpt(String prompt, Class<T> responseClass) {
+        return analyzeWithGpt(prompt, responseClass, GptCallSite.GENERAL, false);
+    }
+    
+    /**
+     * JSON 응답 분석 (호출 지점별 캐시 적용)
+     *
+     * @param bypassCache true이면 캐시를 조회하지 않고 GPT를 호출한 뒤 결과로 캐시를 갱신
+     */
+    public <T> T analyzeWithGpt(String prompt, Class<T> responseClass, GptCallSite callSite, boolean bypassCache) {
         try {
-            Map<String, Object> requestBody = Map.of(
-                    "model", model,
-                    "messages", List.of(
-                            Map.of("role", "system", "content", "You are a medical assistant. Always respond in valid JSON format only."),
-                            Map.of("role", "user", "content", prompt)
-                    ),
-                    "temperature", 0.3,
-                    "response_format", Map.of("type", "json_object")
-            );
-            
-            String response = getWebClient()
-                    .post()
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            
-            if (response == null) {
-                throw new RuntimeException("GPT API 응답이 null입니다");
-            }
-            
-            Map<String, Object> responseMap = objectMapper.readValue(response, Map.class);
-            List<Map<String, Object>> choices = (List<Map<String, Object>>) responseMap.get("choices");
-            if (choices == null || choices.isEmpty()) {
-                throw new RuntimeException("GPT API 응답에 choices가 없습니다");
-            }
-            
-            Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-            String content = (String) message.get("content");
-            
-            return objectMapper.readValue(content, responseClass);
+            return complete(JSON_SYSTEM_PROMPT, prompt, true, callSite, bypassCache,
+                    messages -> callChatCompletion(messages, true),
+                    content -> objectMapper.readValue(content, responseClass), null);
+        } catch (GptRequestRejectedException | RequestDeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("GPT API 호출 중 오류 발생", e);
             throw new RuntimeException("GPT 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
@@ -77,39 +92,245 @@ public class GptService {
     }
     
     public String analyzeWithGptString(String prompt) {
+        return analyzeWithGptString(prompt, GptCallSite.GENERAL, false);
+    }
+    
+    public String analyzeWithGptString(String prompt, GptCallSite callSite, boolean bypassCache) {
         try {
-            Map<String, Object> requestBody = Map.of(
-                    "model", model,
-                    "messages", List.of(
-                            Map.of("role", "system", "content", "You are a medical assistant. Provide detailed analysis."),
-                            Map.of("role", "user", "content", prompt)
-                    ),
-                    "temperature", 0.3
-            );
-            
-            String response = getWebClient()
-                    .post()
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-            
-            if (response == null) {
-                throw new RuntimeException("GPT API 응답이 null입니다");
-            }
-            
-            Map<String, Object> responseMap = objectMapper.readValue(response, Map.class);
-            List<Map<String, Object>> choices = (List<Map<String, Object>>) responseMap.get("choices");
-            if (choices == null || choices.isEmpty()) {
-                throw new RuntimeException("GPT API 응답에 choices가 없습니다");
-            }
-            
-            Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-            return (String) message.get("content");
+            return complete(TEXT_SYSTEM_PROMPT, prompt, false, callSite, bypassCache,
+                    messages -> callChatCompletion(messages, false), content -> content, null);
+        } catch (GptRequestRejectedException | RequestDeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("GPT API 호출 중 오류 발생", e);
             throw new RuntimeException("GPT 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
         }
     }
+    
+    /**
+     * JSON 응답 스트리밍 분석 (stream=true)
+     * 토큰 조각은 도착하는 즉시 onToken으로 전달하고, 스트림이 끝나면 조립된 전체 JSON을 responseClass로 검증/변환
+     * 캐시 적중 시에는 캐시된 전체 응답을 한 번에 전달
+     *
+     * @param onToken 호출 스레드에서 실행됨. 예외를 던지면 스트림을 중단하고 GPT 연결을 끊음
+     * @param cancellation GPT 스트림 중단 핸들을 등록할 곳. dispose하면 GPT 연결을 끊고 StreamCancelledException으로 종료
+     *                     (스트림 시작 전에 이미 dispose되었으면 시작하자마자 중단)
+     */
+    public <T> T streamWithGpt(
+            String prompt,
+            Class<T> responseClass,
+            GptCallSite callSite,
+            boolean bypassCache,
+            Consumer<String> onToken,
+            Disposable.Swap cancellation
+    ) {
+        try {
+            return complete(JSON_SYSTEM_PROMPT, prompt, true, callSite, bypassCache,
+                    messages -> streamChatCompletion(messages, callSite, onToken, cancellation),
+                    content -> objectMapper.readValue(content, responseClass), onToken);
+        } catch (GptRequestRejectedException | RequestDeadlineExceededException | StreamCancelledException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("GPT 스트리밍 호출 중 오류 발생: callSite={}", callSite.getKey(), e);
+            throw new RuntimeException("GPT 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 캐시 조회 → (미적중 시) GPT 호출 → 파싱 성공한 응답만 캐시에 저장
+     *
+     * @param cacheHitListener 캐시 적중 시 캐시된 응답 원문을 받을 콜백 (스트리밍용, 없으면 null)
+     */
+    private <T> T complete(
+            String systemPrompt,
+            String prompt,
+            boolean jsonMode,
+            GptCallSite callSite,
+            boolean bypassCache,
+            CompletionCall call,
+            ContentParser<T> parser,
+            Consumer<String> cacheHitListener
+    ) throws Exception {
+        List<Map<String, Object>> messages = List.of(
+                Map.of("role", "system", "content", systemPrompt),
+                Map.of("role", "user", "content", prompt)
+        );
+        
+        boolean cacheEnabled = gptResponseCacheService.isEnabled();
+        String cacheKey = cacheEnabled ? gptResponseCacheService.buildKey(model, TEMPERATURE, jsonMode, messages) : null;
+        
+        if (cacheEnabled && bypassCache) {
+            gptResponseCacheService.recordBypass(callSite);
+        } else if (cacheEnabled) {
+            Optional<String> cached = gptResponseCacheService.get(cacheKey, callSite);
+            if (cached.isPresent()) {
+                T cachedResult = null;
+                try {
+                    cachedResult = parser.parse(cached.get());
+                } catch (Exception e) {
+                    log.warn("GPT 캐시 항목 파싱 실패, 항목 삭제 후 재호출: callSite={}", callSite.getKey());
+                    gptResponseCacheService.evict(cacheKey);
+                }
+                if (cachedResult != null) {
+                    if (cacheHitListener != null) {
+                        cacheHitListener.accept(cached.get());
+                    }
+                    return cachedResult;
+                }
+            }
+        }
+        
+        // 캐시 미적중 시에만 스케줄러를 거쳐 호출 (우선순위/동시성/토큰 예산 적용)
+        RequestDeadline.check("GPT 호출");
+        GptRequestScheduler.Permit permit = gptRequestScheduler.acquire(
+                callSite.getPriority(), gptRequestScheduler.estimateTokens(systemPrompt, prompt));
+        Completion completion;
+        int usedTokens = 0;
+        try {
+            completion = call.execute(messages);
+            usedTokens = completion.totalTokens();
+        } finally {
+            gptRequestScheduler.release(permit, usedTokens);
+        }
+        T result = parser.parse(completion.content());
+        
+        if (cacheEnabled) {
+            gptResponseCacheService.put(cacheKey, model, callSite, completion.content(), completion.totalTokens());
+        }
+        return result;
+    }
+    
+    private Map<String, Object> buildRequestBody(List<Map<String, Object>> messages, boolean jsonMode) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("messages", messages);
+        requestBody.put("temperature", TEMPERATURE);
+        if (jsonMode) {
+            requestBody.put("response_format", Map.of("type", "json_object"));
+        }
+        return requestBody;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Completion callChatCompletion(List<Map<String, Object>> messages, boolean jsonMode) throws Exception {
+        Map<String, Object> requestBody = buildRequestBody(messages, jsonMode);
+        
+        String response = getWebClient()
+                .post()
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(RequestDeadline.timeout(Duration.ofMillis(requestTimeoutMs), "GPT 호출"))
+                .block();
+        
+        if (response == null) {
+            throw new RuntimeException("GPT API 응답이 null입니다");
+        }
+        
+        Map<String, Object> responseMap = objectMapper.readValue(response, Map.class);
+        List<Map<String, Object>> choices = (List<Map<String, Object>>) responseMap.get("choices");
+        if (choices == null || choices.isEmpty()) {
+            throw new RuntimeException("GPT API 응답에 choices가 없습니다");
+        }
+        
+        Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
+        String content = (String) message.get("content");
+        
+        int totalTokens = 0;
+        Object usage = responseMap.get("usage");
+        if (usage instanceof Map<?, ?> usageMap && usageMap.get("total_tokens") instanceof Number tokens) {
+            totalTokens = tokens.intValue();
+        }
+        return new Completion(content, totalTokens);
+    }
+    
+    /**
+     * 스트리밍 호출: SSE 이벤트를 하나씩 받아 delta.content를 즉시 전달하고 전체 응답을 조립
+     * 이벤트는 호출 스레드에서 소비하므로 onToken이 느리면 그만큼만 GPT 응답을 읽음 (backpressure)
+     * 다음 이벤트를 기다리는 중에도 cancellation이 dispose되면 바로 GPT 연결을 끊고 중단
+     */
+    private Completion streamChatCompletion(
+            List<Map<String, Object>> messages,
+            GptCallSite callSite,
+            Consumer<String> onToken,
+            Disposable.Swap cancellation
+    ) throws Exception {
+        Map<String, Object> requestBody = buildRequestBody(messages, true);
+        requestBody.put("stream", true);
+        requestBody.put("stream_options", Map.of("include_usage", true));
+        
+        StringBuilder content = new StringBuilder();
+        int totalTokens = 0;
+        boolean firstToken = true;
+        long startNanos = System.nanoTime();
+        
+        Sinks.Empty<Void> cancelled = Sinks.empty();
+        cancellation.update(() -> cancelled.tryEmitError(new StreamCancelledException("스트리밍을 받을 클라이언트가 없어 GPT 스트림을 중단합니다")));
+        
+        // 스트림을 닫으면 구독이 취소되어 GPT 연결도 함께 끊김 (클라이언트 이탈 시 토큰 낭비 방지)
+        try (Stream<String> events = getWebClient()
+                .post()
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToFlux(SSE_EVENT_TYPE)
+                .takeUntilOther(cancelled.asMono())
+                .timeout(RequestDeadline.timeout(Duration.ofMillis(streamIdleTimeoutMs), "GPT 스트리밍"))
+                .filter(event -> event.data() != null)
+                .map(ServerSentEvent::data)
+                .takeWhile(data -> !STREAM_DONE.equals(data.trim()))
+                .toStream(16)) {
+            
+            Iterator<String> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                // 이벤트 간격 제한(timeout)만으로는 전체 소요 시간이 기한을 넘을 수 있으므로 매 이벤트마다 확인
+                RequestDeadline.check("GPT 스트리밍");
+                JsonNode chunk = objectMapper.readTree(iterator.next());
+                
+                JsonNode usage = chunk.path("usage");
+                if (usage.has("total_tokens")) {
+                    totalTokens = usage.get("total_tokens").asInt();
+                }
+                
+                JsonNode delta = chunk.path("choices").path(0).path("delta").path("content");
+                if (!delta.isTextual() || delta.asText().isEmpty()) {
+                    continue;
+                }
+                if (firstToken) {
+                    firstToken = false;
+                    Timer.builder("gpt.stream.first.token")
+                            .description("GPT 스트리밍 첫 토큰 도착까지 걸린 시간")
+                            .tag("callSite", callSite.getKey())
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                }
+                content.append(delta.asText());
+                onToken.accept(delta.asText());
+            }
+        }
+        
+        Timer.builder("gpt.stream.duration")
+                .description("GPT 스트리밍 전체 소요 시간")
+                .tag("callSite", callSite.getKey())
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        
+        if (content.isEmpty()) {
+            throw new RuntimeException("GPT 스트리밍 응답에 내용이 없습니다");
+        }
+        return new Completion(content.toString(), totalTokens);
+    }
+    
+    @FunctionalInterface
+    private interface CompletionCall {
+        Completion execute(List<Map<String, Object>> messages) throws Exception;
+    }
+    
+    @FunctionalInterface
+    private interface ContentParser<T> {
+        T parse(String content) throws Exception;
+    }
+    
+    private record Completion(String content, int totalTokens) {
+    }
 }
-
@@ -1,6 +1,8 @@
 package com.sxxm.med.analysis.service;
 
 import com.sxxm.med.analysis.dto.MedicationInfo;
+import com.sxxm.med.common.RequestDeadline;
+import com.sxxm.med.common.RequestDeadlineExceededException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +16,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -102,7 +105,7 @@ public class MedicationDbService {
                     .accept(MediaType.APPLICATION_JSON)
                     .retrieve()
                     .bodyToMono(String.class)
-                    .timeout(java.time.Duration.ofSeconds(10))
+                    .timeout(RequestDeadline.timeout(Duration.ofSeconds(10), "MFDS API 호출"))
                     .block();
             
             if (response == null || response.trim().isEmpty()) {
@@ -120,6 +123,9 @@ public class MedicationDbService {
             }
             
             return info;
+        } catch (RequestDeadlineExceededException e) {
+            // 요청 기한 초과: 빈 데이터로 대체하지 않고 호출자에게 전달
+            throw e;
         } catch (WebClientResponseException e) {
             // HTTP 응답 에러 (4xx, 5xx)
             int statusCode = e.getStatusCode().value();
@@ -1,5 +1,7 @@
 package com.sxxm.med.analysis.service;
 
+import com.sxxm.med.common.RequestDeadline;
+import com.sxxm.med.common.RequestDeadlineExceededException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -33,6 +35,10 @@ public class PythonApiService {
      * Python API 호출 시 공통 에러 처리
      */
     private RuntimeException handleApiException(Exception e, String operation) {
+        if (e instanceof RequestDeadlineExceededException deadlineExceeded) {
+            log.warn("Python API 호출 건너뜀 (요청 기한 초과): 작업={}", operation);
+            return deadlineExceeded;
+        }
         if (e instanceof org.springframework.web.reactive.function.client.WebClientException) {
             log.error("Python API 연결 실패: URL={}, 작업={}, 오류={}", pythonApiUrl, operation, e.getMessage(), e);
             return new RuntimeException("Python API 서비스에 연결할 수 없습니다. Python 서비스가 실행 중인지 확인하세요: " + e.getMessage(), e);
@@ -76,12 +82,13 @@ public class PythonApiService {
                     .post()
                     .uri("/ocr/normalize")
                     .contentType(MediaType.APPLICATION_JSON)
+                    .headers(RequestDeadline::applyHeader)
                     .bodyValue(request)
                     .retrieve()
                     .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), 
                             createErrorHandler("ocr/normalize"))
                     .bodyToMono(Map.class)
-                    .timeout(Duration.ofSeconds(30))
+                    .timeout(RequestDeadline.timeout(Duration.ofSeconds(30), "OCR 정규화"))
                     .doOnError(error -> log.error("Python API 호출 중 예외 발생", error))
                     .block();
             
@@ -129,10 +136,11 @@ public class PythonApiService {
                     .post()
                     .uri("/analyze/ingredients")
                     .contentType(MediaType.APPLICATION_JSON)
+                    .headers(RequestDeadline::applyHeader)
                     .bodyValue(request)
                     .retrieve()
                     .bodyToMono(Map.class)
-                    .timeout(Duration.ofSeconds(60))
+                    .timeout(RequestDeadline.timeout(Duration.ofSeconds(60), "성분 분석"))
                     .block();
             
             if (response == null) {
@@ -140,6 +148,8 @@ public class PythonApiService {
             }
             
             return response;
+        } catch (RequestDeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("성분 분석 중 오류 발생", e);
             throw new RuntimeException("성분 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
@@ -183,12 +193,13 @@ public class PythonApiService {
                     .post()
                     .uri("/analyze/sideeffects")
                     .contentType(MediaType.APPLICATION_JSON)
+                    .headers(RequestDeadline::applyHeader)
                     .bodyValue(request)
                     .retrieve()
                     .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), 
                             createErrorHandler("analyze/sideeffects"))
                     .bodyToMono(Map.class)
-                    .timeout(Duration.ofSeconds(60))
+                    .timeout(RequestDeadline.timeout(Duration.ofSeconds(60), "부작용 분석"))
                     .doOnError(error -> log.error("Python API 호출 중 예외 발생", error))
                     .block();
             
@@ -221,12 +232,13 @@ public class PythonApiService {
                     .post()
                     .uri("/analyze/food-ingredients")
                     .contentType(MediaType.APPLICATION_JSON)
+                    .headers(RequestDeadline::applyHeader)
                     .bodyValue(request)
                     .retrieve()
                     .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), 
                             createErrorHandler("analyze/food-ingredients"))
                     .bodyToMono(Map.class)
-                    .timeout(Duration.ofSeconds(60))
+                    .timeout(RequestDeadline.timeout(Duration.ofSeconds(60), "식품 성분 추론"))
                     .doOnError(error -> log.error("Python API 호출 중 예외 발생", error))
                     .block();
             
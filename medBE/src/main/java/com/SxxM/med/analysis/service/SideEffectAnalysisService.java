@@ -9,6 +9,7 @@ import com.sxxm.med.analysis.dto.SideEffectAnalysisRequest;
 import com.sxxm.med.analysis.dto.SideEffectAnalysisResponse;
 import com.sxxm.med.analysis.entity.SideEffectReport;
 import com.sxxm.med.analysis.repository.SideEffectReportRepository;
+import com.sxxm.med.common.RequestDeadlineExceededException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -185,6 +186,9 @@ public class SideEffectAnalysisService {
                 log.warn("그룹 {}: 알 수 없는 타입 '{}'", groupIndex, groupType);
                 return null;
             }
+        } catch (RequestDeadlineExceededException e) {
+            // 요청 기한 초과: 빈 결과로 대체하지 않고 남은 그룹 처리를 중단
+            throw e;
         } catch (Exception e) {
             log.error("그룹 {} 처리 중 오류 발생: type={}, items={}", 
                     groupIndex, groupType, items, e);
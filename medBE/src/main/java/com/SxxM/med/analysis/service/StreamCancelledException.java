@@ -0,0 +1,15 @@
+package com.sxxm.med.analysis.service;
+
+/**
+ * 스트리밍 응답을 받을 클라이언트가 없어 GPT 스트림을 중단한 경우 (연결 종료, SSE 시간 초과)
+ */
+public class StreamCancelledException extends RuntimeException {
+    
+    public StreamCancelledException(String message) {
+        super(message);
+    }
+    
+    public StreamCancelledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -3,12 +3,16 @@ package com.sxxm.med.analysis.service;
 import com.sxxm.med.auth.repository.UserRepository;
 import com.sxxm.med.analysis.dto.SymptomAnalysisRequest;
 import com.sxxm.med.analysis.dto.SymptomAnalysisResponse;
+import com.sxxm.med.common.RequestDeadlineExceededException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.Disposable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +25,47 @@ public class SymptomAnalysisService {
     private final GptService gptService;
     
     public SymptomAnalysisResponse analyzeSymptom(SymptomAnalysisRequest request) {
+        String prompt = preparePrompt(request);
+        
+        // GPT 분석 요청
+        try {
+            SymptomAnalysisResponse response = gptService.analyzeWithGpt(
+                    prompt, SymptomAnalysisResponse.class, GptCallSite.SYMPTOM_ANALYSIS, request.isBypassCache());
+            return response;
+        } catch (GptRequestRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("증상 분석 중 오류 발생", e);
+            throw new RuntimeException("증상 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 스트리밍 증상 분석
+     * GPT 토큰을 onToken으로 그대로 전달하고, 완료 후 전체 JSON을 검증한 결과를 반환
+     * 스트리밍 동안 DB 커넥션을 점유하지 않도록 트랜잭션 없이 실행
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SymptomAnalysisResponse analyzeSymptomStreaming(
+            SymptomAnalysisRequest request,
+            Consumer<String> onToken,
+            Disposable.Swap cancellation
+    ) {
+        String prompt = preparePrompt(request);
+        
+        try {
+            return gptService.streamWithGpt(
+                    prompt, SymptomAnalysisResponse.class, GptCallSite.SYMPTOM_ANALYSIS, request.isBypassCache(),
+                    onToken, cancellation);
+        } catch (GptRequestRejectedException | RequestDeadlineExceededException | StreamCancelledException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("스트리밍 증상 분석 중 오류 발생", e);
+            throw new RuntimeException("증상 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+    
+    private String preparePrompt(SymptomAnalysisRequest request) {
         // 사용자 존재 여부 확인
         userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + request.getUserId()));
@@ -30,16 +75,7 @@ public class SymptomAnalysisService {
         List<String> foodAllergies = allergyService.getFoodAllergies(request.getUserId());
         
         // GPT 프롬프트 생성
-        String prompt = buildSymptomAnalysisPrompt(request.getSymptomText(), medicationAllergies, foodAllergies);
-        
-        // GPT 분석 요청
-        try {
-            SymptomAnalysisResponse response = gptService.analyzeWithGpt(prompt, SymptomAnalysisResponse.class);
-            return response;
-        } catch (Exception e) {
-            log.error("증상 분석 중 오류 발생", e);
-            throw new RuntimeException("증상 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
-        }
+        return buildSymptomAnalysisPrompt(request.getSymptomText(), medicationAllergies, foodAllergies);
     }
     
     private String buildSymptomAnalysisPrompt(String symptomText, List<String> medicationAllergies, List<String> foodAllergies) {
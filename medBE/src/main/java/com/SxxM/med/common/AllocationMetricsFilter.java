@@ -0,0 +1,89 @@
+package com.sxxm.med.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * 요청 스레드 힙 할당량 측정 (http.request.allocated.bytes)
+ * 요청 본문 역직렬화부터 응답까지 요청 스레드가 할당한 바이트 수를 기록 (다른 스레드 풀 작업은 제외)
+ * 대용량 본문을 받는 API(OCR 업로드 등)의 요청당 메모리 비용 비교용
+ */
+@Component
+@RequiredArgsConstructor
+public class AllocationMetricsFilter extends OncePerRequestFilter {
+    
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${metrics.allocation.paths:/api/analysis/ocr,/api/analysis/ocr/**}")
+    private List<String> paths;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return paths.stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, uri));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        com.sun.management.ThreadMXBean threadBean = threadBean();
+        if (threadBean == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+            DistributionSummary.builder("http.request.allocated.bytes")
+                    .description("요청 스레드 힙 할당량")
+                    .baseUnit("bytes")
+                    .tag("uri", request.getRequestURI())
+                    .tag("contentType", contentTypeTag(request.getContentType()))
+                    .register(meterRegistry)
+                    .record(allocated);
+        }
+    }
+    
+    private com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+    
+    private String contentTypeTag(String contentType) {
+        if (contentType == null) {
+            return "none";
+        }
+        String lower = contentType.toLowerCase();
+        if (lower.startsWith("multipart/")) {
+            return "multipart";
+        }
+        if (lower.startsWith("application/json")) {
+            return "json";
+        }
+        if (lower.startsWith("application/octet-stream") || lower.startsWith("image/")) {
+            return "binary";
+        }
+        return "other";
+    }
+}
@@ -0,0 +1,106 @@
+package com.sxxm.med.common;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 요청 단위 처리 기한
+ * 컨트롤러에서 start()로 현재 스레드에 기한을 설정하면, 하위 호출(MFDS, Vision, Python, GPT)은
+ * timeout()으로 남은 시간만큼만 기다리고 기한이 지나면 호출 자체를 건너뜀
+ */
+public final class RequestDeadline implements AutoCloseable {
+    
+    /**
+     * Python 서비스로 전달하는 기한 헤더 (epoch milliseconds)
+     */
+    public static final String HEADER = "X-Request-Deadline";
+    
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+    
+    private final Instant deadline;
+    private final RequestDeadline previous;
+    
+    private RequestDeadline(Instant deadline, RequestDeadline previous) {
+        this.deadline = deadline;
+        this.previous = previous;
+    }
+    
+    /**
+     * 현재 스레드에 기한 설정. 이미 더 이른 기한이 있으면 그 기한을 유지
+     */
+    public static RequestDeadline start(Duration budget) {
+        RequestDeadline previous = CURRENT.get();
+        Instant deadline = Instant.now().plus(budget);
+        if (previous != null && previous.deadline.isBefore(deadline)) {
+            deadline = previous.deadline;
+        }
+        RequestDeadline current = new RequestDeadline(deadline, previous);
+        CURRENT.set(current);
+        return current;
+    }
+    
+    public static Optional<RequestDeadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+    
+    /**
+     * 하위 호출 타임아웃: 기본 타임아웃과 남은 시간 중 짧은 값
+     *
+     * @throws RequestDeadlineExceededException 기한이 이미 지난 경우 (호출하지 않고 건너뜀)
+     */
+    public static Duration timeout(Duration defaultTimeout, String operation) {
+        RequestDeadline current = CURRENT.get();
+        if (current == null) {
+            return defaultTimeout;
+        }
+        Duration remaining = current.remaining();
+        if (remaining.isZero()) {
+            throw new RequestDeadlineExceededException("요청 처리 기한이 지나 " + operation + "을(를) 건너뜁니다");
+        }
+        return remaining.compareTo(defaultTimeout) < 0 ? remaining : defaultTimeout;
+    }
+    
+    /**
+     * 기한이 지났으면 예외 (비용이 큰 작업 시작 전 확인용)
+     */
+    public static void check(String operation) {
+        RequestDeadline current = CURRENT.get();
+        if (current != null && current.isExpired()) {
+            throw new RequestDeadlineExceededException("요청 처리 기한이 지나 " + operation + "을(를) 건너뜁니다");
+        }
+    }
+    
+    /**
+     * 기한이 설정되어 있으면 HEADER를 추가
+     */
+    public static void applyHeader(HttpHeaders headers) {
+        RequestDeadline current = CURRENT.get();
+        if (current != null) {
+            headers.set(HEADER, Long.toString(current.deadline.toEpochMilli()));
+        }
+    }
+    
+    public Duration remaining() {
+        Duration remaining = Duration.between(Instant.now(), deadline);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+    
+    public boolean isExpired() {
+        return !Instant.now().isBefore(deadline);
+    }
+    
+    /**
+     * 이전 기한 복원 (중첩 호출 지원)
+     */
+    @Override
+    public void close() {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.sxxm.med.common;
+
+/**
+ * 요청 처리 기한 초과로 하위 호출을 건너뛸 때 발생
+ */
+public class RequestDeadlineExceededException extends RuntimeException {
+    
+    public RequestDeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,185 @@
+package com.sxxm.med.common.text;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick 다중 패턴 매처
+ * 패턴 수와 무관하게 입력 길이에 비례하는 시간으로 모든 일치 위치를 찾음 (빌드 후 불변, 스레드 안전)
+ * 빌드 후 노드별 전이를 정렬된 char/int 배열로 바꿔 검색 중에는 박싱이나 해시 조회 없이 이진 탐색
+ *
+ * @param <T> 패턴에 연결된 값 (분류, 그룹 등)
+ */
+public final class AhoCorasick<T> {
+    
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    private final int[] dictionaryLink;
+    private final int[] patternAt;
+    private final List<String> patterns;
+    private final List<T> values;
+    
+    private AhoCorasick(Builder<T> builder) {
+        List<Map<Character, Integer>> transitions = builder.transitions;
+        this.patterns = builder.patterns;
+        this.values = builder.values;
+        
+        int size = transitions.size();
+        this.edgeChars = new char[size][];
+        this.edgeTargets = new int[size][];
+        for (int node = 0; node < size; node++) {
+            List<Character> chars = new ArrayList<>(transitions.get(node).keySet());
+            Collections.sort(chars);
+            edgeChars[node] = new char[chars.size()];
+            edgeTargets[node] = new int[chars.size()];
+            for (int i = 0; i < chars.size(); i++) {
+                edgeChars[node][i] = chars.get(i);
+                edgeTargets[node][i] = transitions.get(node).get(chars.get(i));
+            }
+        }
+        this.failure = new int[size];
+        this.dictionaryLink = new int[size];
+        this.patternAt = new int[size];
+        Arrays.fill(dictionaryLink, -1);
+        Arrays.fill(patternAt, -1);
+        builder.terminals.forEach((node, index) -> patternAt[node] = index);
+        
+        // BFS로 실패 링크와 출력(사전) 링크 계산
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(0).values()) {
+            failure[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(node).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+                int fallback = failure[node];
+                while (fallback != 0 && !transitions.get(fallback).containsKey(c)) {
+                    fallback = failure[fallback];
+                }
+                Integer target = transitions.get(fallback).get(c);
+                failure[child] = target != null ? target : 0;
+                dictionaryLink[child] = patternAt[failure[child]] >= 0 ? failure[child] : dictionaryLink[failure[child]];
+                queue.add(child);
+            }
+        }
+    }
+    
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+    
+    public int size() {
+        return patterns.size();
+    }
+    
+    /**
+     * 모든 일치 항목 (겹치는 일치 포함, 끝 위치 순)
+     */
+    public List<Match<T>> findAll(CharSequence text) {
+        if (patterns.isEmpty() || text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Match<T>> matches = new ArrayList<>();
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            node = next(node, text.charAt(i));
+            for (int out = patternAt[node] >= 0 ? node : dictionaryLink[node]; out >= 0; out = dictionaryLink[out]) {
+                int index = patternAt[out];
+                String pattern = patterns.get(index);
+                matches.add(new Match<>(i + 1 - pattern.length(), i + 1, pattern, values.get(index)));
+            }
+        }
+        return matches;
+    }
+    
+    /**
+     * 일치 항목 존재 여부 (첫 일치에서 종료)
+     */
+    public boolean containsAny(CharSequence text) {
+        if (patterns.isEmpty() || text == null) {
+            return false;
+        }
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            node = next(node, text.charAt(i));
+            if (patternAt[node] >= 0 || dictionaryLink[node] >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private int next(int node, char c) {
+        while (true) {
+            int edge = Arrays.binarySearch(edgeChars[node], c);
+            if (edge >= 0) {
+                return edgeTargets[node][edge];
+            }
+            if (node == 0) {
+                return 0;
+            }
+            node = failure[node];
+        }
+    }
+    
+    /**
+     * @param start 시작 위치 (포함)
+     * @param end 끝 위치 (미포함)
+     */
+    public record Match<T>(int start, int end, String pattern, T value) {
+    }
+    
+    public static final class Builder<T> {
+        private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+        private final Map<Integer, Integer> terminals = new HashMap<>();
+        private final List<String> patterns = new ArrayList<>();
+        private final List<T> values = new ArrayList<>();
+        
+        private Builder() {
+            transitions.add(new HashMap<>());
+        }
+        
+        /**
+         * 패턴 추가. 빈 패턴은 무시하고, 같은 패턴을 다시 추가하면 나중 값으로 교체
+         */
+        public Builder<T> add(String pattern, T value) {
+            if (pattern == null || pattern.isEmpty()) {
+                return this;
+            }
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer child = transitions.get(node).get(c);
+                if (child == null) {
+                    child = transitions.size();
+                    transitions.add(new HashMap<>());
+                    transitions.get(node).put(c, child);
+                }
+                node = child;
+            }
+            Integer existing = terminals.get(node);
+            if (existing != null) {
+                values.set(existing, value);
+            } else {
+                terminals.put(node, patterns.size());
+                patterns.add(pattern);
+                values.add(value);
+            }
+            return this;
+        }
+        
+        public AhoCorasick<T> build() {
+            return new AhoCorasick<>(this);
+        }
+    }
+}
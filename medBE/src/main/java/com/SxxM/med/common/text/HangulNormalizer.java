@@ -0,0 +1,238 @@
+package com.sxxm.med.common.text;
+
+import java.text.Normalizer;
+import java.util.BitSet;
+
+/**
+ * 검열 회피 표현 정규화
+ * - 공백/기호 제거 ("시 발", "시.발"), 숫자 삽입 제거 ("시1발")
+ * - 한글 음절을 자모로 분해해 된소리/유사 모음을 접은 뒤 다시 조합 ("씨빨" → "시발", "ㅆㅂ" → "ㅅㅂ")
+ * - 낱자모로 풀어 쓴 음절 조합 ("ㅅㅣ발" → "시발")
+ * - 영문 소문자화, 영문 사이의 leet 문자 치환 ("f0ck" → "fock"), 반복 문자 축약 ("fuuuck" → "fuck")
+ * 사전 패턴과 입력 텍스트에 같은 정규화를 적용해야 함
+ * normalizeWords는 단어 경계 위치도 함께 반환해 짧은 표현이 여러 단어에 걸쳐 일치하는 오탐("복용 시 발진")을 거를 수 있게 함
+ */
+public final class HangulNormalizer {
+    
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNGSEONG_COUNT = 21;
+    private static final int JONGSEONG_COUNT = 28;
+    
+    // 호환 자모 → 초성/중성/종성 인덱스
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String JUNGSEONG = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ";
+    private static final String JONGSEONG = " ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+    
+    // 된소리 → 예사소리, 발음이 비슷한 모음 통합
+    private static final int[] CHOSEONG_FOLD = {0, 0, 2, 3, 3, 5, 6, 7, 7, 9, 9, 11, 12, 12, 14, 15, 16, 17, 18};
+    private static final int[] JUNGSEONG_FOLD = {0, 1, 2, 1, 4, 1, 6, 1, 8, 9, 10, 10, 12, 13, 14, 10, 16, 17, 18, 20, 20};
+    private static final int[] JONGSEONG_FOLD = {0, 1, 1, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 19,
+            21, 22, 23, 24, 25, 26, 27};
+    
+    private HangulNormalizer() {
+    }
+    
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String input = toCompatibilityJamo(Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase());
+        StringBuilder out = new StringBuilder(input.length());
+        
+        int i = 0;
+        while (i < input.length()) {
+            char c = input.charAt(i);
+            
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int offset = c - SYLLABLE_BASE;
+                int cho = offset / (JUNGSEONG_COUNT * JONGSEONG_COUNT);
+                int jung = (offset % (JUNGSEONG_COUNT * JONGSEONG_COUNT)) / JONGSEONG_COUNT;
+                int jong = offset % JONGSEONG_COUNT;
+                append(out, compose(CHOSEONG_FOLD[cho], JUNGSEONG_FOLD[jung], JONGSEONG_FOLD[jong]));
+                i++;
+                continue;
+            }
+            
+            int cho = CHOSEONG.indexOf(c);
+            if (cho >= 0) {
+                // 낱자모 자음 + 모음 (+ 받침) → 음절로 조합
+                int jung = i + 1 < input.length() ? JUNGSEONG.indexOf(input.charAt(i + 1)) : -1;
+                if (jung >= 0) {
+                    int jong = 0;
+                    int consumed = 2;
+                    if (i + 2 < input.length()) {
+                        int candidate = JONGSEONG.indexOf(input.charAt(i + 2));
+                        boolean nextStartsSyllable = i + 3 < input.length() && JUNGSEONG.indexOf(input.charAt(i + 3)) >= 0;
+                        if (candidate > 0 && !nextStartsSyllable) {
+                            jong = candidate;
+                            consumed = 3;
+                        }
+                    }
+                    append(out, compose(CHOSEONG_FOLD[cho], JUNGSEONG_FOLD[jung], JONGSEONG_FOLD[jong]));
+                    i += consumed;
+                    continue;
+                }
+                append(out, CHOSEONG.charAt(CHOSEONG_FOLD[cho]));
+                i++;
+                continue;
+            }
+            
+            int jung = JUNGSEONG.indexOf(c);
+            if (jung >= 0) {
+                append(out, JUNGSEONG.charAt(JUNGSEONG_FOLD[jung]));
+                i++;
+                continue;
+            }
+            
+            if (c >= 'a' && c <= 'z') {
+                append(out, c);
+            } else if (isLatinNeighbor(input, i)) {
+                char leet = leet(c);
+                if (leet != 0) {
+                    append(out, leet);
+                }
+            } else if (Character.isLetter(c)) {
+                append(out, c);
+            }
+            // 그 외 공백, 숫자, 기호는 제거
+            i++;
+        }
+        return out.toString();
+    }
+    
+    /**
+     * normalize와 같은 정규화를 단어(공백/기호로 구분)별로 적용하고 이어 붙인 텍스트와 단어 경계 위치 반환
+     * 낱자모나 한 음절만 있는 단어가 연달아 나오면 띄어 쓴 회피 표기("시 발", "ㅅ ㅂ", "시.발")로 보고 한 단어로 합침
+     * 숫자만 있는 단어는 정규화 후 비어 있으므로 경계로 치지 않음 ("시 1 발" → "시발")
+     */
+    public static Words normalizeWords(String text) {
+        StringBuilder out = new StringBuilder();
+        BitSet boundaries = new BitSet();
+        if (text == null || text.isEmpty()) {
+            return new Words("", boundaries);
+        }
+        
+        StringBuilder run = new StringBuilder();
+        boolean previousSingle = false;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i < text.length() && !isSeparator(text.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+                continue;
+            }
+            if (start < 0) {
+                continue;
+            }
+            String piece = text.substring(start, i);
+            start = -1;
+            int length = normalize(piece).length();
+            if (length == 0) {
+                continue;
+            }
+            boolean single = length == 1;
+            if (!(previousSingle && single)) {
+                appendWord(out, boundaries, run);
+                run.setLength(0);
+            }
+            run.append(piece);
+            previousSingle = single;
+        }
+        appendWord(out, boundaries, run);
+        return new Words(out.toString(), boundaries);
+    }
+    
+    private static void appendWord(StringBuilder out, BitSet boundaries, CharSequence word) {
+        String normalized = normalize(word.toString());
+        if (normalized.isEmpty()) {
+            return;
+        }
+        if (!out.isEmpty()) {
+            boundaries.set(out.length());
+        }
+        out.append(normalized);
+    }
+    
+    /**
+     * 단어 구분 문자: 공백과 글자/숫자가 아닌 기호 (영문 사이 leet 치환 대상 기호는 단어의 일부로 취급)
+     */
+    private static boolean isSeparator(char c) {
+        if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+            return true;
+        }
+        return !Character.isLetterOrDigit(c) && leet(c) == 0;
+    }
+    
+    /**
+     * NFKC는 호환 자모(ㄱ, ㅏ)를 첫가끝 자모(U+1100~)로 바꾸므로 다시 호환 자모로 되돌림
+     */
+    private static String toCompatibilityJamo(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x1100 && c < 0x1100 + CHOSEONG.length()) {
+                out.append(CHOSEONG.charAt(c - 0x1100));
+            } else if (c >= 0x1161 && c < 0x1161 + JUNGSEONG.length()) {
+                out.append(JUNGSEONG.charAt(c - 0x1161));
+            } else if (c >= 0x11A8 && c < 0x11A8 + JONGSEONG.length() - 1) {
+                out.append(JONGSEONG.charAt(c - 0x11A8 + 1));
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+    
+    private static char compose(int cho, int jung, int jong) {
+        return (char) (SYLLABLE_BASE + (cho * JUNGSEONG_COUNT + jung) * JONGSEONG_COUNT + jong);
+    }
+    
+    /**
+     * 같은 문자가 연속되면 한 번만 추가
+     */
+    private static void append(StringBuilder out, char c) {
+        if (out.isEmpty() || out.charAt(out.length() - 1) != c) {
+            out.append(c);
+        }
+    }
+    
+    private static boolean isLatinNeighbor(String input, int index) {
+        boolean before = index > 0 && isLatin(input.charAt(index - 1));
+        boolean after = index + 1 < input.length() && isLatin(input.charAt(index + 1));
+        return before || after;
+    }
+    
+    private static boolean isLatin(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+    
+    private static char leet(char c) {
+        return switch (c) {
+            case '0' -> 'o';
+            case '1', '!', '|' -> 'i';
+            case '3' -> 'e';
+            case '4', '@' -> 'a';
+            case '5', '$' -> 's';
+            case '7' -> 't';
+            case '8' -> 'b';
+            default -> 0;
+        };
+    }
+    
+    /**
+     * @param text 단어별로 정규화해 이어 붙인 텍스트
+     * @param boundaries 단어가 시작하는 위치 (첫 단어 제외)
+     */
+    public record Words(String text, BitSet boundaries) {
+        
+        /**
+         * [start, end) 구간이 두 단어 이상에 걸쳐 있는지
+         */
+        public boolean spansWords(int start, int end) {
+            int boundary = boundaries.nextSetBit(start + 1);
+            return boundary >= 0 && boundary < end;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.sxxm.med.common.text;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 64비트 SimHash (근사 중복 텍스트 탐지용 지문)
+ * 문자 3-gram을 특징으로 사용하므로 단어 몇 개를 바꾸거나 덧붙인 변형은 해밍 거리가 작게 유지됨
+ * 입력은 HangulNormalizer로 정규화된 텍스트를 가정
+ */
+public final class SimHash {
+    
+    private static final int SHINGLE_SIZE = 3;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private SimHash() {
+    }
+    
+    public static long compute(String normalized) {
+        if (normalized == null || normalized.isEmpty()) {
+            return 0L;
+        }
+        
+        Map<Long, Integer> features = new HashMap<>();
+        if (normalized.length() <= SHINGLE_SIZE) {
+            features.put(hash(normalized, 0, normalized.length()), 1);
+        } else {
+            for (int i = 0; i + SHINGLE_SIZE <= normalized.length(); i++) {
+                features.merge(hash(normalized, i, i + SHINGLE_SIZE), 1, Integer::sum);
+            }
+        }
+        
+        int[] weights = new int[64];
+        for (Map.Entry<Long, Integer> feature : features.entrySet()) {
+            long h = feature.getKey();
+            int weight = feature.getValue();
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((h >>> bit) & 1L) != 0 ? weight : -weight;
+            }
+        }
+        
+        long fingerprint = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+    
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+    
+    /**
+     * 64비트를 bands개 구간으로 나눴을 때 band번째 구간 값 (LSH 버킷 키)
+     * 해밍 거리 d 이내인 두 지문은 bands > d이면 적어도 한 구간 값이 같음 (비둘기집 원리)
+     */
+    public static long band(long simhash, int band, int bands) {
+        if (bands < 1 || bands > 64 || band < 0 || band >= bands) {
+            throw new IllegalArgumentException("잘못된 밴드: band=" + band + ", bands=" + bands);
+        }
+        int from = band * 64 / bands;
+        int width = (band + 1) * 64 / bands - from;
+        // 폭이 64면 1L << 64 == 1이 되어 마스크가 0이 되므로 전체 비트 사용
+        long mask = width == 64 ? -1L : (1L << width) - 1;
+        return (simhash >>> from) & mask;
+    }
+    
+    /**
+     * FNV-1a 후 splitmix64 마무리 (짧은 3-gram도 64비트 전체에 고르게 퍼지도록)
+     */
+    private static long hash(String text, int start, int end) {
+        long h = FNV_OFFSET;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            h = (h ^ (c & 0xff)) * FNV_PRIME;
+            h = (h ^ (c >>> 8)) * FNV_PRIME;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -65,6 +65,26 @@ public class CommentController {
         }
     }
     
+    @GetMapping("/post/{postId}/feed")
+    @Operation(summary = "댓글 목록 조회 (커서)", description = "게시글의 댓글 목록을 오래된 순으로 커서 기반 조회합니다. 응답의 nextCursor를 다음 요청의 cursor로 전달합니다.")
+    public ResponseEntity<CursorPageResponse<CommentResponse>> getCommentsByPostIdWithCursor(
+            Authentication authentication,
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size
+    ) {
+        try {
+            Long userId = getUserId(authentication);
+            return ResponseEntity.ok(commentService.getCommentsByPostIdWithCursor(postId, cursor, size, userId));
+        } catch (IllegalArgumentException e) {
+            log.warn("댓글 조회 실패: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            log.error("댓글 조회 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     @PutMapping("/{commentId}")
     @Operation(summary = "댓글 수정", description = "댓글을 수정합니다.")
     @SecurityRequirement(name = "BearerAuth")
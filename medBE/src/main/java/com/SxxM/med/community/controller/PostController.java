@@ -4,6 +4,8 @@ import com.sxxm.med.auth.entity.User;
 import com.sxxm.med.auth.repository.UserRepository;
 import com.sxxm.med.community.dto.*;
 import com.sxxm.med.community.service.LikeService;
+import com.sxxm.med.community.service.PostEventHub;
+import com.sxxm.med.community.service.PostSearchService;
 import com.sxxm.med.community.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -15,9 +17,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Optional;
 
@@ -30,6 +34,8 @@ public class PostController {
     
     private final PostService postService;
     private final LikeService likeService;
+    private final PostSearchService postSearchService;
+    private final PostEventHub postEventHub;
     private final UserRepository userRepository;
     
     @PostMapping
@@ -66,18 +72,59 @@ public class PostController {
         }
     }
     
+    @GetMapping("/feed")
+    @Operation(summary = "게시글 목록 조회 (커서)", description = "게시글 목록을 최신순으로 커서 기반 조회합니다. 응답의 nextCursor를 다음 요청의 cursor로 전달합니다.")
+    public ResponseEntity<CursorPageResponse<PostResponse>> getFeed(
+            Authentication authentication,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size
+    ) {
+        try {
+            Long userId = getUserId(authentication);
+            return ResponseEntity.ok(postService.getFeed(category, cursor, size, userId));
+        } catch (IllegalArgumentException e) {
+            log.warn("게시글 목록 조회 실패: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            log.error("게시글 목록 조회 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/search")
+    @Operation(summary = "게시글 검색", description = "제목/본문에서 검색어를 찾아 관련도순으로 반환합니다. 한 글자 검색어도 지원합니다. 응답의 nextCursor를 다음 요청의 cursor로 전달합니다.")
+    public ResponseEntity<CursorPageResponse<PostSearchResponse>> searchPosts(
+            Authentication authentication,
+            @RequestParam("q") String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size
+    ) {
+        try {
+            Long userId = getUserId(authentication);
+            return ResponseEntity.ok(postSearchService.search(keyword, cursor, size, userId));
+        } catch (IllegalArgumentException e) {
+            log.warn("게시글 검색 실패: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            log.error("게시글 검색 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     @GetMapping("/{postId}")
-    @Operation(summary = "게시글 상세 조회", description = "게시글 상세 정보를 조회합니다. withComments=true일 경우 댓글도 함께 반환합니다.")
+    @Operation(summary = "게시글 상세 조회", description = "게시글 상세 정보를 조회합니다. withComments=true일 경우 댓글 첫 페이지(commentSize개)와 다음 페이지 커서를 함께 반환합니다.")
     public ResponseEntity<?> getPost(
             Authentication authentication,
             @PathVariable Long postId,
-            @RequestParam(required = false, defaultValue = "false") boolean withComments
+            @RequestParam(required = false, defaultValue = "false") boolean withComments,
+            @RequestParam(required = false, defaultValue = "20") int commentSize
     ) {
         try {
             Long userId = getUserId(authentication);
             
             if (withComments) {
-                PostDetailResponse post = postService.getPostWithComments(postId, userId, true);
+                PostDetailResponse post = postService.getPostWithComments(postId, userId, commentSize);
                 return ResponseEntity.ok(post);
             } else {
                 PostResponse post = postService.getPost(postId, userId);
@@ -92,6 +139,28 @@ public class PostController {
         }
     }
     
+    @GetMapping(value = "/{postId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "게시글 실시간 이벤트 구독", description = "새 댓글(comment_created)과 게시글/댓글 좋아요 수 변경(post_like, comment_like)을 SSE로 전달합니다. 이벤트에는 ID와 좋아요 수만 포함되며, 새 댓글 내용은 댓글 커서 API로 조회합니다.")
+    public ResponseEntity<SseEmitter> subscribePostEvents(
+            Authentication authentication,
+            @PathVariable Long postId
+    ) {
+        try {
+            // 볼 수 없는 게시글은 구독 불가
+            postService.getPost(postId, getUserId(authentication));
+        } catch (RuntimeException e) {
+            log.warn("게시글 이벤트 구독 실패: postId={}, 오류={}", postId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        
+        try {
+            return ResponseEntity.ok(postEventHub.subscribe(postId));
+        } catch (IllegalStateException e) {
+            log.warn("게시글 이벤트 구독 거절: postId={}, 오류={}", postId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+    
     @PutMapping("/{postId}")
     @Operation(summary = "게시글 수정", description = "게시글을 수정합니다.")
     @SecurityRequirement(name = "BearerAuth")
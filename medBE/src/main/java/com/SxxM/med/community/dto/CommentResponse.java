@@ -1,5 +1,6 @@
 package com.sxxm.med.community.dto;
 
+import com.sxxm.med.community.entity.ModerationStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -22,6 +23,7 @@ public class CommentResponse {
     private String content;
     private Long likeCount;
     private Boolean isLiked;
+    private ModerationStatus moderationStatus;
     private LocalDateTime createdAt;
 }
 
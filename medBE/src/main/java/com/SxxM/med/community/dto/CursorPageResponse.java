@@ -0,0 +1,25 @@
+package com.sxxm.med.community.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 커서 기반 목록 응답 (전체 개수 없음)
+ * nextCursor를 다음 요청의 cursor로 전달하며, hasNext가 false이면 null
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+    
+    private List<T> items;
+    private String nextCursor;
+    private Boolean hasNext;
+}
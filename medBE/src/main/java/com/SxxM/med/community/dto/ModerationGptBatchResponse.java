@@ -0,0 +1,20 @@
+package com.sxxm.med.community.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * GPT 일괄 콘텐츠 검증 응답 ({"results": [{"index": 0, "result": "APPROVE", "reason": "..."}]})
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModerationGptBatchResponse {
+    
+    private List<ModerationGptResponse> results;
+}
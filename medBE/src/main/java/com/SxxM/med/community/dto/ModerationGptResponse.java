@@ -0,0 +1,23 @@
+package com.sxxm.med.community.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * GPT 콘텐츠 검증 응답 ({"result": "APPROVE" | "REJECT", "reason": "..."})
+ * 일괄 검증에서는 index로 요청 항목을 구분
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModerationGptResponse {
+    
+    private Integer index;
+    
+    private String result;
+    
+    private String reason;
+}
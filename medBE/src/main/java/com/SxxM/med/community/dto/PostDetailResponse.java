@@ -1,5 +1,6 @@
 package com.sxxm.med.community.dto;
 
+import com.sxxm.med.community.entity.ModerationStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -24,8 +25,13 @@ public class PostDetailResponse {
     private String category;
     private Long likeCount;
     private Boolean isLiked;
+    private ModerationStatus moderationStatus;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // 댓글 첫 페이지 (withComments=true일 때만)
     private List<CommentResponse> comments;
+    // 다음 댓글 페이지 커서 (/api/comments/post/{postId}/feed?cursor=)
+    private String commentsNextCursor;
+    private Boolean commentsHasNext;
 }
 
@@ -1,5 +1,6 @@
 package com.sxxm.med.community.dto;
 
+import com.sxxm.med.community.entity.ModerationStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -19,10 +20,13 @@ public class PostResponse {
     private Long authorId;
     private String authorNickname;
     private String title;
+    // 상세 조회에서만 채움 (목록은 excerpt)
     private String content;
+    private String excerpt;
     private String category;
     private Long likeCount;
     private Boolean isLiked;
+    private ModerationStatus moderationStatus;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,44 @@
+package com.sxxm.med.community.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 게시글 검색 결과
+ * 강조 구간은 HTML 대신 위치(시작 포함, 끝 미포함)로 전달해 클라이언트가 이스케이프 후 표시
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostSearchResponse {
+    
+    private Long id;
+    private Long authorId;
+    private String authorNickname;
+    private String title;
+    private List<Highlight> titleHighlights;
+    // 본문에서 검색어가 처음 나온 부분 주변 발췌
+    private String snippet;
+    private List<Highlight> snippetHighlights;
+    private String category;
+    private Long likeCount;
+    private Boolean isLiked;
+    private LocalDateTime createdAt;
+    
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Highlight {
+        private int start;
+        private int end;
+    }
+}
@@ -34,6 +34,21 @@ public class Comment {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "moderation_status", nullable = false, length = 20)
+    @Builder.Default
+    private ModerationStatus moderationStatus = ModerationStatus.APPROVED;
+    
+    // 근사 중복 탐지용 SimHash 지문 (정규화된 본문 기준)
+    @Column(name = "content_simhash")
+    private Long contentSimhash;
+    
+    // 좋아요 수 (LikeService가 원자적 증감, LikeCountReconciler가 주기적으로 보정)
+    // 엔티티 저장 시 덮어쓰지 않도록 UPDATE 대상에서 제외
+    @Column(name = "like_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Long likeCount = 0L;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -0,0 +1,11 @@
+package com.sxxm.med.community.entity;
+
+/**
+ * 게시글/댓글 검증 상태
+ * PENDING: 비동기 검증 대기 (작성자 외에는 노출되지 않음), APPROVED: 노출, HIDDEN: 부적절 판정으로 숨김
+ */
+public enum ModerationStatus {
+    PENDING,
+    APPROVED,
+    HIDDEN
+}
@@ -0,0 +1,6 @@
+package com.sxxm.med.community.entity;
+
+public enum ModerationTargetType {
+    POST,
+    COMMENT
+}
@@ -0,0 +1,62 @@
+package com.sxxm.med.community.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 검증 대기열 (moderation_queue)
+ * 게시글/댓글 저장과 같은 트랜잭션에서 추가되므로 재시작 후에도 유실되지 않음
+ * 워커는 available_at이 지난 항목을 가져가며 available_at을 임대 만료 시각으로 미뤄 두고,
+ * 처리 중 종료되면 임대가 끝난 뒤 다른 워커가 다시 가져감
+ */
+@Entity
+@Table(name = "moderation_queue", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_moderation_queue_target", columnNames = {"target_type", "target_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ModerationTask {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 20)
+    private ModerationTargetType targetType;
+    
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+    
+    // 대기 중 내용이 다시 수정되면 증가 (이전 내용에 대한 검증 결과는 버림)
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer revision = 0;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+    
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (availableAt == null) {
+            availableAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sxxm.med.community.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 콘텐츠 검증 결과 캐시 (moderation_verdict_cache)
+ * content_hash = 정규화된 텍스트의 SHA-256, 같은 글이 다시 올라오면 GPT 호출 없이 결과 재사용
+ */
+@Entity
+@Table(name = "moderation_verdict_cache")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ModerationVerdictEntry {
+    
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
+    @Column(nullable = false)
+    private Long simhash;
+    
+    @Column(nullable = false, length = 20)
+    private String verdict; // APPROVE, REJECT
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -33,9 +33,28 @@ public class Post {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
     
+    // 목록용 본문 요약 (작성/수정 시 PostExcerpt로 갱신)
+    @Column(name = "excerpt", length = 200)
+    private String excerpt;
+    
     @Column(name = "category")
     private String category; // 공지사항, 자유게시판 등
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "moderation_status", nullable = false, length = 20)
+    @Builder.Default
+    private ModerationStatus moderationStatus = ModerationStatus.APPROVED;
+    
+    // 근사 중복 탐지용 SimHash 지문 (정규화된 본문 기준)
+    @Column(name = "content_simhash")
+    private Long contentSimhash;
+    
+    // 좋아요 수 (LikeService가 원자적 증감, LikeCountReconciler가 주기적으로 보정)
+    // 엔티티 저장 시 덮어쓰지 않도록 UPDATE 대상에서 제외
+    @Column(name = "like_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Long likeCount = 0L;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -52,5 +71,13 @@ public class Post {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+    
+    /**
+     * 승인된 글이거나 작성자 본인이면 조회/댓글 가능 (검증 대기/숨김 글은 작성자에게만 보임)
+     * PostRepository.isVisible과 같은 조건
+     */
+    public boolean isVisibleTo(Long userId) {
+        return moderationStatus == ModerationStatus.APPROVED || (userId != null && author.getId().equals(userId));
+    }
 }
 
@@ -2,8 +2,13 @@ package com.sxxm.med.community.repository;
 
 import com.sxxm.med.community.entity.CommentLike;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,5 +16,47 @@ public interface CommentLikeRepository extends JpaRepository<CommentLike, Long>
     Optional<CommentLike> findByCommentIdAndUserId(Long commentId, Long userId);
     long countByCommentId(Long commentId);
     boolean existsByCommentIdAndUserId(Long commentId, Long userId);
+    
+    /**
+     * 좋아요 추가 + 좋아요 수 증가를 한 문장으로 처리하고 현재 좋아요 수와 게시글 ID 반환 (이미 좋아요한 경우 변경 없음)
+     * 댓글이나 사용자가 없으면 외래키 위반 (DataIntegrityViolationException, fk_comment_like_comment / fk_comment_like_user)
+     */
+    @Transactional
+    @Query(value = "with inserted as (" +
+            "insert into comment_likes (comment_id, user_id, created_at) values (:commentId, :userId, current_timestamp) " +
+            "on conflict (comment_id, user_id) do nothing returning comment_id), " +
+            "updated as (" +
+            "update comments set like_count = like_count + 1 where id in (select comment_id from inserted) returning like_count) " +
+            "select coalesce((select like_count from updated), c.like_count) as \"likeCount\", c.post_id as \"postId\" " +
+            "from comments c where c.id = :commentId",
+            nativeQuery = true)
+    CommentLikeCount like(@Param("commentId") Long commentId, @Param("userId") Long userId);
+    
+    /**
+     * 좋아요 삭제 + 좋아요 수 감소를 한 문장으로 처리하고 현재 좋아요 수와 게시글 ID 반환 (좋아요하지 않은 경우 변경 없음)
+     *
+     * @return 댓글이 없으면 null
+     */
+    @Transactional
+    @Query(value = "with deleted as (" +
+            "delete from comment_likes where comment_id = :commentId and user_id = :userId returning comment_id), " +
+            "updated as (" +
+            "update comments set like_count = like_count - 1 where id in (select comment_id from deleted) returning like_count) " +
+            "select coalesce((select like_count from updated), c.like_count) as \"likeCount\", c.post_id as \"postId\" " +
+            "from comments c where c.id = :commentId",
+            nativeQuery = true)
+    CommentLikeCount unlike(@Param("commentId") Long commentId, @Param("userId") Long userId);
+    
+    /**
+     * 주어진 댓글 중 사용자가 좋아요한 댓글 ID
+     */
+    @Query("select cl.comment.id from CommentLike cl where cl.user.id = :userId and cl.comment.id in :commentIds")
+    List<Long> findLikedCommentIds(@Param("userId") Long userId, @Param("commentIds") Collection<Long> commentIds);
+    
+    // 실시간 이벤트를 댓글이 속한 게시글 구독자에게 보내기 위해 게시글 ID도 함께 반환
+    interface CommentLikeCount {
+        Long getLikeCount();
+        Long getPostId();
+    }
 }
 
@@ -1,11 +1,16 @@
 package com.sxxm.med.community.repository;
 
 import com.sxxm.med.community.entity.Comment;
+import com.sxxm.med.community.entity.ModerationStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,5 +19,57 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPostIdOrderByCreatedAtAsc(Long postId);
     Page<Comment> findByPostId(Long postId, Pageable pageable);
     List<Comment> findByAuthorId(Long authorId);
+    
+    String SUMMARY = "select new com.sxxm.med.community.repository.CommentSummary(" +
+            "c.id, c.post.id, a.id, a.nickname, c.content, c.likeCount, c.moderationStatus, c.createdAt) " +
+            "from Comment c join c.author a ";
+    
+    String VISIBLE = "where c.post.id = :postId " +
+            "and (c.moderationStatus = com.sxxm.med.community.entity.ModerationStatus.APPROVED or a.id = :userId) ";
+    
+    @Query(SUMMARY + "where c.post.id = :postId and c.moderationStatus = :status order by c.createdAt asc, c.id asc")
+    List<CommentSummary> findSummaries(@Param("postId") Long postId, @Param("status") ModerationStatus status);
+    
+    /**
+     * 게시글의 공개 댓글 + 조회자 본인의 검증 대기/숨김 댓글 (작성자 닉네임까지 조인 한 번)
+     */
+    @Query(SUMMARY + VISIBLE + "order by c.createdAt asc, c.id asc")
+    List<CommentSummary> findVisibleSummaries(@Param("postId") Long postId, @Param("userId") Long userId);
+    
+    @Query(value = SUMMARY + VISIBLE,
+            countQuery = "select count(c) from Comment c join c.author a " + VISIBLE)
+    Page<CommentSummary> findVisibleSummaries(@Param("postId") Long postId, @Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * 커서 기반 댓글 목록 첫 페이지 (오래된 순, 개수 조회 없음)
+     */
+    @Query(SUMMARY + VISIBLE + "order by c.createdAt asc, c.id asc")
+    List<CommentSummary> findVisibleFirstPage(@Param("postId") Long postId, @Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * 커서 (createdAt, id) 다음 페이지: (post_id, created_at, id) 인덱스에서 바로 이어서 읽음
+     */
+    @Query(SUMMARY + VISIBLE +
+            "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id)) " +
+            "order by c.createdAt asc, c.id asc")
+    List<CommentSummary> findVisibleAfter(@Param("postId") Long postId, @Param("userId") Long userId,
+                                          @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Modifying
+    @Query("update Comment c set c.moderationStatus = :status where c.id = :commentId")
+    int updateModerationStatus(@Param("commentId") Long commentId, @Param("status") ModerationStatus status);
+    
+    @Query("select max(c.id) from Comment c")
+    Long findMaxId();
+    
+    /**
+     * ID 범위 안에서 실제 좋아요 행 수와 다른 좋아요 수 보정
+     *
+     * @return 보정된 댓글 수
+     */
+    @Modifying
+    @Query(value = "update comments set like_count = (select count(*) from comment_likes cl where cl.comment_id = comments.id) " +
+            "where id between :fromId and :toId " +
+            "and like_count <> (select count(*) from comment_likes cl where cl.comment_id = comments.id)", nativeQuery = true)
+    int reconcileLikeCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
-
@@ -0,0 +1,20 @@
+package com.sxxm.med.community.repository;
+
+import com.sxxm.med.community.entity.ModerationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 댓글 목록용 프로젝션 (작성자를 조인해 한 번에 조회, Post/User 엔티티는 읽지 않음)
+ */
+public record CommentSummary(
+        Long id,
+        Long postId,
+        Long authorId,
+        String authorNickname,
+        String content,
+        Long likeCount,
+        ModerationStatus moderationStatus,
+        LocalDateTime createdAt
+) {
+}
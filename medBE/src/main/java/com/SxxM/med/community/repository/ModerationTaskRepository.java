@@ -0,0 +1,39 @@
+package com.sxxm.med.community.repository;
+
+import com.sxxm.med.community.entity.ModerationTargetType;
+import com.sxxm.med.community.entity.ModerationTask;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ModerationTaskRepository extends JpaRepository<ModerationTask, Long> {
+    
+    /**
+     * 게시글/댓글 수정 시 대기 항목 갱신용 (complete와 같은 행 잠금 순서로 처리 중인 결과 반영과 직렬화)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ModerationTask> findByTargetTypeAndTargetId(ModerationTargetType targetType, Long targetId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from ModerationTask t where t.id = :id")
+    Optional<ModerationTask> findForUpdate(@Param("id") Long id);
+    
+    /**
+     * 처리 가능한 항목 조회 (FOR UPDATE SKIP LOCKED: 다른 워커/인스턴스가 잡은 행은 건너뜀)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select t from ModerationTask t where t.availableAt <= :now order by t.id")
+    List<ModerationTask> findClaimable(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package com.sxxm.med.community.repository;
+
+import com.sxxm.med.community.entity.ModerationVerdictEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ModerationVerdictEntryRepository extends JpaRepository<ModerationVerdictEntry, String> {
+    
+    List<ModerationVerdictEntry> findByVerdictOrderByCreatedAtDesc(String verdict, Pageable pageable);
+    
+    @Modifying
+    @Query("delete from ModerationVerdictEntry e where e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
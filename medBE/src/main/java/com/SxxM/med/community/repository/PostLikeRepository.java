@@ -2,8 +2,13 @@ package com.sxxm.med.community.repository;
 
 import com.sxxm.med.community.entity.PostLike;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,5 +16,39 @@ public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     Optional<PostLike> findByPostIdAndUserId(Long postId, Long userId);
     long countByPostId(Long postId);
     boolean existsByPostIdAndUserId(Long postId, Long userId);
+    
+    /**
+     * 좋아요 추가 + 좋아요 수 증가를 한 문장으로 처리하고 현재 좋아요 수 반환 (이미 좋아요한 경우 변경 없음)
+     * 게시글이나 사용자가 없으면 외래키 위반 (DataIntegrityViolationException, fk_post_like_post / fk_post_like_user)
+     */
+    @Transactional
+    @Query(value = "with inserted as (" +
+            "insert into post_likes (post_id, user_id, created_at) values (:postId, :userId, current_timestamp) " +
+            "on conflict (post_id, user_id) do nothing returning post_id), " +
+            "updated as (" +
+            "update posts set like_count = like_count + 1 where id in (select post_id from inserted) returning like_count) " +
+            "select coalesce((select like_count from updated), (select like_count from posts where id = :postId))",
+            nativeQuery = true)
+    Long like(@Param("postId") Long postId, @Param("userId") Long userId);
+    
+    /**
+     * 좋아요 삭제 + 좋아요 수 감소를 한 문장으로 처리하고 현재 좋아요 수 반환 (좋아요하지 않은 경우 변경 없음)
+     *
+     * @return 게시글이 없으면 null
+     */
+    @Transactional
+    @Query(value = "with deleted as (" +
+            "delete from post_likes where post_id = :postId and user_id = :userId returning post_id), " +
+            "updated as (" +
+            "update posts set like_count = like_count - 1 where id in (select post_id from deleted) returning like_count) " +
+            "select coalesce((select like_count from updated), (select like_count from posts where id = :postId))",
+            nativeQuery = true)
+    Long unlike(@Param("postId") Long postId, @Param("userId") Long userId);
+    
+    /**
+     * 주어진 게시글 중 사용자가 좋아요한 게시글 ID
+     */
+    @Query("select pl.post.id from PostLike pl where pl.user.id = :userId and pl.post.id in :postIds")
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
 }
 
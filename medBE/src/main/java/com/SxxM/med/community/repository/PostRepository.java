@@ -1,17 +1,151 @@
 package com.sxxm.med.community.repository;
 
+import com.sxxm.med.community.entity.ModerationStatus;
 import com.sxxm.med.community.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
     Page<Post> findAll(Pageable pageable);
     Page<Post> findByCategory(String category, Pageable pageable);
     List<Post> findByAuthorId(Long authorId);
+    
+    String SUMMARY = "select new com.sxxm.med.community.repository.PostSummary(" +
+            "p.id, a.id, a.nickname, p.title, p.excerpt, " +
+            "p.category, p.likeCount, p.moderationStatus, p.createdAt, p.updatedAt) " +
+            "from Post p join p.author a ";
+    
+    /**
+     * 게시글 목록 (작성자 닉네임까지 조인 한 번, 본문 대신 저장된 요약)
+     */
+    @Query(value = SUMMARY + "where p.moderationStatus = :status",
+            countQuery = "select count(p) from Post p where p.moderationStatus = :status")
+    Page<PostSummary> findSummaries(@Param("status") ModerationStatus status, Pageable pageable);
+    
+    @Query(value = SUMMARY + "where p.category = :category and p.moderationStatus = :status",
+            countQuery = "select count(p) from Post p where p.category = :category and p.moderationStatus = :status")
+    Page<PostSummary> findSummariesByCategory(@Param("category") String category, @Param("status") ModerationStatus status,
+                                              Pageable pageable);
+    
+    /**
+     * 커서 기반 최신순 목록 첫 페이지 (개수 조회 없음, pageable은 LIMIT 용도)
+     */
+    @Query(SUMMARY + "where p.moderationStatus = :status order by p.createdAt desc, p.id desc")
+    List<PostSummary> findFeed(@Param("status") ModerationStatus status, Pageable pageable);
+    
+    @Query(SUMMARY + "where p.category = :category and p.moderationStatus = :status order by p.createdAt desc, p.id desc")
+    List<PostSummary> findFeedByCategory(@Param("category") String category, @Param("status") ModerationStatus status,
+                                         Pageable pageable);
+    
+    /**
+     * 커서 (createdAt, id) 다음 페이지: OFFSET 없이 (moderation_status, created_at, id) 인덱스에서 바로 이어서 읽음
+     */
+    @Query(SUMMARY + "where p.moderationStatus = :status " +
+            "and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id)) " +
+            "order by p.createdAt desc, p.id desc")
+    List<PostSummary> findFeedAfter(@Param("status") ModerationStatus status, @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id, Pageable pageable);
+    
+    @Query(SUMMARY + "where p.category = :category and p.moderationStatus = :status " +
+            "and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id)) " +
+            "order by p.createdAt desc, p.id desc")
+    List<PostSummary> findFeedAfterByCategory(@Param("category") String category, @Param("status") ModerationStatus status,
+                                              @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+    
+    @Modifying
+    @Query("update Post p set p.moderationStatus = :status where p.id = :postId")
+    int updateModerationStatus(@Param("postId") Long postId, @Param("status") ModerationStatus status);
+    
+    @EntityGraph(attributePaths = "author")
+    @Query("select p from Post p where p.id = :id")
+    Optional<Post> findWithAuthorById(@Param("id") Long id);
+    
+    /**
+     * 게시글 조회/댓글 가능 여부 (Post.isVisibleTo와 같은 조건, 엔티티를 읽지 않는 댓글 목록 조회용)
+     */
+    @Query("select count(p) > 0 from Post p where p.id = :postId " +
+            "and (p.moderationStatus = com.sxxm.med.community.entity.ModerationStatus.APPROVED or p.author.id = :userId)")
+    boolean isVisible(@Param("postId") Long postId, @Param("userId") Long userId);
+    
+    @EntityGraph(attributePaths = "author")
+    @Query("select p from Post p where p.id in :ids")
+    List<Post> findWithAuthorByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("select max(p.id) from Post p")
+    Long findMaxId();
+    
+    /**
+     * 검색 첫 페이지 (search_vector GIN 인덱스, 점수 내림차순)
+     * 검색어는 med_search_query()가 저장 시와 같은 2-gram tsquery로 변환 (schema.sql 참고)
+     */
+    @Query(value = "select p.id as id, ts_rank(p.search_vector, query) as score " +
+            "from posts p, med_search_query(:keyword) as query " +
+            "where p.search_vector @@ query and p.moderation_status = 'APPROVED' " +
+            "order by score desc, p.id desc limit :limit", nativeQuery = true)
+    List<SearchHit> search(@Param("keyword") String keyword, @Param("limit") int limit);
+    
+    /**
+     * 검색 커서 (score, id) 다음 페이지
+     */
+    @Query(value = "select p.id as id, ts_rank(p.search_vector, query) as score " +
+            "from posts p, med_search_query(:keyword) as query " +
+            "where p.search_vector @@ query and p.moderation_status = 'APPROVED' " +
+            "and (ts_rank(p.search_vector, query) < :score " +
+            "or (ts_rank(p.search_vector, query) = :score and p.id < :id)) " +
+            "order by score desc, p.id desc limit :limit", nativeQuery = true)
+    List<SearchHit> searchAfter(@Param("keyword") String keyword, @Param("score") Float score,
+                                @Param("id") Long id, @Param("limit") int limit);
+    
+    /**
+     * 검색 첫 페이지, 일치하는 게시글 중 최신 candidates건만 점수 계산 (community.search.max-candidates 설정 시)
+     * 그보다 오래된 일치 게시글은 다음 페이지로도 조회되지 않음
+     */
+    @Query(value = "select c.id as id, ts_rank(c.search_vector, c.query) as score from (" +
+            "select p.id, p.search_vector, query from posts p, med_search_query(:keyword) as query " +
+            "where p.search_vector @@ query and p.moderation_status = 'APPROVED' " +
+            "order by p.id desc limit :candidates) c " +
+            "order by score desc, c.id desc limit :limit", nativeQuery = true)
+    List<SearchHit> searchRecent(@Param("keyword") String keyword, @Param("candidates") int candidates,
+                                 @Param("limit") int limit);
+    
+    /**
+     * searchRecent의 커서 (score, id) 다음 페이지 (첫 페이지와 같은 후보 범위)
+     */
+    @Query(value = "select c.id as id, ts_rank(c.search_vector, c.query) as score from (" +
+            "select p.id, p.search_vector, query from posts p, med_search_query(:keyword) as query " +
+            "where p.search_vector @@ query and p.moderation_status = 'APPROVED' " +
+            "order by p.id desc limit :candidates) c " +
+            "where ts_rank(c.search_vector, c.query) < :score " +
+            "or (ts_rank(c.search_vector, c.query) = :score and c.id < :id) " +
+            "order by score desc, c.id desc limit :limit", nativeQuery = true)
+    List<SearchHit> searchRecentAfter(@Param("keyword") String keyword, @Param("candidates") int candidates,
+                                      @Param("score") Float score, @Param("id") Long id, @Param("limit") int limit);
+    
+    interface SearchHit {
+        Long getId();
+        Float getScore();
+    }
+    
+    /**
+     * ID 범위 안에서 실제 좋아요 행 수와 다른 좋아요 수 보정
+     *
+     * @return 보정된 게시글 수
+     */
+    @Modifying
+    @Query(value = "update posts set like_count = (select count(*) from post_likes pl where pl.post_id = posts.id) " +
+            "where id between :fromId and :toId " +
+            "and like_count <> (select count(*) from post_likes pl where pl.post_id = posts.id)", nativeQuery = true)
+    int reconcileLikeCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
-
@@ -0,0 +1,24 @@
+package com.sxxm.med.community.repository;
+
+import com.sxxm.med.community.entity.ModerationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 목록용 프로젝션 (작성자를 조인해 한 번에 조회, 본문 전체와 User 엔티티는 읽지 않음)
+ *
+ * @param excerpt 저장된 본문 요약 (posts.excerpt)
+ */
+public record PostSummary(
+        Long id,
+        Long authorId,
+        String authorNickname,
+        String title,
+        String excerpt,
+        String category,
+        Long likeCount,
+        ModerationStatus moderationStatus,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
@@ -5,13 +5,17 @@ import com.sxxm.med.auth.repository.UserRepository;
 import com.sxxm.med.community.dto.CommentCreateRequest;
 import com.sxxm.med.community.dto.CommentResponse;
 import com.sxxm.med.community.dto.CommentUpdateRequest;
+import com.sxxm.med.community.dto.CursorPageResponse;
 import com.sxxm.med.community.entity.Comment;
+import com.sxxm.med.community.entity.ModerationStatus;
+import com.sxxm.med.community.entity.ModerationTargetType;
 import com.sxxm.med.community.entity.Post;
-import com.sxxm.med.community.repository.CommentLikeRepository;
 import com.sxxm.med.community.repository.CommentRepository;
+import com.sxxm.med.community.repository.CommentSummary;
 import com.sxxm.med.community.repository.PostRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -28,11 +32,15 @@ import java.util.stream.Collectors;
 @Transactional
 public class CommentService {
     
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    
     private final CommentRepository commentRepository;
-    private final CommentLikeRepository commentLikeRepository;
+    private final LikeService likeService;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final ContentValidationService contentValidationService;
+    private final ModerationQueueService moderationQueueService;
+    private final ApplicationEventPublisher eventPublisher;
     
     public CommentResponse createComment(String username, CommentCreateRequest request) {
         User author = userRepository.findByUsername(username)
@@ -40,40 +48,89 @@ public class CommentService {
         
         Post post = postRepository.findById(request.getPostId())
                 .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다"));
-        
-        // 콘텐츠 검증
-        if (!contentValidationService.validateContent(request.getContent())) {
-            throw new RuntimeException("부적절한 내용이 포함되어 있습니다");
+        if (!post.isVisibleTo(author.getId())) {
+            // 검증에서 숨겨진 게시글에는 댓글 작성 불가
+            throw new RuntimeException("게시글을 찾을 수 없습니다");
         }
         
+        // 콘텐츠 검증 (비동기 모드에서는 PENDING으로 저장 후 워커가 검증)
+        ModerationStatus moderationStatus = contentValidationService.moderateOnWrite(request.getContent());
+        
         Comment comment = Comment.builder()
                 .post(post)
                 .author(author)
                 .content(request.getContent())
+                .moderationStatus(moderationStatus)
+                .contentSimhash(ContentFingerprint.of(request.getContent()).simhash())
                 .build();
         
         Comment saved = commentRepository.save(comment);
-        return toResponse(saved, null);
+        moderationQueueService.enqueueIfPending(ModerationTargetType.COMMENT, saved.getId(), moderationStatus);
+        if (moderationStatus == ModerationStatus.APPROVED) {
+            // 검증 대기 댓글은 승인 시점에 ModerationQueueService가 알림
+            eventPublisher.publishEvent(PostActivityEvent.commentCreated(post.getId(), saved.getId()));
+        }
+        return toResponse(saved, LikedIds.NONE);
     }
     
     public List<CommentResponse> getCommentsByPostId(Long postId) {
-        List<Comment> comments = commentRepository.findByPostIdOrderByCreatedAtAsc(postId);
+        List<CommentSummary> comments = commentRepository.findSummaries(postId, ModerationStatus.APPROVED);
         return comments.stream()
-                .map(comment -> toResponse(comment, null))
+                .map(comment -> toResponse(comment, LikedIds.NONE))
                 .collect(Collectors.toList());
     }
     
     public List<CommentResponse> getCommentsByPostIdOrdered(Long postId, Long userId) {
-        List<Comment> comments = commentRepository.findByPostIdOrderByCreatedAtAsc(postId);
+        List<CommentSummary> comments = commentRepository.findVisibleSummaries(postId, userId);
+        LikedIds likedIds = likeService.getLikedCommentIds(ids(comments), userId);
         return comments.stream()
-                .map(comment -> toResponse(comment, userId))
+                .map(comment -> toResponse(comment, likedIds))
                 .collect(Collectors.toList());
     }
     
     public Page<CommentResponse> getCommentsByPostIdWithPagination(Long postId, int page, int size, Long userId) {
+        requireVisiblePost(postId, userId);
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "createdAt"));
-        Page<Comment> comments = commentRepository.findByPostId(postId, pageable);
-        return comments.map(comment -> toResponse(comment, userId));
+        Page<CommentSummary> comments = commentRepository.findVisibleSummaries(postId, userId, pageable);
+        LikedIds likedIds = likeService.getLikedCommentIds(ids(comments.getContent()), userId);
+        return comments.map(comment -> toResponse(comment, likedIds));
+    }
+    
+    /**
+     * 커서 기반 댓글 목록 (오래된 순, 개수 조회 없음)
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @throws IllegalArgumentException 잘못된 커서
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CommentResponse> getCommentsByPostIdWithCursor(Long postId, String cursor, int size, Long userId) {
+        requireVisiblePost(postId, userId);
+        return getCommentPage(postId, cursor, size, userId);
+    }
+    
+    /**
+     * 게시글 조회 권한을 이미 확인한 경우 (PostService 상세 조회)
+     */
+    CursorPageResponse<CommentResponse> getCommentPage(Long postId, String cursor, int size, Long userId) {
+        PageCursor after = PageCursor.decode(cursor);
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        // 다음 페이지 존재 여부 확인용으로 한 건 더 조회
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        
+        List<CommentSummary> comments = after == null
+                ? commentRepository.findVisibleFirstPage(postId, userId, pageable)
+                : commentRepository.findVisibleAfter(postId, userId, after.createdAt(), after.id(), pageable);
+        
+        boolean hasNext = comments.size() > limit;
+        List<CommentSummary> page = hasNext ? comments.subList(0, limit) : comments;
+        LikedIds likedIds = likeService.getLikedCommentIds(ids(page), userId);
+        CommentSummary last = page.isEmpty() ? null : page.get(page.size() - 1);
+        
+        return CursorPageResponse.<CommentResponse>builder()
+                .items(page.stream().map(comment -> toResponse(comment, likedIds)).toList())
+                .nextCursor(hasNext ? PageCursor.after(last.createdAt(), last.id()).encode() : null)
+                .hasNext(hasNext)
+                .build();
     }
     
     public CommentResponse updateComment(Long commentId, String username, CommentUpdateRequest request) {
@@ -86,15 +143,16 @@ public class CommentService {
         }
         
         // 콘텐츠 검증
-        if (!contentValidationService.validateContent(request.getContent())) {
-            throw new RuntimeException("부적절한 내용이 포함되어 있습니다");
-        }
+        ModerationStatus moderationStatus = contentValidationService.moderateOnWrite(request.getContent());
         
         comment.setContent(request.getContent());
+        comment.setModerationStatus(moderationStatus);
+        comment.setContentSimhash(ContentFingerprint.of(request.getContent()).simhash());
         Comment updated = commentRepository.save(comment);
+        moderationQueueService.onContentUpdated(ModerationTargetType.COMMENT, updated.getId(), moderationStatus);
         User user = userRepository.findByUsername(username).orElse(null);
         Long userId = user != null ? user.getId() : null;
-        return toResponse(updated, userId);
+        return toResponse(updated, likeService.getLikedCommentIds(List.of(updated.getId()), userId));
     }
     
     public void deleteComment(Long commentId, String username) {
@@ -109,18 +167,40 @@ public class CommentService {
         commentRepository.delete(comment);
     }
     
-    private CommentResponse toResponse(Comment comment, Long userId) {
-        Long likeCount = commentLikeRepository.countByCommentId(comment.getId());
-        Boolean isLiked = userId != null && commentLikeRepository.existsByCommentIdAndUserId(comment.getId(), userId);
-        
+    private void requireVisiblePost(Long postId, Long userId) {
+        if (!postRepository.isVisible(postId, userId)) {
+            throw new RuntimeException("게시글을 찾을 수 없습니다");
+        }
+    }
+    
+    private List<Long> ids(List<CommentSummary> comments) {
+        return comments.stream().map(CommentSummary::id).toList();
+    }
+    
+    private CommentResponse toResponse(CommentSummary comment, LikedIds likedIds) {
+        return CommentResponse.builder()
+                .id(comment.id())
+                .postId(comment.postId())
+                .authorId(comment.authorId())
+                .authorNickname(comment.authorNickname())
+                .content(comment.content())
+                .likeCount(comment.likeCount())
+                .isLiked(likedIds.contains(comment.id()))
+                .moderationStatus(comment.moderationStatus())
+                .createdAt(comment.createdAt())
+                .build();
+    }
+    
+    private CommentResponse toResponse(Comment comment, LikedIds likedIds) {
         return CommentResponse.builder()
                 .id(comment.getId())
                 .postId(comment.getPost().getId())
                 .authorId(comment.getAuthor().getId())
                 .authorNickname(comment.getAuthor().getNickname())
                 .content(comment.getContent())
-                .likeCount(likeCount)
-                .isLiked(isLiked)
+                .likeCount(comment.getLikeCount())
+                .isLiked(likedIds.contains(comment.getId()))
+                .moderationStatus(comment.getModerationStatus())
                 .createdAt(comment.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,28 @@
+package com.sxxm.med.community.service;
+
+import com.sxxm.med.common.text.HangulNormalizer;
+import com.sxxm.med.common.text.SimHash;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 콘텐츠 지문
+ * contentHash: 정규화된 텍스트의 SHA-256 (완전 중복 조회용 키)
+ * simhash: 근사 중복 탐지용 64비트 SimHash
+ * normalizedLength: 정규화 후 길이 (너무 짧은 글은 근사 비교에서 제외)
+ */
+public record ContentFingerprint(String contentHash, long simhash, int normalizedLength) {
+    
+    public static ContentFingerprint of(String content) {
+        String normalized = HangulNormalizer.normalize(content);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return new ContentFingerprint(HexFormat.of().formatHex(digest), SimHash.compute(normalized), normalized.length());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("콘텐츠 지문 생성 실패: " + e.getMessage(), e);
+        }
+    }
+}
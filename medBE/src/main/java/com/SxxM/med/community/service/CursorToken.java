@@ -0,0 +1,52 @@
+package com.sxxm.med.community.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 페이지네이션 커서 토큰 형식 (필드를 '|'로 이어 Base64URL로 인코딩)
+ * 필드 값의 해석과 검증은 각 커서(PageCursor, SearchCursor)가 담당
+ */
+final class CursorToken {
+    
+    private static final String SEPARATOR = "|";
+    
+    private CursorToken() {
+    }
+    
+    static String encode(Object... fields) {
+        StringBuilder raw = new StringBuilder();
+        for (Object field : fields) {
+            if (!raw.isEmpty()) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(field);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * @return 토큰이 비어 있으면 null (첫 페이지)
+     * @throws IllegalArgumentException Base64가 아니거나 필드 수가 다른 토큰
+     */
+    static String[] decode(String token, int fieldCount) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid(e);
+        }
+        String[] fields = raw.split("\\|", -1);
+        if (fields.length != fieldCount) {
+            throw invalid(null);
+        }
+        return fields;
+    }
+    
+    static IllegalArgumentException invalid(Throwable cause) {
+        return new IllegalArgumentException("잘못된 커서입니다", cause);
+    }
+}
@@ -0,0 +1,181 @@
+package com.sxxm.med.community.service;
+
+import com.sxxm.med.community.dto.PostResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게시글 목록 앞쪽 페이지 캐시 (카테고리별, 메모리 LRU)
+ * 조회자와 무관한 부분(게시글 요약, 전체 개수)만 보관하고 좋아요 여부는 조회 시 사용자별로 덮어씀
+ * 작성/수정/삭제/검증 상태 변경/좋아요 이벤트를 커밋 후 받아 영향받는 페이지만 무효화하며, TTL은 다른 인스턴스의 변경에 대한 안전장치
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HotPageCache {
+    
+    // 카테고리 필터가 없는 전체 목록의 키
+    private static final String ALL_CATEGORIES = "";
+    
+    // 좋아요 수로 정렬한 목록은 좋아요 변경으로 게시글이 다른 페이지로 옮겨갈 수 있음
+    private static final String LIKE_COUNT_PROPERTY = "likeCount";
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${community.hot-page-cache.enabled:true}")
+    private boolean enabled;
+    
+    // 0 ~ max-pages-1 페이지만 캐시
+    @Value("${community.hot-page-cache.max-pages:3}")
+    private int maxPages;
+    
+    @Value("${community.hot-page-cache.max-page-size:50}")
+    private int maxPageSize;
+    
+    @Value("${community.hot-page-cache.max-entries:200}")
+    private int maxEntries;
+    
+    @Value("${community.hot-page-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+    
+    private Map<Key, CachedPage> cache;
+    
+    // 무효화마다 증가: 조회 시작 후 무효화가 있었으면 조회 결과를 저장하지 않음 (오래된 페이지 재저장 방지)
+    private final AtomicLong version = new AtomicLong();
+    
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    
+    @PostConstruct
+    public void init() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedPage> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        
+        Gauge.builder("community.hot_page_cache.hit.ratio", this, HotPageCache::getHitRatio)
+                .description("게시글 목록 페이지 캐시 적중률")
+                .register(meterRegistry);
+        Gauge.builder("community.hot_page_cache.size", cache, Map::size)
+                .description("게시글 목록 페이지 캐시 항목 수")
+                .register(meterRegistry);
+        
+        log.info("게시글 목록 페이지 캐시 초기화: enabled={}, maxPages={}, ttlSeconds={}", enabled, maxPages, ttlSeconds);
+    }
+    
+    /**
+     * 캐시 대상 페이지의 키 (대상이 아니면 null)
+     */
+    public Key keyOf(String category, Pageable pageable) {
+        if (!enabled || pageable.getPageNumber() >= maxPages || pageable.getPageSize() > maxPageSize) {
+            return null;
+        }
+        return new Key(category != null ? category : ALL_CATEGORIES,
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString(),
+                pageable.getSort().getOrderFor(LIKE_COUNT_PROPERTY) != null);
+    }
+    
+    /**
+     * 조회 전에 읽어 두었다가 put에 전달
+     */
+    public long version() {
+        return version.get();
+    }
+    
+    public CachedPage get(Key key) {
+        CachedPage cached = cache.get(key);
+        if (cached != null && cached.expiresAt() < System.currentTimeMillis()) {
+            cache.remove(key);
+            cached = null;
+        }
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            counter("hit").increment();
+        } else {
+            missCount.incrementAndGet();
+            counter("miss").increment();
+        }
+        return cached;
+    }
+    
+    /**
+     * @param posts 좋아요 여부를 제외한 게시글 요약
+     * @param readVersion 조회 시작 전 version() 값
+     */
+    public CachedPage put(Key key, List<PostResponse> posts, long totalElements, long readVersion) {
+        CachedPage page = new CachedPage(List.copyOf(posts), totalElements,
+                System.currentTimeMillis() + ttlSeconds * 1000);
+        synchronized (cache) {
+            if (version.get() == readVersion) {
+                cache.put(key, page);
+            }
+        }
+        return page;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        int evicted;
+        synchronized (cache) {
+            version.incrementAndGet();
+            int before = cache.size();
+            if (event.change() == PostChangedEvent.Change.LIKE) {
+                // 좋아요순 목록은 모든 페이지, 그 밖의 목록은 해당 게시글이 있는 페이지만 제거
+                cache.entrySet().removeIf(entry -> entry.getKey().likeSorted()
+                        || entry.getValue().containsPost(event.postId()));
+            } else if (event.category() == null) {
+                cache.clear();
+            } else {
+                cache.keySet().removeIf(key -> key.category().equals(ALL_CATEGORIES)
+                        || key.category().equals(event.category()));
+            }
+            evicted = before - cache.size();
+        }
+        if (evicted > 0) {
+            log.debug("게시글 목록 페이지 캐시 무효화: postId={}, change={}, category={}, 제거={}",
+                    event.postId(), event.change(), event.category(), evicted);
+        }
+    }
+    
+    private double getHitRatio() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+    
+    private Counter counter(String result) {
+        return Counter.builder("community.hot_page_cache.requests")
+                .description("게시글 목록 페이지 캐시 조회 결과 (hit, miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    public record Key(String category, int page, int size, String sort, boolean likeSorted) {
+    }
+    
+    public record CachedPage(List<PostResponse> posts, long totalElements, long expiresAt) {
+        boolean containsPost(Long postId) {
+            return posts.stream().anyMatch(post -> post.getId().equals(postId));
+        }
+    }
+}
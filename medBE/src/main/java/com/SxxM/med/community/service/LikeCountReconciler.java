@@ -0,0 +1,124 @@
+package com.sxxm.med.community.service;
+
+import com.sxxm.med.community.repository.CommentRepository;
+import com.sxxm.med.community.repository.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * posts/comments.like_count 보정 작업
+ * ID 범위(chunk-size) 단위로 실제 좋아요 행 수와 비교해 다른 행만 고치며, 범위마다 별도 트랜잭션으로 짧게 잠금
+ * 한 번 실행에 max-chunks-per-run 범위까지만 처리하고 다음 실행에서 이어서 진행 (끝까지 가면 처음부터 다시)
+ * 컬럼 추가 직후의 기존 데이터도 이 작업으로 채워짐
+ * 범위 트랜잭션은 REPEATABLE READ로 실행: READ COMMITTED에서는 좋아요/취소가 행 잠금을 풀고 커밋한 뒤
+ * 보정 UPDATE가 그 행을 다시 읽어도 하위 쿼리의 좋아요 수는 문장 시작 시점 값이라 방금 반영된 증감을 덮어쓸 수 있음
+ * REPEATABLE READ에서는 이 경우 직렬화 실패가 나므로 해당 범위만 다시 시도 (재시도를 모두 실패하면 다음 주기에 보정)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LikeCountReconciler {
+    
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${community.like-count.reconcile.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${community.like-count.reconcile.chunk-size:1000}")
+    private long chunkSize;
+    
+    @Value("${community.like-count.reconcile.max-chunks-per-run:50}")
+    private int maxChunksPerRun;
+    
+    @Value("${community.like-count.reconcile.max-retries:3}")
+    private int maxRetries;
+    
+    private TransactionTemplate chunkTransaction;
+    private long nextPostId = 1;
+    private long nextCommentId = 1;
+    
+    @PostConstruct
+    public void init() {
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        chunkTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+    
+    @Scheduled(fixedDelayString = "${community.like-count.reconcile.interval-ms:600000}", initialDelay = 60000)
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            nextPostId = reconcileRange("post", nextPostId, postRepository::findMaxId, postRepository::reconcileLikeCounts);
+            nextCommentId = reconcileRange("comment", nextCommentId, commentRepository::findMaxId, commentRepository::reconcileLikeCounts);
+        } catch (Exception e) {
+            log.warn("좋아요 수 보정 실패 (다음 주기에 재시도): 오류={}", e.getMessage());
+        }
+    }
+    
+    /**
+     * @return 다음 실행에서 시작할 ID
+     */
+    private long reconcileRange(String target, long startId, Supplier<Long> maxId,
+                                BiFunction<Long, Long, Integer> reconcileChunk) {
+        Long max = maxId.get();
+        if (max == null) {
+            return 1;
+        }
+        long fromId = startId > max ? 1 : startId;
+        int repaired = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun && fromId <= max; chunk++) {
+            long from = fromId;
+            long to = fromId + chunkSize - 1;
+            repaired += reconcileChunk(target, from, to, reconcileChunk);
+            fromId = to + 1;
+        }
+        if (repaired > 0) {
+            log.info("좋아요 수 보정 완료: 대상={}, 보정 개수={}, 다음 시작 ID={}", target, repaired, fromId);
+            Counter.builder("community.like_count.repaired")
+                    .description("보정 작업이 고친 좋아요 수 불일치 행 수")
+                    .tag("target", target)
+                    .register(meterRegistry)
+                    .increment(repaired);
+        }
+        return fromId;
+    }
+    
+    /**
+     * 범위 하나 보정. 동시 좋아요/취소와 충돌해 직렬화 실패하면 maxRetries번까지 다시 시도
+     *
+     * @return 보정된 행 수 (재시도를 모두 실패하면 0, 다음 주기에 다시 보정)
+     */
+    private int reconcileChunk(String target, long from, long to, BiFunction<Long, Long, Integer> reconcileChunk) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer updated = chunkTransaction.execute(status -> reconcileChunk.apply(from, to));
+                return updated != null ? updated : 0;
+            } catch (ConcurrencyFailureException e) {
+                if (attempt > maxRetries) {
+                    log.warn("좋아요 수 보정 충돌로 범위 건너뜀 (다음 주기에 재시도): 대상={}, 범위={}~{}, 시도={}",
+                            target, from, to, attempt);
+                    return 0;
+                }
+                log.debug("좋아요 수 보정 충돌, 다시 시도: 대상={}, 범위={}~{}, 시도={}", target, from, to, attempt);
+            }
+        }
+    }
+}
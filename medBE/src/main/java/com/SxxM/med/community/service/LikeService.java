@@ -1,21 +1,19 @@
 package com.sxxm.med.community.service;
 
-import com.sxxm.med.auth.entity.User;
-import com.sxxm.med.auth.repository.UserRepository;
 import com.sxxm.med.community.dto.LikeResponse;
-import com.sxxm.med.community.entity.Comment;
-import com.sxxm.med.community.entity.CommentLike;
-import com.sxxm.med.community.entity.Post;
-import com.sxxm.med.community.entity.PostLike;
 import com.sxxm.med.community.repository.CommentLikeRepository;
-import com.sxxm.med.community.repository.CommentRepository;
 import com.sxxm.med.community.repository.PostLikeRepository;
-import com.sxxm.med.community.repository.PostRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Locale;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -24,101 +22,119 @@ public class LikeService {
     
     private final PostLikeRepository postLikeRepository;
     private final CommentLikeRepository commentLikeRepository;
-    private final PostRepository postRepository;
-    private final CommentRepository commentRepository;
-    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
-     * 게시글 좋아요
+     * 게시글 좋아요 (이미 좋아요한 경우 변경 없음)
+     * 좋아요 행 추가, 좋아요 수 증가, 현재 좋아요 수 조회를 한 문장(DB 왕복 1회)으로 처리
      */
     public LikeResponse likePost(Long postId, Long userId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다"));
-        
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다"));
-        
-        // 이미 좋아요한 경우 무시
-        if (postLikeRepository.existsByPostIdAndUserId(postId, userId)) {
-            return getPostLikeResponse(postId, userId);
+        Long likeCount;
+        try {
+            likeCount = postLikeRepository.like(postId, userId);
+        } catch (DataIntegrityViolationException e) {
+            throw foreignKeyViolation(e, "fk_post_like_post", "게시글을 찾을 수 없습니다", "fk_post_like_user");
         }
-        
-        PostLike postLike = PostLike.builder()
-                .post(post)
-                .user(user)
-                .build();
-        
-        postLikeRepository.save(postLike);
-        
-        return getPostLikeResponse(postId, userId);
+        LikeResponse response = toLikeResponse(likeCount, true, "게시글을 찾을 수 없습니다");
+        publishPostLike(postId, likeCount);
+        return response;
     }
     
     /**
-     * 게시글 좋아요 취소
+     * 게시글 좋아요 취소 (좋아요하지 않은 경우 변경 없음)
+     * 실제로 삭제된 행이 있을 때만 감소하므로 동시 취소 요청이 두 번 감소시키지 않음
      */
     public LikeResponse unlikePost(Long postId, Long userId) {
-        PostLike postLike = postLikeRepository.findByPostIdAndUserId(postId, userId)
-                .orElse(null);
-        
-        if (postLike != null) {
-            postLikeRepository.delete(postLike);
-        }
-        
-        return getPostLikeResponse(postId, userId);
+        Long likeCount = postLikeRepository.unlike(postId, userId);
+        LikeResponse response = toLikeResponse(likeCount, false, "게시글을 찾을 수 없습니다");
+        publishPostLike(postId, likeCount);
+        return response;
     }
     
     /**
-     * 댓글 좋아요
+     * 댓글 좋아요 (이미 좋아요한 경우 변경 없음)
      */
     public LikeResponse likeComment(Long commentId, Long userId) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new RuntimeException("댓글을 찾을 수 없습니다"));
-        
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다"));
-        
-        // 이미 좋아요한 경우 무시
-        if (commentLikeRepository.existsByCommentIdAndUserId(commentId, userId)) {
-            return getCommentLikeResponse(commentId, userId);
+        CommentLikeRepository.CommentLikeCount result;
+        try {
+            result = commentLikeRepository.like(commentId, userId);
+        } catch (DataIntegrityViolationException e) {
+            throw foreignKeyViolation(e, "fk_comment_like_comment", "댓글을 찾을 수 없습니다", "fk_comment_like_user");
         }
-        
-        CommentLike commentLike = CommentLike.builder()
-                .comment(comment)
-                .user(user)
-                .build();
-        
-        commentLikeRepository.save(commentLike);
-        
-        return getCommentLikeResponse(commentId, userId);
+        return toCommentLikeResponse(commentId, result, true);
     }
     
     /**
-     * 댓글 좋아요 취소 (unlike 엔드포인트에서 like 재호출로 처리)
+     * 댓글 좋아요 취소 (좋아요하지 않은 경우 변경 없음)
      */
     public LikeResponse unlikeComment(Long commentId, Long userId) {
-        CommentLike commentLike = commentLikeRepository.findByCommentIdAndUserId(commentId, userId)
-                .orElse(null);
-        
-        if (commentLike != null) {
-            commentLikeRepository.delete(commentLike);
+        return toCommentLikeResponse(commentId, commentLikeRepository.unlike(commentId, userId), false);
+    }
+    
+    /**
+     * 게시글 목록 중 사용자가 좋아요한 게시글 ID 일괄 조회 (쿼리 1회)
+     */
+    @Transactional(readOnly = true)
+    public LikedIds getLikedPostIds(Collection<Long> postIds, Long userId) {
+        if (userId == null || postIds.isEmpty()) {
+            return LikedIds.NONE;
         }
-        
-        return getCommentLikeResponse(commentId, userId);
+        return LikedIds.of(postLikeRepository.findLikedPostIds(userId, postIds));
     }
     
-    private LikeResponse getPostLikeResponse(Long postId, Long userId) {
-        long likeCount = postLikeRepository.countByPostId(postId);
-        boolean isLiked = postLikeRepository.existsByPostIdAndUserId(postId, userId);
-        
-        return LikeResponse.builder()
-                .likeCount(likeCount)
-                .isLiked(isLiked)
-                .build();
+    /**
+     * 댓글 목록 중 사용자가 좋아요한 댓글 ID 일괄 조회 (쿼리 1회)
+     */
+    @Transactional(readOnly = true)
+    public LikedIds getLikedCommentIds(Collection<Long> commentIds, Long userId) {
+        if (userId == null || commentIds.isEmpty()) {
+            return LikedIds.NONE;
+        }
+        return LikedIds.of(commentLikeRepository.findLikedCommentIds(userId, commentIds));
+    }
+    
+    // 위반한 제약 조건 이름으로 없는 대상(게시글/댓글, 사용자)을 구분하고, 그 밖의 위반은 그대로 전달
+    private RuntimeException foreignKeyViolation(DataIntegrityViolationException e, String targetConstraint,
+                                                 String targetNotFoundMessage, String userConstraint) {
+        String constraint = violatedConstraint(e);
+        if (targetConstraint.equals(constraint)) {
+            return new RuntimeException(targetNotFoundMessage);
+        }
+        if (userConstraint.equals(constraint)) {
+            return new RuntimeException("사용자를 찾을 수 없습니다");
+        }
+        log.warn("좋아요 처리 중 알 수 없는 제약 조건 위반: {}", constraint);
+        return e;
+    }
+    
+    private static String violatedConstraint(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+    
+    private void publishPostLike(Long postId, Long likeCount) {
+        eventPublisher.publishEvent(PostChangedEvent.like(postId));
+        eventPublisher.publishEvent(PostActivityEvent.postLike(postId, likeCount));
     }
     
-    private LikeResponse getCommentLikeResponse(Long commentId, Long userId) {
-        long likeCount = commentLikeRepository.countByCommentId(commentId);
-        boolean isLiked = commentLikeRepository.existsByCommentIdAndUserId(commentId, userId);
+    private LikeResponse toCommentLikeResponse(Long commentId, CommentLikeRepository.CommentLikeCount result, boolean isLiked) {
+        if (result == null) {
+            throw new RuntimeException("댓글을 찾을 수 없습니다");
+        }
+        LikeResponse response = toLikeResponse(result.getLikeCount(), isLiked, "댓글을 찾을 수 없습니다");
+        eventPublisher.publishEvent(PostActivityEvent.commentLike(result.getPostId(), commentId, result.getLikeCount()));
+        return response;
+    }
+    
+    // 좋아요 수가 null이면 대상 게시글/댓글이 없는 경우
+    private LikeResponse toLikeResponse(Long likeCount, boolean isLiked, String notFoundMessage) {
+        if (likeCount == null) {
+            throw new RuntimeException(notFoundMessage);
+        }
         
         return LikeResponse.builder()
                 .likeCount(likeCount)
@@ -126,4 +142,3 @@ public class LikeService {
                 .build();
     }
 }
-
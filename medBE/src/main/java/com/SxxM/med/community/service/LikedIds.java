@@ -0,0 +1,21 @@
+package com.sxxm.med.community.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 한 페이지 분량 게시글/댓글 중 조회자가 좋아요한 ID (한 번에 조회해 메모리에서 조인)
+ * 좋아요 수는 게시글/댓글의 like_count 컬럼을 그대로 사용
+ */
+public record LikedIds(Set<Long> ids) {
+    
+    static final LikedIds NONE = new LikedIds(Set.of());
+    
+    static LikedIds of(Collection<Long> ids) {
+        return ids.isEmpty() ? NONE : new LikedIds(Set.copyOf(ids));
+    }
+    
+    public boolean contains(Long id) {
+        return ids.contains(id);
+    }
+}
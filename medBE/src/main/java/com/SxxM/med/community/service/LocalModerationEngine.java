@@ -0,0 +1,173 @@
+package com.sxxm.med.community.service;
+
+import com.sxxm.med.common.text.AhoCorasick;
+import com.sxxm.med.common.text.HangulNormalizer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 콘텐츠 검증 엔진
+ * 욕설/스팸 사전을 Aho-Corasick 오토마톤으로 만들어 정규화된 텍스트를 한 번만 훑어 판정
+ * 명백한 경우(욕설 포함, 스팸 다수, 매칭 없음)는 바로 결정하고 애매한 경우만 REVIEW로 GPT에 넘김
+ * 2글자 이하 표현은 한 단어 안에서만 인정 ("복용 시 발진"의 "시발", "위염 병원"의 "염병" 오탐 방지)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocalModerationEngine {
+    
+    private static final Pattern LINK_PATTERN = Pattern.compile("(?i)(https?://|www\\.)");
+    
+    // 이 길이 이하의 표현은 단어 경계를 넘어 일치하면 무시
+    private static final int SHORT_TERM_LENGTH = 2;
+    
+    private final ResourceLoader resourceLoader;
+    
+    @Value("${content.moderation.lexicon-path:classpath:moderation/lexicon.txt}")
+    private String lexiconPath;
+    
+    @Value("${content.moderation.spam-reject-score:2}")
+    private int spamRejectScore;
+    
+    @Value("${content.moderation.max-links:3}")
+    private int maxLinks;
+    
+    private volatile AhoCorasick<Category> automaton = AhoCorasick.<Category>builder().build();
+    
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+    
+    /**
+     * 사전 파일을 다시 읽어 오토마톤 교체 (실패 시 기존 사전 유지)
+     */
+    public void reload() {
+        Resource resource = resourceLoader.getResource(lexiconPath);
+        AhoCorasick.Builder<Category> builder = AhoCorasick.builder();
+        int[] counts = new int[Category.values().length];
+        
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            Category section = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith("[") && line.endsWith("]")) {
+                    section = Category.valueOf(line.substring(1, line.length() - 1).trim().toUpperCase());
+                    continue;
+                }
+                if (section == null) {
+                    continue;
+                }
+                String pattern = HangulNormalizer.normalize(line);
+                if (!pattern.isEmpty()) {
+                    builder.add(pattern, section);
+                    counts[section.ordinal()]++;
+                }
+            }
+            automaton = builder.build();
+            log.info("콘텐츠 검증 사전 로드 완료: path={}, block={}, spam={}, suspect={}, allow={}", lexiconPath,
+                    counts[Category.BLOCK.ordinal()], counts[Category.SPAM.ordinal()],
+                    counts[Category.SUSPECT.ordinal()], counts[Category.ALLOW.ordinal()]);
+        } catch (Exception e) {
+            log.error("콘텐츠 검증 사전 로드 실패 (기존 사전 유지): path={}, 오류={}", lexiconPath, e.getMessage());
+        }
+    }
+    
+    public Result evaluate(String content) {
+        if (content == null || content.isBlank()) {
+            return new Result(ModerationVerdict.APPROVE, List.of());
+        }
+        
+        HangulNormalizer.Words words = HangulNormalizer.normalizeWords(content);
+        List<AhoCorasick.Match<Category>> matches = automaton.findAll(words.text()).stream()
+                .filter(match -> match.value() == Category.ALLOW
+                        || match.pattern().length() > SHORT_TERM_LENGTH
+                        || !words.spansWords(match.start(), match.end()))
+                .toList();
+        List<AhoCorasick.Match<Category>> allowed = matches.stream()
+                .filter(match -> match.value() == Category.ALLOW)
+                .toList();
+        
+        Set<String> blocked = new LinkedHashSet<>();
+        Set<String> spam = new LinkedHashSet<>();
+        Set<String> suspect = new LinkedHashSet<>();
+        for (AhoCorasick.Match<Category> match : matches) {
+            if (match.value() == Category.ALLOW || isCoveredByAllow(match, allowed)) {
+                continue;
+            }
+            switch (match.value()) {
+                case BLOCK -> blocked.add(match.pattern());
+                case SPAM -> spam.add(match.pattern());
+                case SUSPECT -> suspect.add(match.pattern());
+                default -> {
+                }
+            }
+        }
+        
+        int links = countLinks(content);
+        int spamScore = spam.size() + (links > maxLinks ? spamRejectScore : 0);
+        
+        List<String> matched = new ArrayList<>(blocked);
+        matched.addAll(spam);
+        matched.addAll(suspect);
+        
+        if (!blocked.isEmpty() || spamScore >= spamRejectScore) {
+            return new Result(ModerationVerdict.REJECT, matched);
+        }
+        if (!suspect.isEmpty() || spamScore > 0) {
+            return new Result(ModerationVerdict.REVIEW, matched);
+        }
+        return new Result(ModerationVerdict.APPROVE, matched);
+    }
+    
+    private boolean isCoveredByAllow(AhoCorasick.Match<Category> match, List<AhoCorasick.Match<Category>> allowed) {
+        for (AhoCorasick.Match<Category> allow : allowed) {
+            if (allow.start() <= match.start() && match.end() <= allow.end()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private int countLinks(String content) {
+        Matcher matcher = LINK_PATTERN.matcher(content);
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+    
+    private enum Category {
+        BLOCK,
+        SPAM,
+        SUSPECT,
+        ALLOW
+    }
+    
+    /**
+     * @param matchedTerms 판정 근거가 된 사전 표현 (정규화된 형태)
+     */
+    public record Result(ModerationVerdict verdict, List<String> matchedTerms) {
+    }
+}
@@ -0,0 +1,189 @@
+package com.sxxm.med.community.service;
+
+import com.sxxm.med.community.entity.Comment;
+import com.sxxm.med.community.entity.ModerationStatus;
+import com.sxxm.med.community.entity.ModerationTargetType;
+import com.sxxm.med.community.entity.ModerationTask;
+import com.sxxm.med.community.entity.Post;
+import com.sxxm.med.community.repository.CommentRepository;
+import com.sxxm.med.community.repository.ModerationTaskRepository;
+import com.sxxm.med.community.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 비동기 검증 대기열 관리 (moderation_queue 테이블)
+ * enqueue는 게시글/댓글 저장 트랜잭션에 참여하고, claim/complete는 워커가 각각 별도 트랜잭션으로 호출
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ModerationQueueService {
+    
+    private final ModerationTaskRepository moderationTaskRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final ContentValidationService contentValidationService;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${content.moderation.worker.lease-ms:120000}")
+    private long leaseMs;
+    
+    @Value("${content.moderation.worker.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Value("${content.moderation.worker.retry-delay-ms:30000}")
+    private long retryDelayMs;
+    
+    /**
+     * 검증 대기 상태면 대기열에 추가 (이미 대기 중이면 revision을 올려 이전 내용의 검증 결과를 무효화)
+     */
+    @Transactional
+    public void enqueueIfPending(ModerationTargetType targetType, Long targetId, ModerationStatus status) {
+        if (status != ModerationStatus.PENDING) {
+            return;
+        }
+        enqueue(targetType, targetId, moderationTaskRepository.findByTargetTypeAndTargetId(targetType, targetId));
+    }
+    
+    /**
+     * 게시글/댓글 수정 시 호출: 대기 중이던 이전 내용의 검증 결과가 새 내용에 반영되지 않게 함
+     * 새 내용이 검증 대기면 revision을 올리고, 바로 판정된 경우(APPROVED/HIDDEN)는 대기 항목 삭제
+     */
+    @Transactional
+    public void onContentUpdated(ModerationTargetType targetType, Long targetId, ModerationStatus status) {
+        Optional<ModerationTask> existing = moderationTaskRepository.findByTargetTypeAndTargetId(targetType, targetId);
+        if (status == ModerationStatus.PENDING) {
+            enqueue(targetType, targetId, existing);
+        } else {
+            existing.ifPresent(moderationTaskRepository::delete);
+        }
+    }
+    
+    private void enqueue(ModerationTargetType targetType, Long targetId, Optional<ModerationTask> existing) {
+        ModerationTask task = existing.orElseGet(() -> ModerationTask.builder()
+                .targetType(targetType)
+                .targetId(targetId)
+                .build());
+        if (task.getId() != null) {
+            task.setRevision(task.getRevision() + 1);
+            task.setAttempts(0);
+        }
+        task.setAvailableAt(LocalDateTime.now());
+        moderationTaskRepository.save(task);
+    }
+    
+    /**
+     * 처리할 항목을 가져와 임대 시간만큼 다른 워커에게 보이지 않게 함
+     * 대상이 이미 삭제된 항목은 바로 제거
+     */
+    @Transactional
+    public List<ClaimedTask> claim(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ModerationTask> tasks = moderationTaskRepository.findClaimable(now, PageRequest.of(0, batchSize));
+        List<ClaimedTask> claimed = new ArrayList<>();
+        
+        for (ModerationTask task : tasks) {
+            Optional<String> content = loadContent(task.getTargetType(), task.getTargetId());
+            if (content.isEmpty()) {
+                moderationTaskRepository.delete(task);
+                continue;
+            }
+            task.setAttempts(task.getAttempts() + 1);
+            task.setAvailableAt(now.plusNanos(leaseMs * 1_000_000L));
+            claimed.add(new ClaimedTask(task.getId(), task.getTargetType(), task.getTargetId(),
+                    task.getRevision(), task.getAttempts(), content.get()));
+        }
+        return claimed;
+    }
+    
+    /**
+     * 검증 결과 반영: APPROVE → APPROVED, REJECT → HIDDEN
+     * 결과가 없는 항목(REVIEW)은 재시도하고, 최대 시도 횟수를 넘으면 기존 동기 검증과 같이 통과 처리
+     */
+    @Transactional
+    public void complete(List<ClaimedTask> claimed, List<ModerationVerdict> verdicts) {
+        LocalDateTime retryAt = LocalDateTime.now().plusNanos(retryDelayMs * 1_000_000L);
+        
+        for (int i = 0; i < claimed.size(); i++) {
+            ClaimedTask item = claimed.get(i);
+            ModerationTask task = moderationTaskRepository.findForUpdate(item.taskId()).orElse(null);
+            if (task == null || !task.getRevision().equals(item.revision())) {
+                // 처리 중 내용이 수정됨: 새 revision으로 다시 검증하거나, 수정 시 바로 판정되어 항목이 삭제됨
+                continue;
+            }
+            
+            ModerationVerdict verdict = verdicts.get(i);
+            if (verdict == ModerationVerdict.REVIEW) {
+                if (item.attempts() < maxAttempts) {
+                    task.setAvailableAt(retryAt);
+                    continue;
+                }
+                log.warn("비동기 검증 최대 시도 횟수 초과로 통과 처리: type={}, id={}", item.targetType(), item.targetId());
+                contentValidationService.recordDecision("fallback", ModerationVerdict.APPROVE);
+                verdict = ModerationVerdict.APPROVE;
+            }
+            
+            ModerationStatus status = verdict == ModerationVerdict.REJECT ? ModerationStatus.HIDDEN : ModerationStatus.APPROVED;
+            updateStatus(item.targetType(), item.targetId(), status);
+            moderationTaskRepository.delete(task);
+            if (status == ModerationStatus.HIDDEN) {
+                log.info("비동기 검증 결과 숨김 처리: type={}, id={}", item.targetType(), item.targetId());
+            }
+        }
+    }
+    
+    /**
+     * GPT 호출 실패 시 재시도 시각 설정 (최대 시도 횟수를 넘으면 통과 처리)
+     */
+    @Transactional
+    public void retryLater(List<ClaimedTask> claimed) {
+        complete(claimed, claimed.stream().map(item -> ModerationVerdict.REVIEW).toList());
+    }
+    
+    private Optional<String> loadContent(ModerationTargetType targetType, Long targetId) {
+        return switch (targetType) {
+            case POST -> postRepository.findById(targetId).map(Post::getContent);
+            case COMMENT -> commentRepository.findById(targetId).map(Comment::getContent);
+        };
+    }
+    
+    private void updateStatus(ModerationTargetType targetType, Long targetId, ModerationStatus status) {
+        switch (targetType) {
+            case POST -> {
+                postRepository.updateModerationStatus(targetId, status);
+                // 카테고리를 다시 조회하지 않고 전체 목록 캐시 무효화 (게시글당 한 번뿐인 상태 변경)
+                eventPublisher.publishEvent(PostChangedEvent.listing(targetId, null));
+            }
+            case COMMENT -> {
+                commentRepository.updateModerationStatus(targetId, status);
+                if (status == ModerationStatus.APPROVED) {
+                    // 검증 대기 중이던 댓글은 승인되는 시점에 게시글 구독자에게 새 댓글로 알림
+                    commentRepository.findById(targetId)
+                            .map(comment -> comment.getPost().getId())
+                            .ifPresent(postId -> eventPublisher.publishEvent(PostActivityEvent.commentCreated(postId, targetId)));
+                }
+            }
+        }
+    }
+    
+    public record ClaimedTask(
+            Long taskId,
+            ModerationTargetType targetType,
+            Long targetId,
+            Integer revision,
+            Integer attempts,
+            String content
+    ) {
+    }
+}
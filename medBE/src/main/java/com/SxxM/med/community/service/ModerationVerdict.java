@@ -0,0 +1,11 @@
+package com.sxxm.med.community.service;
+
+/**
+ * 콘텐츠 검증 결과
+ * REVIEW: 로컬 사전만으로 판단하기 어려워 GPT 검토가 필요한 경우
+ */
+public enum ModerationVerdict {
+    APPROVE,
+    REJECT,
+    REVIEW
+}
@@ -0,0 +1,314 @@
+package com.sxxm.med.community.service;
+
+import com.sxxm.med.common.text.SimHash;
+import com.sxxm.med.community.entity.ModerationVerdictEntry;
+import com.sxxm.med.community.repository.ModerationVerdictEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 콘텐츠 검증 결과 캐시
+ * - 완전 중복: 정규화된 텍스트의 SHA-256으로 조회 (메모리 LRU → moderation_verdict_cache 테이블)
+ * - 근사 중복: 최근 거절된 글의 SimHash를 LSH 밴드 인덱스에 보관하고, 해밍 거리가 임계값 이내면 거절
+ * 승인 결과는 완전 중복에만 재사용 (스팸에 문구를 조금 덧붙여 승인 결과를 물려받는 것을 막기 위함)
+ * 메모리 LRU와 근사 중복 인덱스도 항목별 만료 시각(저장 시각 + ttl-days)을 보관해 DB와 같은 기간만 재사용
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ModerationVerdictCache {
+    
+    private static final int MAX_BANDS = 16;
+    
+    private final ModerationVerdictEntryRepository moderationVerdictEntryRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${content.moderation.verdict-cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${content.moderation.verdict-cache.memory-max-entries:5000}")
+    private int memoryMaxEntries;
+    
+    @Value("${content.moderation.verdict-cache.ttl-days:30}")
+    private int ttlDays;
+    
+    @Value("${content.moderation.near-duplicate.max-distance:8}")
+    private int maxDistance;
+    
+    @Value("${content.moderation.near-duplicate.min-length:20}")
+    private int minLength;
+    
+    @Value("${content.moderation.near-duplicate.index-size:10000}")
+    private int indexSize;
+    
+    private Map<String, CachedVerdict> memoryCache;
+    private NearDuplicateIndex rejectedIndex;
+    private TransactionTemplate writeTransaction;
+    
+    @PostConstruct
+    public void init() {
+        memoryCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedVerdict> eldest) {
+                return size() > memoryMaxEntries;
+            }
+        });
+        // 해밍 거리 d 이내의 두 지문은 d + 1개 밴드 중 적어도 하나가 완전히 같음 (비둘기집 원리)
+        rejectedIndex = new NearDuplicateIndex(Math.min(maxDistance + 1, MAX_BANDS), indexSize);
+        
+        writeTransaction = new TransactionTemplate(transactionManager);
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        
+        Gauge.builder("content.moderation.near.index.size", rejectedIndex, NearDuplicateIndex::size)
+                .description("근사 중복 인덱스에 보관 중인 거절 지문 수")
+                .register(meterRegistry);
+        
+        if (enabled) {
+            warmUp();
+        }
+    }
+    
+    /**
+     * 재시작 후에도 스팸 물결을 바로 막을 수 있도록 최근 거절 지문을 인덱스에 적재
+     */
+    private void warmUp() {
+        try {
+            List<ModerationVerdictEntry> recent = moderationVerdictEntryRepository.findByVerdictOrderByCreatedAtDesc(
+                    ModerationVerdict.REJECT.name(), PageRequest.of(0, indexSize));
+            long now = System.currentTimeMillis();
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                long expiresAt = expiresAt(recent.get(i));
+                if (expiresAt > now) {
+                    rejectedIndex.add(recent.get(i).getSimhash(), expiresAt);
+                }
+            }
+            log.info("콘텐츠 검증 캐시 초기화: 근사 중복 인덱스 적재 {}건, maxDistance={}, bands={}",
+                    recent.size(), maxDistance, rejectedIndex.bands);
+        } catch (Exception e) {
+            log.warn("근사 중복 인덱스 적재 실패 (빈 인덱스로 시작): 오류={}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 캐시된 검증 결과 조회
+     * 완전 중복이면 저장된 결과(APPROVE/REJECT), 최근 거절 글의 근사 중복이면 REJECT
+     */
+    public Optional<ModerationVerdict> lookup(ContentFingerprint fingerprint) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        
+        long now = System.currentTimeMillis();
+        CachedVerdict cached = memoryCache.get(fingerprint.contentHash());
+        if (cached != null && cached.expiresAt() <= now) {
+            memoryCache.remove(fingerprint.contentHash());
+            cached = null;
+        }
+        if (cached == null) {
+            try {
+                cached = moderationVerdictEntryRepository.findById(fingerprint.contentHash())
+                        .map(entry -> new CachedVerdict(entry.getVerdict(), expiresAt(entry)))
+                        .filter(entry -> entry.expiresAt() > now)
+                        .orElse(null);
+                if (cached != null) {
+                    memoryCache.put(fingerprint.contentHash(), cached);
+                }
+            } catch (Exception e) {
+                log.warn("콘텐츠 검증 캐시 DB 조회 실패 (캐시 미적중으로 처리): 오류={}", e.getMessage());
+            }
+        }
+        if (cached != null) {
+            counter("hit_exact").increment();
+            return Optional.of(ModerationVerdict.valueOf(cached.verdict()));
+        }
+        
+        if (fingerprint.normalizedLength() >= minLength && rejectedIndex.containsNear(fingerprint.simhash(), maxDistance, now)) {
+            counter("hit_near").increment();
+            return Optional.of(ModerationVerdict.REJECT);
+        }
+        
+        counter("miss").increment();
+        return Optional.empty();
+    }
+    
+    /**
+     * GPT 검증 결과 저장 (REVIEW, 오류로 인한 통과 결과는 저장하지 않음)
+     */
+    public void record(ContentFingerprint fingerprint, ModerationVerdict verdict) {
+        if (!enabled || verdict == ModerationVerdict.REVIEW) {
+            return;
+        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        long expiresAt = System.currentTimeMillis() + ttlMillis();
+        memoryCache.put(fingerprint.contentHash(), new CachedVerdict(verdict.name(), expiresAt));
+        if (verdict == ModerationVerdict.REJECT && fingerprint.normalizedLength() >= minLength) {
+            rejectedIndex.add(fingerprint.simhash(), expiresAt);
+        }
+        
+        try {
+            // 같은 글이 다시 저장되면 merge되므로 저장 시각을 직접 지정해 만료 기간을 갱신
+            writeTransaction.executeWithoutResult(status -> moderationVerdictEntryRepository.save(
+                    ModerationVerdictEntry.builder()
+                            .contentHash(fingerprint.contentHash())
+                            .simhash(fingerprint.simhash())
+                            .verdict(verdict.name())
+                            .createdAt(createdAt)
+                            .build()));
+        } catch (Exception e) {
+            log.warn("콘텐츠 검증 캐시 DB 저장 실패 (메모리 캐시만 사용): 오류={}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 오래된 검증 결과 정리 (정책/사전이 바뀌어도 영구히 재사용되지 않도록)
+     * DB 행과 함께 메모리 LRU와 근사 중복 인덱스에서도 만료된 항목 제거
+     */
+    @Scheduled(fixedDelayString = "${content.moderation.verdict-cache.purge-interval-ms:3600000}", initialDelay = 120000)
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (memoryCache) {
+            Iterator<CachedVerdict> iterator = memoryCache.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().expiresAt() <= now) {
+                    iterator.remove();
+                }
+            }
+        }
+        rejectedIndex.removeExpired(now);
+        
+        try {
+            Integer deleted = writeTransaction.execute(status ->
+                    moderationVerdictEntryRepository.deleteOlderThan(LocalDateTime.now().minusDays(ttlDays)));
+            if (deleted != null && deleted > 0) {
+                log.info("오래된 콘텐츠 검증 캐시 정리 완료: 삭제 개수={}", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("오래된 콘텐츠 검증 캐시 정리 실패: 오류={}", e.getMessage());
+        }
+    }
+    
+    private long ttlMillis() {
+        return ttlDays * 24L * 60 * 60 * 1000;
+    }
+    
+    private long expiresAt(ModerationVerdictEntry entry) {
+        if (entry.getCreatedAt() == null) {
+            return 0L; // 저장 시각을 모르는 행은 만료된 것으로 취급
+        }
+        return entry.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + ttlMillis();
+    }
+    
+    private record CachedVerdict(String verdict, long expiresAt) {
+    }
+    
+    private Counter counter(String result) {
+        return Counter.builder("content.moderation.verdict.cache")
+                .description("콘텐츠 검증 캐시 조회 결과 (hit_exact: 완전 중복, hit_near: 근사 중복 거절)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * SimHash LSH 인덱스: 64비트를 밴드로 나누고 밴드 값별 버킷에 지문을 보관
+     * 조회 시 밴드 하나라도 같은 후보만 해밍 거리를 계산하며, 가장 오래된 지문부터 밀어내 최근 indexSize개만 유지
+     * 만료된 지문은 조회에서 제외하고 purgeExpired 때 버킷에서 제거 (추가 순서 = 만료 순서)
+     */
+    private static final class NearDuplicateIndex {
+        
+        private final int bands;
+        private final int capacity;
+        private final List<Map<Long, List<IndexedFingerprint>>> buckets = new ArrayList<>();
+        private final Deque<IndexedFingerprint> recent = new ArrayDeque<>();
+        
+        private NearDuplicateIndex(int bands, int capacity) {
+            this.bands = bands;
+            this.capacity = capacity;
+            for (int i = 0; i < bands; i++) {
+                buckets.add(new HashMap<>());
+            }
+        }
+        
+        synchronized void add(long simhash, long expiresAt) {
+            if (capacity <= 0) {
+                return;
+            }
+            IndexedFingerprint fingerprint = new IndexedFingerprint(simhash, expiresAt);
+            recent.addLast(fingerprint);
+            for (int band = 0; band < bands; band++) {
+                buckets.get(band).computeIfAbsent(SimHash.band(simhash, band, bands), key -> new ArrayList<>()).add(fingerprint);
+            }
+            if (recent.size() > capacity) {
+                remove(recent.pollFirst());
+            }
+        }
+        
+        synchronized boolean containsNear(long simhash, int maxDistance, long now) {
+            for (int band = 0; band < bands; band++) {
+                List<IndexedFingerprint> bucket = buckets.get(band).get(SimHash.band(simhash, band, bands));
+                if (bucket == null) {
+                    continue;
+                }
+                for (IndexedFingerprint candidate : bucket) {
+                    if (candidate.expiresAt() > now && SimHash.distance(simhash, candidate.simhash()) <= maxDistance) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        
+        synchronized void removeExpired(long now) {
+            while (!recent.isEmpty() && recent.peekFirst().expiresAt() <= now) {
+                remove(recent.pollFirst());
+            }
+        }
+        
+        synchronized int size() {
+            return recent.size();
+        }
+        
+        private void remove(IndexedFingerprint fingerprint) {
+            for (int band = 0; band < bands; band++) {
+                long key = SimHash.band(fingerprint.simhash(), band, bands);
+                List<IndexedFingerprint> bucket = buckets.get(band).get(key);
+                if (bucket != null) {
+                    bucket.remove(fingerprint);
+                    if (bucket.isEmpty()) {
+                        buckets.get(band).remove(key);
+                    }
+                }
+            }
+        }
+        
+        private record IndexedFingerprint(long simhash, long expiresAt) {
+        }
+    }
+}
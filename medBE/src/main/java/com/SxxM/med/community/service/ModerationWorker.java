@@ -0,0 +1,96 @@
+package com.sxxm.med.community.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 비동기 검증 워커
+ * 대기열에서 여러 항목을 가져와 GPT 한 번으로 일괄 검증하고 결과를 반영
+ * 동시에 처리하는 배치 수는 content.moderation.worker.threads로 제한
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ModerationWorker {
+    
+    private final ModerationQueueService moderationQueueService;
+    private final ContentValidationService contentValidationService;
+    
+    @Qualifier("moderationExecutor")
+    private final TaskExecutor moderationExecutor;
+    
+    @Value("${content.moderation.worker.threads:2}")
+    private int threads;
+    
+    @Value("${content.moderation.worker.batch-size:10}")
+    private int batchSize;
+    
+    private Semaphore slots;
+    
+    @PostConstruct
+    public void init() {
+        slots = new Semaphore(threads);
+    }
+    
+    @Scheduled(fixedDelayString = "${content.moderation.worker.poll-interval-ms:2000}", initialDelay = 10000)
+    public void poll() {
+        if (!contentValidationService.isAsyncMode()) {
+            return;
+        }
+        
+        while (slots.tryAcquire()) {
+            List<ModerationQueueService.ClaimedTask> batch;
+            try {
+                batch = moderationQueueService.claim(batchSize);
+            } catch (Exception e) {
+                slots.release();
+                log.error("검증 대기열 조회 실패", e);
+                return;
+            }
+            if (batch.isEmpty()) {
+                slots.release();
+                return;
+            }
+            
+            try {
+                moderationExecutor.execute(() -> {
+                    try {
+                        process(batch);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                slots.release();
+                moderationQueueService.retryLater(batch);
+                return;
+            }
+        }
+    }
+    
+    private void process(List<ModerationQueueService.ClaimedTask> batch) {
+        try {
+            List<ModerationVerdict> verdicts = contentValidationService.reviewBatch(
+                    batch.stream().map(ModerationQueueService.ClaimedTask::content).toList());
+            moderationQueueService.complete(batch, verdicts);
+            log.debug("비동기 검증 배치 처리 완료: 항목 수={}", batch.size());
+        } catch (Exception e) {
+            log.warn("비동기 검증 배치 처리 실패 (재시도 예정): 항목 수={}, 오류={}", batch.size(), e.getMessage());
+            try {
+                moderationQueueService.retryLater(batch);
+            } catch (Exception retryError) {
+                log.error("검증 재시도 예약 실패 (임대 만료 후 재처리)", retryError);
+            }
+        }
+    }
+}
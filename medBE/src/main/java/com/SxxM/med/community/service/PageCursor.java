@@ -0,0 +1,35 @@
+package com.sxxm.med.community.service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 키셋 페이지네이션 커서 (마지막 항목의 created_at, id)
+ * 클라이언트에는 내용을 알 수 없는 토큰(Base64URL)으로만 전달
+ */
+record PageCursor(LocalDateTime createdAt, Long id) {
+    
+    static PageCursor after(LocalDateTime createdAt, Long id) {
+        return new PageCursor(createdAt, id);
+    }
+    
+    String encode() {
+        return CursorToken.encode(createdAt, id);
+    }
+    
+    /**
+     * @return 토큰이 비어 있으면 null (첫 페이지)
+     * @throws IllegalArgumentException 형식이 잘못된 토큰
+     */
+    static PageCursor decode(String token) {
+        String[] fields = CursorToken.decode(token, 2);
+        if (fields == null) {
+            return null;
+        }
+        try {
+            return new PageCursor(LocalDateTime.parse(fields[0]), Long.parseLong(fields[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw CursorToken.invalid(e);
+        }
+    }
+}
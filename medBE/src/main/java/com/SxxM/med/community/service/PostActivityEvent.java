@@ -0,0 +1,37 @@
+package com.sxxm.med.community.service;
+
+/**
+ * 게시글 구독자에게 실시간으로 보내는 활동 (SSE 이벤트 이름은 type 소문자)
+ * 노드 간 전달 시 JSON으로 NOTIFY 페이로드(최대 8000바이트)에 담기므로 ID와 숫자만 포함
+ * 새 댓글 내용은 클라이언트가 댓글 커서 API로 이어서 조회
+ *
+ * POST_CLOSED는 구독자에게 보내지 않고, 게시글이 숨겨지거나 삭제되어 노드마다 구독을 끊을 때만 사용
+ *
+ * @param commentId COMMENT_CREATED, COMMENT_LIKE에서만 사용
+ * @param likeCount POST_LIKE, COMMENT_LIKE에서만 사용
+ */
+public record PostActivityEvent(Type type, Long postId, Long commentId, Long likeCount) {
+    
+    public enum Type {
+        COMMENT_CREATED,
+        POST_LIKE,
+        COMMENT_LIKE,
+        POST_CLOSED
+    }
+    
+    public static PostActivityEvent commentCreated(Long postId, Long commentId) {
+        return new PostActivityEvent(Type.COMMENT_CREATED, postId, commentId, null);
+    }
+    
+    public static PostActivityEvent postLike(Long postId, Long likeCount) {
+        return new PostActivityEvent(Type.POST_LIKE, postId, null, likeCount);
+    }
+    
+    public static PostActivityEvent commentLike(Long postId, Long commentId, Long likeCount) {
+        return new PostActivityEvent(Type.COMMENT_LIKE, postId, commentId, likeCount);
+    }
+    
+    public static PostActivityEvent postClosed(Long postId) {
+        return new PostActivityEvent(Type.POST_CLOSED, postId, null, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.sxxm.med.community.service;
+
+/**
+ * 게시글 목록에 영향을 주는 변경 (커밋 후 HotPageCache 무효화에 사용)
+ *
+ * @param category 변경된 게시글의 카테고리 (모르면 null: 모든 카테고리 무효화)
+ */
+public record PostChangedEvent(Long postId, Change change, String category) {
+    
+    public enum Change {
+        // 좋아요 수만 바뀜: 해당 게시글이 들어 있는 페이지만 무효화
+        LIKE,
+        // 작성/수정/삭제/검증 상태 변경: 목록 구성과 순서가 바뀔 수 있으므로 카테고리 전체 페이지 무효화
+        LISTING
+    }
+    
+    public static PostChangedEvent like(Long postId) {
+        return new PostChangedEvent(postId, Change.LIKE, null);
+    }
+    
+    public static PostChangedEvent listing(Long postId, String category) {
+        return new PostChangedEvent(postId, Change.LISTING, category);
+    }
+}
@@ -0,0 +1,306 @@
+package com.sxxm.med.community.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 게시글별 실시간 이벤트 구독 관리 (이 노드에 연결된 SSE 구독자만)
+ * 구독자마다 크기가 정해진 버퍼를 두고 postEventExecutor에서 순서대로 전송하며,
+ * 버퍼가 가득 찰 만큼 받지 못하는 구독자는 연결을 끊어 다른 구독자와 발행 쪽이 기다리지 않도록 함
+ * 전송(블로킹 쓰기) 하나가 send-timeout-ms를 넘기면 연결을 끊고 전송 스레드를 인터럽트해 풀 스레드가 묶이지 않도록 함
+ * 끊긴 클라이언트는 다시 구독한 뒤 댓글 커서 API로 놓친 댓글을 조회
+ * 구독 후 게시글이 숨겨지거나 삭제되면 PostEventRelay가 closeTopic으로 해당 게시글 구독을 모두 끊음
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostEventHub {
+    
+    @Qualifier("postEventExecutor")
+    private final TaskExecutor postEventExecutor;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${community.realtime.timeout-ms:1800000}")
+    private long timeoutMs;
+    
+    @Value("${community.realtime.max-connections:2000}")
+    private int maxConnections;
+    
+    @Value("${community.realtime.buffer-size:32}")
+    private int bufferSize;
+    
+    @Value("${community.realtime.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+    
+    private final Map<Long, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    
+    @PostConstruct
+    public void init() {
+        Gauge.builder("community.realtime.connections", connections, AtomicInteger::get)
+                .description("게시글 실시간 이벤트 구독 연결 수")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 게시글 이벤트 구독
+     *
+     * @throws IllegalStateException 이 노드의 구독 연결 수가 최대치인 경우
+     */
+    public SseEmitter subscribe(Long postId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            counter("rejected").increment();
+            throw new IllegalStateException("실시간 구독 연결 수가 최대치에 도달했습니다");
+        }
+        
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(postId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        topics.compute(postId, (id, subscribers) -> {
+            Set<Subscriber> target = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(subscriber));
+        
+        // 연결 직후 응답 헤더가 바로 전달되도록 첫 이벤트 전송
+        enqueue(subscriber, new Outgoing("connected", Map.of("postId", postId)));
+        return emitter;
+    }
+    
+    /**
+     * 이 노드의 게시글 구독자에게 이벤트 전달 (버퍼에 넣기만 하고 바로 반환)
+     */
+    public void deliver(PostActivityEvent event) {
+        Set<Subscriber> subscribers = topics.get(event.postId());
+        if (subscribers == null) {
+            return;
+        }
+        Outgoing outgoing = new Outgoing(event.type().name().toLowerCase(), event);
+        for (Subscriber subscriber : subscribers) {
+            if (enqueue(subscriber, outgoing)) {
+                counter("delivered").increment();
+            }
+        }
+    }
+    
+    /**
+     * 게시글의 모든 구독 종료 (게시글을 더 이상 볼 수 없게 된 경우)
+     * 버퍼에 남은 이벤트는 보내지 않음
+     */
+    public void closeTopic(Long postId) {
+        Set<Subscriber> subscribers = topics.get(postId);
+        if (subscribers == null) {
+            return;
+        }
+        int closed = 0;
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.closed.get()) {
+                evict(subscriber);
+                closed++;
+            }
+        }
+        if (closed > 0) {
+            log.info("볼 수 없게 된 게시글의 실시간 구독 종료: postId={}, 구독자={}", postId, closed);
+        }
+    }
+    
+    public boolean hasSubscribers(Long postId) {
+        return topics.containsKey(postId);
+    }
+    
+    /**
+     * 프록시(nginx proxy_read_timeout 60s)가 유휴 연결을 끊지 않도록 주석 이벤트 전송
+     * 끊긴 연결은 이 전송에서 오류가 나면서 정리됨
+     */
+    @Scheduled(fixedDelayString = "${community.realtime.heartbeat-ms:25000}", initialDelay = 25000)
+    public void heartbeat() {
+        for (Set<Subscriber> subscribers : topics.values()) {
+            for (Subscriber subscriber : subscribers) {
+                enqueue(subscriber, Outgoing.HEARTBEAT);
+            }
+        }
+    }
+    
+    /**
+     * 전송 하나가 send-timeout-ms를 넘긴 구독자 연결 종료
+     * 클라이언트가 받지 않아 TCP 윈도가 닫히면 쓰기가 소켓 쓰기 타임아웃까지 막히므로,
+     * 그동안 전송 풀 스레드가 모두 묶여 다른 구독자에게 보내지 못하는 것을 막음
+     */
+    @Scheduled(fixedDelayString = "${community.realtime.send-check-ms:1000}", initialDelay = 1000)
+    public void evictStalledSenders() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (Set<Subscriber> subscribers : topics.values()) {
+            for (Subscriber subscriber : subscribers) {
+                long startedAt = subscriber.sendStartedAt;
+                if (startedAt != 0 && now - startedAt > timeoutNanos) {
+                    log.info("전송이 멈춘 구독자 연결 종료: postId={}, 전송 시간={}ms", subscriber.postId,
+                            TimeUnit.NANOSECONDS.toMillis(now - startedAt));
+                    counter("stalled").increment();
+                    evict(subscriber);
+                }
+            }
+        }
+    }
+    
+    /**
+     * @return 이미 끊긴 구독자이거나 버퍼가 가득 차서 끊은 경우 false
+     */
+    private boolean enqueue(Subscriber subscriber, Outgoing outgoing) {
+        if (subscriber.closed.get()) {
+            return false;
+        }
+        if (!subscriber.buffer.offer(outgoing)) {
+            log.info("실시간 이벤트를 받지 못하는 구독자 연결 종료: postId={}, 버퍼 크기={}", subscriber.postId, bufferSize);
+            counter("evicted").increment();
+            evict(subscriber);
+            return false;
+        }
+        scheduleDrain(subscriber);
+        return true;
+    }
+    
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return; // 이미 전송 중인 작업이 버퍼를 비움
+        }
+        try {
+            postEventExecutor.execute(() -> drain(subscriber));
+        } catch (TaskRejectedException e) {
+            // 버퍼에 남은 이벤트는 다음 이벤트나 heartbeat 때 다시 전송 시도
+            subscriber.draining.set(false);
+            log.warn("실시간 이벤트 전송 작업 거절 (작업 풀 포화): postId={}", subscriber.postId);
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        subscriber.attachSender(Thread.currentThread());
+        try {
+            Outgoing outgoing;
+            while (!subscriber.closed.get() && (outgoing = subscriber.buffer.poll()) != null) {
+                subscriber.sendStartedAt = System.nanoTime();
+                subscriber.emitter.send(outgoing.toEvent());
+                subscriber.sendStartedAt = 0;
+            }
+        } catch (Exception e) {
+            // 클라이언트 연결 종료
+            log.debug("실시간 이벤트 전송 실패, 구독 해제: postId={}, 오류={}", subscriber.postId, e.getMessage());
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.sendStartedAt = 0;
+            subscriber.detachSender();
+            subscriber.draining.set(false);
+        }
+        // 버퍼를 비운 뒤 draining을 내리기 전에 들어온 이벤트 처리
+        if (!subscriber.closed.get() && !subscriber.buffer.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+    
+    /**
+     * 구독 종료 (버퍼 초과, 전송 멈춤, 게시글 비공개)
+     * complete()만으로는 이미 막혀 있는 쓰기가 풀리지 않으므로 전송 중인 스레드를 인터럽트
+     */
+    private void evict(Subscriber subscriber) {
+        remove(subscriber);
+        subscriber.interruptSender();
+        subscriber.emitter.complete();
+    }
+    
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.decrementAndGet();
+        topics.computeIfPresent(subscriber.postId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        subscriber.buffer.clear();
+    }
+    
+    private Counter counter(String result) {
+        return Counter.builder("community.realtime.events")
+                .description("게시글 실시간 이벤트 처리 결과 (delivered: 구독자 버퍼에 추가, evicted: 버퍼가 가득 찬 구독자 연결 종료, stalled: 전송이 멈춘 구독자 연결 종료, rejected: 최대 연결 수 초과)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    private static final class Subscriber {
+        
+        private final Long postId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Outgoing> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // 진행 중인 전송의 시작 시각 (System.nanoTime, 0이면 전송 중 아님)
+        private volatile long sendStartedAt;
+        // 버퍼를 비우는 중인 스레드 (this로 보호)
+        private Thread sender;
+        
+        private Subscriber(Long postId, SseEmitter emitter, BlockingQueue<Outgoing> buffer) {
+            this.postId = postId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+        
+        private synchronized void attachSender(Thread thread) {
+            sender = thread;
+        }
+        
+        private void detachSender() {
+            synchronized (this) {
+                sender = null;
+            }
+            // 이 구독자 때문에 받은 인터럽트가 같은 풀 스레드의 다음 작업에 남지 않도록 지움
+            Thread.interrupted();
+        }
+        
+        private synchronized void interruptSender() {
+            if (sender != null) {
+                sender.interrupt();
+            }
+        }
+    }
+    
+    /**
+     * @param name null이면 heartbeat 주석
+     */
+    private record Outgoing(String name, Object data) {
+        
+        private static final Outgoing HEARTBEAT = new Outgoing(null, null);
+        
+        private SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.sxxm.med.community.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sxxm.med.community.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * 게시글 실시간 이벤트를 모든 노드의 구독자에게 전달
+ * 커밋 후 이 노드의 구독자에게 바로 전달하고, Postgres NOTIFY로 다른 노드에 알림
+ * 각 노드는 전용 연결 하나로 LISTEN하며, 자기가 보낸 알림은 이미 전달했으므로 무시
+ * PostgreSQL이 아니거나(H2 테스트) community.realtime.notify.enabled=false면 이 노드 안에서만 전달
+ * 구독 권한은 구독 시점에만 확인하므로, 게시글이 숨겨지거나 삭제되면 모든 노드에서 해당 게시글 구독을 끊음
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostEventRelay {
+    
+    private final PostEventHub postEventHub;
+    private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    @Qualifier("postEventNotifyExecutor")
+    private final TaskExecutor postEventNotifyExecutor;
+    
+    @Value("${community.realtime.notify.enabled:true}")
+    private boolean notifyEnabled;
+    
+    @Value("${community.realtime.notify.channel:post_activity}")
+    private String channel;
+    
+    @Value("${community.realtime.notify.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+    
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+    
+    @Value("${spring.datasource.username:}")
+    private String datasourceUsername;
+    
+    @Value("${spring.datasource.password:}")
+    private String datasourcePassword;
+    
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread listener;
+    
+    @PostConstruct
+    public void init() {
+        if (!notifyEnabled) {
+            return;
+        }
+        if (!datasourceUrl.startsWith("jdbc:postgresql:")) {
+            log.info("PostgreSQL이 아니므로 실시간 이벤트를 이 노드 안에서만 전달합니다: url={}", datasourceUrl);
+            notifyEnabled = false;
+            return;
+        }
+        // LISTEN은 채널 이름을 바인딩할 수 없으므로 식별자 형식만 허용
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            log.error("잘못된 실시간 이벤트 채널 이름, 이 노드 안에서만 전달합니다: channel={}", channel);
+            notifyEnabled = false;
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "post-event-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostActivity(PostActivityEvent event) {
+        postEventHub.deliver(event);
+        notifyOtherNodes(event);
+    }
+    
+    /**
+     * 게시글 수정/삭제/검증 상태 변경 후 비로그인 사용자가 볼 수 없게 되었으면(숨김, 삭제, 재검증 대기) 구독 종료
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.change() != PostChangedEvent.Change.LISTING) {
+            return;
+        }
+        // 단일 노드에서 구독자가 없으면 조회할 필요 없음
+        if (!notifyEnabled && !postEventHub.hasSubscribers(event.postId())) {
+            return;
+        }
+        try {
+            if (postRepository.isVisible(event.postId(), null)) {
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("게시글 공개 여부 확인 실패 (실시간 구독 유지): postId={}, 오류={}", event.postId(), e.getMessage());
+            return;
+        }
+        postEventHub.closeTopic(event.postId());
+        notifyOtherNodes(PostActivityEvent.postClosed(event.postId()));
+    }
+    
+    private void notifyOtherNodes(PostActivityEvent event) {
+        if (!notifyEnabled) {
+            return;
+        }
+        // 커밋 직후의 트랜잭션 동기화 구간에서는 같은 연결이 다시 커밋되지 않으므로 별도 스레드/연결에서 NOTIFY
+        // 구독자 전송 풀과 분리해 느린 구독자에게 쓰기가 막혀도 다른 노드로의 전달은 밀리지 않음
+        try {
+            postEventNotifyExecutor.execute(() -> publish(event));
+        } catch (TaskRejectedException e) {
+            log.warn("실시간 이벤트 NOTIFY 작업 거절 (작업 풀 포화): postId={}, type={}", event.postId(), event.type());
+        }
+    }
+    
+    private void publish(PostActivityEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(new Envelope(nodeId, event));
+            jdbcTemplate.queryForObject("select pg_notify(?, ?)", Object.class, channel, payload);
+        } catch (Exception e) {
+            log.warn("실시간 이벤트 NOTIFY 실패 (다른 노드 구독자에게 전달되지 않음): postId={}, 오류={}", event.postId(), e.getMessage());
+        }
+    }
+    
+    /**
+     * 커넥션 풀의 연결을 계속 점유하지 않도록 LISTEN 전용 연결을 따로 열고, 끊기면 다시 연결
+     * 다시 연결하는 동안 다른 노드에서 온 이벤트는 유실될 수 있음 (클라이언트가 재구독 시 다시 조회)
+     */
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(datasourceUrl, datasourceUsername, datasourcePassword);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("실시간 이벤트 LISTEN 시작: channel={}", channel);
+                
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(5000);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("실시간 이벤트 LISTEN 연결 실패, {}ms 후 재연결: 오류={}", reconnectDelayMs, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+    
+    private void receive(String payload) {
+        try {
+            Envelope envelope = objectMapper.readValue(payload, Envelope.class);
+            if (nodeId.equals(envelope.origin())) {
+                return;
+            }
+            PostActivityEvent event = envelope.event();
+            if (event.type() == PostActivityEvent.Type.POST_CLOSED) {
+                postEventHub.closeTopic(event.postId());
+            } else {
+                postEventHub.deliver(event);
+            }
+        } catch (Exception e) {
+            log.warn("실시간 이벤트 알림 처리 실패: payload={}, 오류={}", payload, e.getMessage());
+        }
+    }
+    
+    /**
+     * NOTIFY 페이로드 (8000바이트 제한이므로 ID와 숫자만)
+     *
+     * @param origin 알림을 보낸 노드 (자기 알림 중복 전달 방지)
+     */
+    record Envelope(String origin, PostActivityEvent event) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.sxxm.med.community.service;
+
+import java.util.regex.Pattern;
+
+/**
+ * 목록용 본문 요약 (posts.excerpt)
+ * HTML 태그와 마크다운 기호를 걷어내고 공백을 정리한 뒤 앞 MAX_LENGTH자만 남김 (잘린 경우 말줄임표 포함)
+ * 기존 행 채우기는 schema.sql의 같은 규칙 UPDATE 문 사용
+ */
+public final class PostExcerpt {
+    
+    public static final int MAX_LENGTH = 200;
+    
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern MARKDOWN_IMAGE = Pattern.compile("!\\[[^\\]]*]\\([^)]*\\)");
+    private static final Pattern MARKDOWN_LINK = Pattern.compile("\\[([^\\]]*)]\\([^)]*\\)");
+    // 줄 앞의 제목(#), 인용(>), 목록(-, *, +) 기호
+    private static final Pattern LINE_MARKER = Pattern.compile("(?m)^\\s*(#{1,6}|>+|[-*+])\\s+");
+    private static final Pattern EMPHASIS = Pattern.compile("[*_`~]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    private PostExcerpt() {
+    }
+    
+    public static String of(String content) {
+        if (content == null || content.isEmpty()) {
+            return "";
+        }
+        String text = HTML_TAG.matcher(content).replaceAll(" ");
+        text = MARKDOWN_IMAGE.matcher(text).replaceAll(" ");
+        text = MARKDOWN_LINK.matcher(text).replaceAll("$1");
+        text = LINE_MARKER.matcher(text).replaceAll("");
+        text = EMPHASIS.matcher(text).replaceAll("");
+        text = WHITESPACE.matcher(text).replaceAll(" ").trim();
+        
+        if (text.length() <= MAX_LENGTH) {
+            return text;
+        }
+        int end = MAX_LENGTH - 1;
+        // 서로게이트 쌍(이모지 등) 중간에서 자르지 않음
+        if (Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end).trim() + "…";
+    }
+}
@@ -0,0 +1,188 @@
+package com.sxxm.med.community.service;
+
+import com.sxxm.med.community.dto.CursorPageResponse;
+import com.sxxm.med.community.dto.PostSearchResponse;
+import com.sxxm.med.community.entity.Post;
+import com.sxxm.med.community.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 게시글 검색 (제목/본문 2-gram tsvector + GIN 인덱스, ts_rank 점수순, 키셋 페이지네이션)
+ * 검색 벡터는 DB 트리거가 관리하므로 엔티티/저장 로직은 변경 없음
+ * 기본은 일치하는 모든 게시글이 대상이며, maxCandidates를 설정하면 최신 maxCandidates건 안에서만 점수 계산
+ * (그 경우 더 오래된 일치 게시글은 다음 페이지로도 나오지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class PostSearchService {
+    
+    private static final int MAX_PAGE_SIZE = 50;
+    
+    private final PostRepository postRepository;
+    private final LikeService likeService;
+    
+    @Value("${community.search.max-keyword-length:100}")
+    private int maxKeywordLength;
+    
+    @Value("${community.search.snippet-length:120}")
+    private int snippetLength;
+    
+    // 0이면 제한 없음
+    @Value("${community.search.max-candidates:0}")
+    private int maxCandidates;
+    
+    /**
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @throws IllegalArgumentException 검색어가 비었거나 너무 긴 경우, 잘못된 커서
+     */
+    public CursorPageResponse<PostSearchResponse> search(String keyword, String cursor, int size, Long userId) {
+        List<String> terms = terms(keyword);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("검색어를 입력해주세요");
+        }
+        if (keyword.length() > maxKeywordLength) {
+            throw new IllegalArgumentException("검색어는 " + maxKeywordLength + "자 이하로 입력해주세요");
+        }
+        SearchCursor after = SearchCursor.decode(cursor);
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        
+        // 다음 페이지 존재 여부 확인용으로 한 건 더 조회
+        List<PostRepository.SearchHit> hits = maxCandidates > 0
+                ? (after == null
+                        ? postRepository.searchRecent(keyword, maxCandidates, limit + 1)
+                        : postRepository.searchRecentAfter(keyword, maxCandidates, after.score(), after.id(), limit + 1))
+                : (after == null
+                        ? postRepository.search(keyword, limit + 1)
+                        : postRepository.searchAfter(keyword, after.score(), after.id(), limit + 1));
+        boolean hasNext = hits.size() > limit;
+        List<PostRepository.SearchHit> page = hasNext ? hits.subList(0, limit) : hits;
+        
+        List<Long> ids = page.stream().map(PostRepository.SearchHit::getId).toList();
+        Map<Long, Post> posts = postRepository.findWithAuthorByIdIn(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        LikedIds likedIds = likeService.getLikedPostIds(ids, userId);
+        
+        List<PostSearchResponse> items = new ArrayList<>();
+        for (Long id : ids) {
+            Post post = posts.get(id);
+            if (post != null) {
+                items.add(toResponse(post, terms, likedIds));
+            }
+        }
+        PostRepository.SearchHit last = page.isEmpty() ? null : page.get(page.size() - 1);
+        
+        return CursorPageResponse.<PostSearchResponse>builder()
+                .items(items)
+                .nextCursor(hasNext ? new SearchCursor(last.getScore(), last.getId()).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+    
+    private PostSearchResponse toResponse(Post post, List<String> terms, LikedIds likedIds) {
+        String content = post.getContent() != null ? post.getContent() : "";
+        int start = snippetStart(content, terms);
+        int end = Math.min(content.length(), start + snippetLength);
+        String snippet = content.substring(start, end).replaceAll("\\s+", " ");
+        String prefix = start > 0 ? "…" : "";
+        String suffix = end < content.length() ? "…" : "";
+        snippet = prefix + snippet + suffix;
+        
+        return PostSearchResponse.builder()
+                .id(post.getId())
+                .authorId(post.getAuthor().getId())
+                .authorNickname(post.getAuthor().getNickname())
+                .title(post.getTitle())
+                .titleHighlights(highlights(post.getTitle(), terms))
+                .snippet(snippet)
+                // 공백 정리와 말줄임표로 위치가 바뀌므로 최종 발췌 기준으로 계산
+                .snippetHighlights(highlights(snippet, terms))
+                .category(post.getCategory())
+                .likeCount(post.getLikeCount())
+                .isLiked(likedIds.contains(post.getId()))
+                .createdAt(post.getCreatedAt())
+                .build();
+    }
+    
+    /**
+     * 검색어 단어 (DB의 med_search_bigrams와 같은 기준으로 분리)
+     */
+    private List<String> terms(String keyword) {
+        if (keyword == null) {
+            return List.of();
+        }
+        return Arrays.stream(keyword.toLowerCase(Locale.ROOT).split("[^0-9a-z가-힣]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toList();
+    }
+    
+    // 가장 먼저 나오는 검색어 앞쪽 일부를 포함하도록 발췌 시작 위치 결정
+    private int snippetStart(String content, List<String> terms) {
+        int first = -1;
+        for (String term : terms) {
+            int index = indexOfIgnoreCase(content, term, 0);
+            if (index >= 0 && (first < 0 || index < first)) {
+                first = index;
+            }
+        }
+        if (first < 0) {
+            return 0;
+        }
+        int start = Math.max(0, first - snippetLength / 4);
+        return Math.max(0, Math.min(start, content.length() - snippetLength));
+    }
+    
+    /**
+     * 검색어가 나오는 구간 (겹치거나 붙은 구간은 합침)
+     */
+    private List<PostSearchResponse.Highlight> highlights(String text, List<String> terms) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        boolean[] marked = new boolean[text.length()];
+        for (String term : terms) {
+            int index = indexOfIgnoreCase(text, term, 0);
+            while (index >= 0) {
+                Arrays.fill(marked, index, index + term.length(), true);
+                index = indexOfIgnoreCase(text, term, index + term.length());
+            }
+        }
+        List<PostSearchResponse.Highlight> ranges = new ArrayList<>();
+        int i = 0;
+        while (i < marked.length) {
+            if (!marked[i]) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < marked.length && marked[i]) {
+                i++;
+            }
+            ranges.add(new PostSearchResponse.Highlight(start, i));
+        }
+        return ranges;
+    }
+    
+    private int indexOfIgnoreCase(String text, String term, int from) {
+        for (int i = from; i <= text.length() - term.length(); i++) {
+            if (text.regionMatches(true, i, term, 0, term.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
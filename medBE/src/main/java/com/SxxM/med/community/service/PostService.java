@@ -3,15 +3,17 @@ package com.sxxm.med.community.service;
 import com.sxxm.med.auth.entity.User;
 import com.sxxm.med.auth.repository.UserRepository;
 import com.sxxm.med.community.dto.*;
-import com.sxxm.med.community.entity.Comment;
+import com.sxxm.med.community.entity.ModerationStatus;
+import com.sxxm.med.community.entity.ModerationTargetType;
 import com.sxxm.med.community.entity.Post;
-import com.sxxm.med.community.repository.CommentLikeRepository;
-import com.sxxm.med.community.repository.CommentRepository;
-import com.sxxm.med.community.repository.PostLikeRepository;
 import com.sxxm.med.community.repository.PostRepository;
+import com.sxxm.med.community.repository.PostSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,90 +26,139 @@ import java.util.List;
 @Transactional
 public class PostService {
     
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    
     private final PostRepository postRepository;
     private final UserRepository userRepository;
-    private final PostLikeRepository postLikeRepository;
-    private final CommentRepository commentRepository;
-    private final CommentLikeRepository commentLikeRepository;
+    private final CommentService commentService;
+    private final LikeService likeService;
     private final ContentValidationService contentValidationService;
+    private final ModerationQueueService moderationQueueService;
+    private final HotPageCache hotPageCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     public PostResponse createPost(String username, PostCreateRequest request) {
         User author = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다"));
         
-        // 콘텐츠 검증
-        if (!contentValidationService.validateContent(request.getContent())) {
-            throw new RuntimeException("부적절한 내용이 포함되어 있습니다");
-        }
+        // 콘텐츠 검증 (비동기 모드에서는 PENDING으로 저장 후 워커가 검증)
+        ModerationStatus moderationStatus = contentValidationService.moderateOnWrite(request.getContent());
         
         Post post = Post.builder()
                 .author(author)
                 .title(request.getTitle())
                 .content(request.getContent())
+                .excerpt(PostExcerpt.of(request.getContent()))
                 .category(request.getCategory() != null ? request.getCategory() : "자유게시판")
+                .moderationStatus(moderationStatus)
+                .contentSimhash(ContentFingerprint.of(request.getContent()).simhash())
                 .build();
         
         Post saved = postRepository.save(post);
-        return toResponse(saved, null);
+        moderationQueueService.enqueueIfPending(ModerationTargetType.POST, saved.getId(), moderationStatus);
+        if (moderationStatus == ModerationStatus.APPROVED) {
+            eventPublisher.publishEvent(PostChangedEvent.listing(saved.getId(), saved.getCategory()));
+        }
+        return toResponse(saved, LikedIds.NONE);
     }
     
     public PostResponse getPost(Long postId, Long userId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다"));
-        return toResponse(post, userId);
+        Post post = findVisiblePost(postId, userId);
+        return toResponse(post, likeService.getLikedPostIds(List.of(postId), userId));
     }
     
-    public PostDetailResponse getPostWithComments(Long postId, Long userId, boolean withComments) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다"));
+    /**
+     * 게시글 상세 + 댓글 첫 페이지 (나머지는 commentsNextCursor로 /api/comments/post/{postId}/feed 조회)
+     * 댓글 수와 관계없이 쿼리 4회: 게시글+작성자, 게시글 좋아요 여부, 댓글+작성자, 댓글 좋아요 여부
+     */
+    public PostDetailResponse getPostWithComments(Long postId, Long userId, int commentSize) {
+        Post post = findVisiblePost(postId, userId);
+        LikedIds likedPost = likeService.getLikedPostIds(List.of(postId), userId);
+        CursorPageResponse<CommentResponse> comments =
+                commentService.getCommentPage(postId, null, commentSize, userId);
         
-        PostDetailResponse.PostDetailResponseBuilder builder = PostDetailResponse.builder()
+        return PostDetailResponse.builder()
                 .id(post.getId())
                 .authorId(post.getAuthor().getId())
                 .authorNickname(post.getAuthor().getNickname())
                 .title(post.getTitle())
                 .content(post.getContent())
                 .category(post.getCategory())
-                .likeCount(postLikeRepository.countByPostId(postId))
-                .isLiked(userId != null && postLikeRepository.existsByPostIdAndUserId(postId, userId))
+                .likeCount(post.getLikeCount())
+                .isLiked(likedPost.contains(postId))
+                .moderationStatus(post.getModerationStatus())
                 .createdAt(post.getCreatedAt())
-                .updatedAt(post.getUpdatedAt());
-        
-        if (withComments) {
-            List<Comment> comments = commentRepository.findByPostIdOrderByCreatedAtAsc(postId);
-            List<CommentResponse> commentResponses = comments.stream()
-                    .map(comment -> toCommentResponse(comment, userId))
-                    .collect(java.util.stream.Collectors.toList());
-            builder.comments(commentResponses);
-        }
-        
-        return builder.build();
-    }
-    
-    private CommentResponse toCommentResponse(Comment comment, Long userId) {
-        Long likeCount = commentLikeRepository.countByCommentId(comment.getId());
-        Boolean isLiked = userId != null && commentLikeRepository.existsByCommentIdAndUserId(comment.getId(), userId);
-        
-        return CommentResponse.builder()
-                .id(comment.getId())
-                .postId(comment.getPost().getId())
-                .authorId(comment.getAuthor().getId())
-                .authorNickname(comment.getAuthor().getNickname())
-                .content(comment.getContent())
-                .likeCount(likeCount)
-                .isLiked(isLiked)
-                .createdAt(comment.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .comments(comments.getItems())
+                .commentsNextCursor(comments.getNextCursor())
+                .commentsHasNext(comments.getHasNext())
                 .build();
     }
     
     public Page<PostResponse> getAllPosts(Pageable pageable, String category, Long userId) {
-        Page<Post> posts;
-        if (category != null && !category.isEmpty()) {
-            posts = postRepository.findByCategory(category, pageable);
+        String categoryFilter = category != null && !category.isEmpty() ? category : null;
+        
+        // 앞쪽 페이지는 조회자와 무관한 부분을 캐시에서 가져오고 좋아요 여부만 사용자별로 조회
+        HotPageCache.Key key = hotPageCache.keyOf(categoryFilter, pageable);
+        HotPageCache.CachedPage page = key != null ? hotPageCache.get(key) : null;
+        if (page == null) {
+            long readVersion = hotPageCache.version();
+            Page<PostSummary> posts = categoryFilter != null
+                    ? postRepository.findSummariesByCategory(categoryFilter, ModerationStatus.APPROVED, pageable)
+                    : postRepository.findSummaries(ModerationStatus.APPROVED, pageable);
+            List<PostResponse> summaries = posts.getContent().stream()
+                    .map(post -> toResponse(post, LikedIds.NONE))
+                    .toList();
+            page = key != null
+                    ? hotPageCache.put(key, summaries, posts.getTotalElements(), readVersion)
+                    : new HotPageCache.CachedPage(summaries, posts.getTotalElements(), 0);
+        }
+        
+        // 좋아요 수는 like_count 컬럼, 좋아요 여부는 페이지 전체를 한 번에 조회
+        LikedIds likedIds = likeService.getLikedPostIds(
+                page.posts().stream().map(PostResponse::getId).toList(), userId);
+        List<PostResponse> content = page.posts().stream()
+                .map(post -> withLiked(post, likedIds))
+                .toList();
+        return new PageImpl<>(content, pageable, page.totalElements());
+    }
+    
+    /**
+     * 커서 기반 게시글 목록 (최신순, 개수 조회 없음)
+     * 페이지 깊이와 관계없이 (created_at, id) 인덱스 탐색 한 번으로 조회
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @throws IllegalArgumentException 잘못된 커서
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PostResponse> getFeed(String category, String cursor, int size, Long userId) {
+        PageCursor after = PageCursor.decode(cursor);
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        // 다음 페이지 존재 여부 확인용으로 한 건 더 조회
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        boolean byCategory = category != null && !category.isEmpty();
+        
+        List<PostSummary> posts;
+        if (after == null) {
+            posts = byCategory
+                    ? postRepository.findFeedByCategory(category, ModerationStatus.APPROVED, pageable)
+                    : postRepository.findFeed(ModerationStatus.APPROVED, pageable);
         } else {
-            posts = postRepository.findAll(pageable);
+            posts = byCategory
+                    ? postRepository.findFeedAfterByCategory(category, ModerationStatus.APPROVED, after.createdAt(), after.id(), pageable)
+                    : postRepository.findFeedAfter(ModerationStatus.APPROVED, after.createdAt(), after.id(), pageable);
         }
-        return posts.map(post -> toResponse(post, userId));
+        
+        boolean hasNext = posts.size() > limit;
+        List<PostSummary> page = hasNext ? posts.subList(0, limit) : posts;
+        LikedIds likedIds = likeService.getLikedPostIds(page.stream().map(PostSummary::id).toList(), userId);
+        PostSummary last = page.isEmpty() ? null : page.get(page.size() - 1);
+        
+        return CursorPageResponse.<PostResponse>builder()
+                .items(page.stream().map(post -> toResponse(post, likedIds)).toList())
+                .nextCursor(hasNext ? PageCursor.after(last.createdAt(), last.id()).encode() : null)
+                .hasNext(hasNext)
+                .build();
     }
     
     public PostResponse updatePost(Long postId, String username, PostUpdateRequest request) {
@@ -120,20 +171,26 @@ public class PostService {
         }
         
         // 콘텐츠 검증
-        if (!contentValidationService.validateContent(request.getContent())) {
-            throw new RuntimeException("부적절한 내용이 포함되어 있습니다");
-        }
+        ModerationStatus moderationStatus = contentValidationService.moderateOnWrite(request.getContent());
+        
+        // 카테고리가 바뀌면 이전/새 카테고리 목록 모두 무효화
+        eventPublisher.publishEvent(PostChangedEvent.listing(postId, post.getCategory()));
         
         post.setTitle(request.getTitle());
         post.setContent(request.getContent());
+        post.setExcerpt(PostExcerpt.of(request.getContent()));
         if (request.getCategory() != null) {
             post.setCategory(request.getCategory());
         }
+        post.setModerationStatus(moderationStatus);
+        post.setContentSimhash(ContentFingerprint.of(request.getContent()).simhash());
         
         Post updated = postRepository.save(post);
+        moderationQueueService.onContentUpdated(ModerationTargetType.POST, updated.getId(), moderationStatus);
+        eventPublisher.publishEvent(PostChangedEvent.listing(postId, updated.getCategory()));
         User user = userRepository.findByUsername(username).orElse(null);
         Long userId = user != null ? user.getId() : null;
-        return toResponse(updated, userId);
+        return toResponse(updated, likeService.getLikedPostIds(List.of(updated.getId()), userId));
     }
     
     public void deletePost(Long postId, String username) {
@@ -146,12 +203,57 @@ public class PostService {
         }
         
         postRepository.delete(post);
+        eventPublisher.publishEvent(PostChangedEvent.listing(postId, post.getCategory()));
     }
     
-    private PostResponse toResponse(Post post, Long userId) {
-        Long likeCount = postLikeRepository.countByPostId(post.getId());
-        Boolean isLiked = userId != null && postLikeRepository.existsByPostIdAndUserId(post.getId(), userId);
-        
+    /**
+     * 검증 대기/숨김 게시글은 작성자 본인에게만 노출
+     */
+    private Post findVisiblePost(Long postId, Long userId) {
+        Post post = postRepository.findWithAuthorById(postId)
+                .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다"));
+        if (!post.isVisibleTo(userId)) {
+            throw new RuntimeException("게시글을 찾을 수 없습니다");
+        }
+        return post;
+    }
+    
+    // 캐시된 응답은 여러 요청이 공유하므로 수정하지 않고 복사
+    private PostResponse withLiked(PostResponse post, LikedIds likedIds) {
+        return PostResponse.builder()
+                .id(post.getId())
+                .authorId(post.getAuthorId())
+                .authorNickname(post.getAuthorNickname())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .excerpt(post.getExcerpt())
+                .category(post.getCategory())
+                .likeCount(post.getLikeCount())
+                .isLiked(likedIds.contains(post.getId()))
+                .moderationStatus(post.getModerationStatus())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .build();
+    }
+    
+    // 목록용: 본문 대신 저장된 요약(excerpt)만 전달
+    private PostResponse toResponse(PostSummary post, LikedIds likedIds) {
+        return PostResponse.builder()
+                .id(post.id())
+                .authorId(post.authorId())
+                .authorNickname(post.authorNickname())
+                .title(post.title())
+                .excerpt(post.excerpt())
+                .category(post.category())
+                .likeCount(post.likeCount())
+                .isLiked(likedIds.contains(post.id()))
+                .moderationStatus(post.moderationStatus())
+                .createdAt(post.createdAt())
+                .updatedAt(post.updatedAt())
+                .build();
+    }
+    
+    private PostResponse toResponse(Post post, LikedIds likedIds) {
         return PostResponse.builder()
                 .id(post.getId())
                 .authorId(post.getAuthor().getId())
@@ -159,8 +261,9 @@ public class PostService {
                 .title(post.getTitle())
                 .content(post.getContent())
                 .category(post.getCategory())
-                .likeCount(likeCount)
-                .isLiked(isLiked)
+                .likeCount(post.getLikeCount())
+                .isLiked(likedIds.contains(post.getId()))
+                .moderationStatus(post.getModerationStatus())
                 .createdAt(post.getCreatedAt())
                 .updatedAt(post.getUpdatedAt())
                 .build();
@@ -0,0 +1,34 @@
+package com.sxxm.med.community.service;
+
+/**
+ * 검색 키셋 페이지네이션 커서 (마지막 항목의 검색 점수, id)
+ * 점수는 ts_rank의 real 값을 그대로 왕복시켜 다음 페이지 비교가 정확히 맞도록 함
+ */
+record SearchCursor(float score, Long id) {
+    
+    String encode() {
+        return CursorToken.encode(Float.toString(score), id);
+    }
+    
+    /**
+     * @return 토큰이 비어 있으면 null (첫 페이지)
+     * @throws IllegalArgumentException 형식이 잘못된 토큰
+     */
+    static SearchCursor decode(String token) {
+        String[] fields = CursorToken.decode(token, 2);
+        if (fields == null) {
+            return null;
+        }
+        float score;
+        try {
+            score = Float.parseFloat(fields[0]);
+            // ts_rank는 NaN/무한대를 만들지 않으므로 조작된 토큰
+            if (!Float.isFinite(score)) {
+                throw CursorToken.invalid(null);
+            }
+            return new SearchCursor(score, Long.parseLong(fields[1]));
+        } catch (NumberFormatException e) {
+            throw CursorToken.invalid(e);
+        }
+    }
+}
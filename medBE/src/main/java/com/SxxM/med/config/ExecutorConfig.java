@@ -0,0 +1,122 @@
+package com.sxxm.med.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 요청 스레드와 분리해서 실행해야 하는 작업용 스레드 풀
+ */
+@Configuration
+public class ExecutorConfig {
+    
+    /**
+     * SSE 스트리밍 분석 전용 풀 (GPT 스트림을 읽어 SseEmitter로 전달)
+     */
+    @Bean(name = "analysisStreamExecutor")
+    public ThreadPoolTaskExecutor analysisStreamExecutor(
+            @Value("${analysis.stream.executor.core-size:4}") int coreSize,
+            @Value("${analysis.stream.executor.max-size:16}") int maxSize,
+            @Value("${analysis.stream.executor.queue-capacity:20}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-stream-");
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * 비동기 게시글/댓글 검증 워커 풀 (대기 큐 없이 워커 스레드 수만큼만 배치 실행)
+     */
+    @Bean(name = "moderationExecutor")
+    public ThreadPoolTaskExecutor moderationExecutor(
+            @Value("${content.moderation.worker.threads:2}") int threads
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("moderation-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Vision 묶음 전송 풀 (풀이 가득 차면 묶음 스레드가 직접 전송해 자연스럽게 대기 시간이 늘어나도록 함)
+     */
+    @Bean(name = "visionBatchExecutor")
+    public ThreadPoolTaskExecutor visionBatchExecutor(
+            @Value("${google.vision.batch.executor.max-size:8}") int maxSize
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.min(2, maxSize));
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("vision-batch-");
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * OCR 이미지 전처리 풀 (CPU 작업이므로 코어 수 이하로 제한, 포화 시 전처리 없이 원본 전송)
+     */
+    @Bean(name = "imagePreprocessExecutor")
+    public ThreadPoolTaskExecutor imagePreprocessExecutor(
+            @Value("${ocr.preprocess.executor.threads:0}") int threads,
+            @Value("${ocr.preprocess.executor.queue-capacity:16}") int queueCapacity
+    ) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-preprocess-");
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * 게시글 실시간 이벤트 전송 풀 (구독자별 버퍼를 비우는 작업)
+     * 구독자마다 대기 중인 작업은 최대 1개이므로 대기 큐는 최대 연결 수 정도면 충분
+     */
+    @Bean(name = "postEventExecutor")
+    public ThreadPoolTaskExecutor postEventExecutor(
+            @Value("${community.realtime.executor.threads:4}") int threads,
+            @Value("${community.realtime.executor.queue-capacity:2000}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("post-event-");
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * 게시글 실시간 이벤트 노드 간 NOTIFY 발행 풀
+     * 구독자 전송(블로킹 쓰기)이 멈춰 전송 풀이 묶여도 다른 노드로의 전달은 계속되도록 분리
+     */
+    @Bean(name = "postEventNotifyExecutor")
+    public ThreadPoolTaskExecutor postEventNotifyExecutor(
+            @Value("${community.realtime.notify.executor.threads:2}") int threads,
+            @Value("${community.realtime.notify.executor.queue-capacity:1000}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("post-event-notify-");
+        executor.initialize();
+        return executor;
+    }
+}
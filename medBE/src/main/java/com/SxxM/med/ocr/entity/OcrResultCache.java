@@ -0,0 +1,53 @@
+package com.sxxm.med.ocr.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * OCR 결과 캐시 (ocr_result_cache)
+ * image_hash = 디코딩된 이미지 바이트의 SHA-256, 같은 이미지는 Vision/정규화 호출 없이 결과 재사용
+ * 사용자별 정보(알러지 분석 결과)는 저장하지 않음
+ */
+@Entity
+@Table(name = "ocr_result_cache")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OcrResultCache {
+    
+    @Id
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+    
+    // 근사 동일 이미지 탐지용 dHash (ocr.cache.perceptual.enabled일 때만 저장)
+    @Column(name = "perceptual_hash")
+    private Long perceptualHash;
+    
+    @Column(name = "ocr_text", nullable = false, columnDefinition = "TEXT")
+    private String ocrText;
+    
+    @Column(name = "cleaned_text", columnDefinition = "TEXT")
+    private String cleanedText;
+    
+    @Column(name = "ingredients", columnDefinition = "TEXT")
+    private String ingredients; // JSON 배열
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,23 @@
+package com.sxxm.med.ocr.repository;
+
+import com.sxxm.med.ocr.entity.OcrResultCache;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OcrResultCacheRepository extends JpaRepository<OcrResultCache, String> {
+    
+    @Query("select c from OcrResultCache c where c.perceptualHash is not null and c.expiresAt > :now order by c.createdAt desc")
+    List<OcrResultCache> findRecentWithPerceptualHash(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    @Modifying
+    @Query("delete from OcrResultCache c where c.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
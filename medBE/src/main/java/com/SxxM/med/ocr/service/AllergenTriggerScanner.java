@@ -0,0 +1,151 @@
+package com.sxxm.med.ocr.service;
+
+import com.sxxm.med.common.text.AhoCorasick;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * OCR 텍스트의 식품 알러지 트리거 성분 검색
+ * 사전 파일을 시작 시 한 번 읽어 Aho-Corasick 오토마톤으로 만들고, OCR 텍스트를 한 번만 훑어 모든 그룹의 트리거를 찾음
+ * 띄어쓰기와 하이픈/줄바꿈으로 끊긴 표기("해바라기 씨", "레시-\n틴")도 찾으며, 일치 위치는 원본 텍스트 기준
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AllergenTriggerScanner {
+    
+    private final ResourceLoader resourceLoader;
+    
+    @Value("${ocr.allergen.triggers-path:classpath:allergen/food-triggers.txt}")
+    private String triggersPath;
+    
+    private volatile AhoCorasick<Trigger> automaton = AhoCorasick.<Trigger>builder().build();
+    
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+    
+    /**
+     * 사전 파일을 다시 읽어 오토마톤 교체 (실패 시 기존 사전 유지)
+     */
+    public void reload() {
+        Resource resource = resourceLoader.getResource(triggersPath);
+        AhoCorasick.Builder<Trigger> builder = AhoCorasick.builder();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String group = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith("[") && line.endsWith("]")) {
+                    group = line.substring(1, line.length() - 1).trim().toUpperCase();
+                    continue;
+                }
+                if (group == null) {
+                    continue;
+                }
+                String pattern = normalize(line).text();
+                if (!pattern.isEmpty()) {
+                    builder.add(pattern, new Trigger(group, line));
+                    counts.merge(group, 1, Integer::sum);
+                }
+            }
+            automaton = builder.build();
+            log.info("식품 알러지 트리거 사전 로드 완료: path={}, 그룹별 개수={}", triggersPath, counts);
+        } catch (Exception e) {
+            log.error("식품 알러지 트리거 사전 로드 실패 (기존 사전 유지): path={}, 오류={}", triggersPath, e.getMessage());
+        }
+    }
+    
+    /**
+     * 사용자의 알러지 그룹에 해당하는 트리거 일치 항목 (원본 텍스트에서의 위치 순)
+     *
+     * @param groups 식품 알러지 그룹 코드 (NUTS, DAIRY_EGG 등, 대소문자 무관)
+     */
+    public List<Match> scan(String text, Collection<String> groups) {
+        if (text == null || text.isBlank() || groups == null || groups.isEmpty()) {
+            return List.of();
+        }
+        Set<String> targetGroups = groups.stream()
+                .map(String::toUpperCase)
+                .collect(Collectors.toSet());
+        
+        NormalizedText normalized = normalize(text);
+        List<Match> matches = new ArrayList<>();
+        for (AhoCorasick.Match<Trigger> match : automaton.findAll(normalized.text())) {
+            Trigger trigger = match.value();
+            if (!targetGroups.contains(trigger.group())) {
+                continue;
+            }
+            int start = normalized.offsets()[match.start()];
+            int end = normalized.offsets()[match.end() - 1] + 1;
+            matches.add(new Match(trigger.term(), trigger.group(), start, end));
+        }
+        matches.sort((a, b) -> a.start() != b.start() ? Integer.compare(a.start(), b.start()) : Integer.compare(b.end(), a.end()));
+        return matches;
+    }
+    
+    /**
+     * 소문자화, 전각 영숫자 → 반각, 공백/하이픈/줄바꿈 제거
+     * 그 밖의 문장 부호는 남겨 두어 쉼표 등으로 구분된 서로 다른 성분이 하나로 이어져 일치하지 않도록 함
+     * offsets[i] = 정규화 텍스트 i번째 문자의 원본 위치
+     */
+    private NormalizedText normalize(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        int[] offsets = new int[text.length()];
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c) || isHyphen(c)) {
+                continue;
+            }
+            if (c >= '\uFF01' && c <= '\uFF5E') {
+                c = (char) (c - 0xFEE0);
+            }
+            offsets[out.length()] = i;
+            out.append(Character.toLowerCase(c));
+        }
+        return new NormalizedText(out.toString(), offsets);
+    }
+    
+    private boolean isHyphen(char c) {
+        // -, soft hyphen, ‐ ‑ ‒ – —, −(minus), －(전각), ·(가운뎃점)
+        return c == '-' || c == '\u00AD' || (c >= '\u2010' && c <= '\u2014')
+                || c == '\u2212' || c == '\uFF0D' || c == '\u00B7';
+    }
+    
+    private record Trigger(String group, String term) {
+    }
+    
+    private record NormalizedText(String text, int[] offsets) {
+    }
+    
+    /**
+     * @param trigger 사전에 적힌 트리거 표기
+     * @param start 원본 텍스트 시작 위치 (포함)
+     * @param end 원본 텍스트 끝 위치 (미포함)
+     */
+    public record Match(String trigger, String group, int start, int end) {
+    }
+}
@@ -0,0 +1,257 @@
+package com.sxxm.med.ocr.service;
+
+import com.sxxm.med.common.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * URL 이미지 다운로드
+ * - 연결/읽기/전체 타임아웃, 본문을 스트리밍으로 받으면서 최대 크기를 넘으면 즉시 중단
+ * - Content-Type(image/* 또는 application/octet-stream)과 파일 시그니처(JPEG, PNG, GIF, WEBP, BMP, TIFF) 확인
+ * - URL별로 ETag/Last-Modified와 함께 보관하고, 같은 URL은 조건부 요청(304)으로 재다운로드 생략
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageFetcher {
+    
+    private final WebClient.Builder webClientBuilder;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${ocr.fetch.max-bytes:10485760}")
+    private int maxBytes;
+    
+    @Value("${ocr.fetch.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+    
+    @Value("${ocr.fetch.read-timeout-ms:5000}")
+    private int readTimeoutMs;
+    
+    @Value("${ocr.fetch.total-timeout-ms:15000}")
+    private long totalTimeoutMs;
+    
+    @Value("${ocr.fetch.cache.max-bytes:67108864}")
+    private long cacheMaxBytes;
+    
+    // 이 시간 안에 다시 요청된 URL은 조건부 요청 없이 보관된 이미지를 바로 사용
+    @Value("${ocr.fetch.cache.revalidate-after-ms:300000}")
+    private long revalidateAfterMs;
+    
+    private WebClient webClient;
+    private Map<String, CachedImage> cache;
+    private long cachedBytes;
+    
+    @PostConstruct
+    public void init() {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs))
+                .followRedirect(true)
+                .doOnConnected(connection -> connection.addHandlerLast(
+                        new ReadTimeoutHandler(readTimeoutMs, TimeUnit.MILLISECONDS)));
+        webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        
+        // 전체 바이트 수 기준 LRU (항목 수가 아니라 메모리 사용량으로 제한)
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true));
+    }
+    
+    /**
+     * URL에서 이미지 바이트 다운로드
+     *
+     * @throws ImageTooLargeException 최대 크기를 넘는 경우 (Content-Length 또는 수신 중 확인)
+     * @throws RuntimeException 이미지가 아니거나 다운로드에 실패한 경우
+     */
+    public byte[] fetch(String url) {
+        CachedImage cached = cache.get(url);
+        if (cached != null && System.currentTimeMillis() - cached.validatedAt() < revalidateAfterMs) {
+            counter("cache_fresh").increment();
+            return cached.bytes();
+        }
+        
+        Duration timeout = RequestDeadline.timeout(Duration.ofMillis(totalTimeoutMs), "이미지 다운로드");
+        FetchResult result;
+        try {
+            result = webClient.get()
+                    .uri(URI.create(url))
+                    .headers(headers -> {
+                        if (cached != null && cached.etag() != null) {
+                            headers.setIfNoneMatch(cached.etag());
+                        } else if (cached != null && cached.lastModified() != null) {
+                            headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+                        }
+                    })
+                    .exchangeToMono(response -> readResponse(url, response))
+                    .timeout(timeout)
+                    .block();
+        } catch (DataBufferLimitException e) {
+            counter("too_large").increment();
+            throw new ImageTooLargeException("이미지 크기가 허용 범위를 초과했습니다 (최대 " + maxBytes + " bytes): " + url);
+        }
+        if (result == null) {
+            throw new RuntimeException("이미지를 다운로드할 수 없습니다: " + url);
+        }
+        
+        if (result.notModified()) {
+            if (cached == null) {
+                throw new RuntimeException("이미지를 다운로드할 수 없습니다 (304 응답에 보관된 이미지 없음): " + url);
+            }
+            counter("not_modified").increment();
+            store(url, new CachedImage(cached.bytes(), cached.etag(), cached.lastModified(), System.currentTimeMillis()));
+            return cached.bytes();
+        }
+        
+        counter("downloaded").increment();
+        if (result.etag() != null || result.lastModified() != null) {
+            store(url, new CachedImage(result.bytes(), result.etag(), result.lastModified(), System.currentTimeMillis()));
+        }
+        return result.bytes();
+    }
+    
+    private Mono<FetchResult> readResponse(String url, ClientResponse response) {
+        if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            return response.releaseBody().thenReturn(new FetchResult(null, null, null, true));
+        }
+        if (!response.statusCode().is2xxSuccessful()) {
+            counter("rejected").increment();
+            return response.releaseBody().then(Mono.error(new RuntimeException(
+                    "이미지 다운로드 실패: HTTP " + response.statusCode().value() + ", url=" + url)));
+        }
+        
+        ClientResponse.Headers headers = response.headers();
+        Optional<MediaType> contentType = headers.contentType();
+        if (contentType.isPresent() && !isAllowedContentType(contentType.get())) {
+            counter("rejected").increment();
+            return response.releaseBody().then(Mono.error(new RuntimeException(
+                    "이미지가 아닌 응답입니다: Content-Type=" + contentType.get() + ", url=" + url)));
+        }
+        if (headers.contentLength().orElse(-1) > maxBytes) {
+            counter("too_large").increment();
+            return response.releaseBody().then(Mono.error(new ImageTooLargeException(
+                    "이미지 크기가 허용 범위를 초과했습니다: " + headers.contentLength().getAsLong()
+                            + " bytes (최대 " + maxBytes + "): " + url)));
+        }
+        
+        String etag = headers.asHttpHeaders().getETag();
+        String lastModified = headers.asHttpHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        // join(limit): 누적 크기가 limit를 넘는 순간 업스트림을 취소하고 DataBufferLimitException 발생
+        return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class), maxBytes)
+                .map(buffer -> {
+                    try {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        return bytes;
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
+                })
+                .flatMap(bytes -> {
+                    if (detectFormat(bytes) == null) {
+                        counter("rejected").increment();
+                        return Mono.error(new RuntimeException("지원하지 않는 이미지 형식입니다: url=" + url));
+                    }
+                    return Mono.just(new FetchResult(bytes, etag, lastModified, false));
+                })
+                .switchIfEmpty(Mono.error(new RuntimeException("이미지 본문이 비어 있습니다: url=" + url)));
+    }
+    
+    private boolean isAllowedContentType(MediaType contentType) {
+        // 일부 스토리지/CDN은 이미지를 octet-stream으로 내려주므로 허용하고 시그니처로 판별
+        return "image".equalsIgnoreCase(contentType.getType())
+                || MediaType.APPLICATION_OCTET_STREAM.includes(contentType);
+    }
+    
+    /**
+     * 파일 시그니처로 이미지 형식 판별 (Vision이 지원하는 형식만, 아니면 null)
+     */
+    static String detectFormat(byte[] bytes) {
+        if (startsWith(bytes, 0, 0xFF, 0xD8, 0xFF)) {
+            return "jpeg";
+        }
+        if (startsWith(bytes, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "png";
+        }
+        if (startsWith(bytes, 0, 'G', 'I', 'F', '8')) {
+            return "gif";
+        }
+        if (startsWith(bytes, 0, 'R', 'I', 'F', 'F') && startsWith(bytes, 8, 'W', 'E', 'B', 'P')) {
+            return "webp";
+        }
+        if (startsWith(bytes, 0, 'B', 'M')) {
+            return "bmp";
+        }
+        if (startsWith(bytes, 0, 'I', 'I', 0x2A, 0x00) || startsWith(bytes, 0, 'M', 'M', 0x00, 0x2A)) {
+            return "tiff";
+        }
+        return null;
+    }
+    
+    private static boolean startsWith(byte[] bytes, int offset, int... signature) {
+        if (bytes.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((bytes[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void store(String url, CachedImage image) {
+        if (image.bytes().length > cacheMaxBytes / 4) {
+            return; // 캐시 대부분을 차지하는 큰 이미지는 보관하지 않음
+        }
+        synchronized (cache) {
+            CachedImage previous = cache.put(url, image);
+            cachedBytes += image.bytes().length - (previous != null ? previous.bytes().length : 0);
+            Iterator<Map.Entry<String, CachedImage>> iterator = cache.entrySet().iterator();
+            while (cachedBytes > cacheMaxBytes && iterator.hasNext()) {
+                Map.Entry<String, CachedImage> eldest = iterator.next();
+                cachedBytes -= eldest.getValue().bytes().length;
+                iterator.remove();
+            }
+        }
+    }
+    
+    private Counter counter(String result) {
+        return Counter.builder("ocr.image.fetch")
+                .description("URL 이미지 다운로드 결과 (downloaded, not_modified, cache_fresh, too_large, rejected)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    private record FetchResult(byte[] bytes, String etag, String lastModified, boolean notModified) {
+    }
+    
+    private record CachedImage(byte[] bytes, String etag, String lastModified, long validatedAt) {
+    }
+}
@@ -0,0 +1,288 @@
+package com.sxxm.med.ocr.service;
+
+import com.sxxm.med.common.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Vision 전송 전 이미지 전처리
+ * - 한 번만 디코딩하고, 큰 사진은 디코딩 단계에서부터 서브샘플링
+ * - 긴 변을 max-dimension 이하로 축소 (작은 글씨 인식률을 유지하는 선)
+ * - 흑백 변환 후 JPEG 재인코딩 (quality)
+ * - (선택) 글자 영역으로 잘라내기: 밝기 변화가 많은 행/열 범위만 남김
+ * 전처리에 실패하거나 결과가 원본보다 크면 원본을 그대로 사용
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImagePreprocessor {
+    
+    private static final Duration PREPROCESS_TIMEOUT = Duration.ofSeconds(10);
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Qualifier("imagePreprocessExecutor")
+    private final AsyncTaskExecutor imagePreprocessExecutor;
+    
+    @Value("${ocr.preprocess.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${ocr.preprocess.max-dimension:2048}")
+    private int maxDimension;
+    
+    @Value("${ocr.preprocess.jpeg-quality:0.85}")
+    private float jpegQuality;
+    
+    @Value("${ocr.preprocess.grayscale:true}")
+    private boolean grayscale;
+    
+    @Value("${ocr.preprocess.crop-to-text:false}")
+    private boolean cropToText;
+    
+    // 이보다 작은 이미지는 그대로 전송 (재인코딩 이득보다 화질 손실이 큼)
+    @Value("${ocr.preprocess.skip-below-bytes:262144}")
+    private int skipBelowBytes;
+    
+    @Value("${ocr.preprocess.max-pixels:50000000}")
+    private long maxPixels;
+    
+    /**
+     * 전처리된 이미지 바이트 반환 (전처리 풀에서 실행, 풀이 가득 차거나 시간이 초과되면 원본 반환)
+     */
+    public byte[] prepare(byte[] original) {
+        if (!enabled || original == null || original.length < skipBelowBytes) {
+            return original;
+        }
+        
+        Future<byte[]> future;
+        try {
+            future = imagePreprocessExecutor.submit(() -> process(original));
+        } catch (TaskRejectedException e) {
+            result("rejected").increment();
+            log.warn("이미지 전처리 풀 포화로 원본 이미지 사용: 바이트 크기={}", original.length);
+            return original;
+        }
+        
+        Duration timeout = RequestDeadline.timeout(PREPROCESS_TIMEOUT, "이미지 전처리");
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            result("timeout").increment();
+            log.warn("이미지 전처리 시간 초과로 원본 이미지 사용: 바이트 크기={}", original.length);
+            return original;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return original;
+        } catch (ExecutionException e) {
+            result("failed").increment();
+            log.warn("이미지 전처리 실패로 원본 이미지 사용: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return original;
+        }
+    }
+    
+    private byte[] process(byte[] original) throws IOException {
+        long startNanos = System.nanoTime();
+        BufferedImage decoded = decode(original);
+        if (decoded == null) {
+            throw new IOException("지원하지 않는 이미지 형식입니다");
+        }
+        
+        BufferedImage image = cropToText ? cropToTextRegion(decoded) : decoded;
+        image = resize(image);
+        byte[] encoded = encodeJpeg(image);
+        
+        Timer.builder("ocr.preprocess.duration")
+                .description("OCR 이미지 전처리 시간")
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        
+        if (encoded.length >= original.length) {
+            result("kept_original").increment();
+            return original;
+        }
+        result("shrunk").increment();
+        DistributionSummary.builder("ocr.preprocess.bytes.saved")
+                .description("전처리로 줄어든 이미지 바이트 수")
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .record(original.length - encoded.length);
+        log.info("OCR 이미지 전처리 완료: {}x{} → {}x{}, 바이트 {} → {}",
+                decoded.getWidth(), decoded.getHeight(), image.getWidth(), image.getHeight(), original.length, encoded.length);
+        return encoded;
+    }
+    
+    /**
+     * 디코딩 (max-dimension의 2배를 넘는 큰 사진은 서브샘플링으로 읽어 메모리/시간 절약)
+     */
+    private BufferedImage decode(byte[] bytes) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("이미지 해상도가 너무 큽니다: " + width + "x" + height);
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / (maxDimension * 2));
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+    
+    private BufferedImage resize(BufferedImage source) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        int type = grayscale ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_INT_RGB;
+        
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, type);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+    
+    /**
+     * 글자 영역 추정: 가로/세로 방향 밝기 변화량이 평균의 절반 이상인 행/열 범위 (+여백 3%)
+     * 잘라낸 영역이 전체의 85% 이상이면 원본 유지
+     */
+    private BufferedImage cropToTextRegion(BufferedImage source) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        if (width < 64 || height < 64) {
+            return source;
+        }
+        int step = Math.max(1, Math.max(width, height) / 512);
+        long[] rowEnergy = new long[height];
+        long[] colEnergy = new long[width];
+        for (int y = 0; y < height; y += step) {
+            int previous = luminance(source.getRGB(0, y));
+            for (int x = step; x < width; x += step) {
+                int current = luminance(source.getRGB(x, y));
+                int diff = Math.abs(current - previous);
+                rowEnergy[y] += diff;
+                colEnergy[x] += diff;
+                previous = current;
+            }
+        }
+        
+        int[] rows = activeRange(rowEnergy, step);
+        int[] cols = activeRange(colEnergy, step);
+        if (rows == null || cols == null) {
+            return source;
+        }
+        int marginX = width * 3 / 100;
+        int marginY = height * 3 / 100;
+        int x0 = Math.max(0, cols[0] - marginX);
+        int x1 = Math.min(width, cols[1] + step + marginX);
+        int y0 = Math.max(0, rows[0] - marginY);
+        int y1 = Math.min(height, rows[1] + step + marginY);
+        if ((long) (x1 - x0) * (y1 - y0) >= (long) width * height * 85 / 100) {
+            return source;
+        }
+        return source.getSubimage(x0, y0, x1 - x0, y1 - y0);
+    }
+    
+    private int[] activeRange(long[] energy, int step) {
+        long sum = 0;
+        int samples = 0;
+        for (int i = 0; i < energy.length; i += step) {
+            sum += energy[i];
+            samples++;
+        }
+        if (samples == 0 || sum == 0) {
+            return null;
+        }
+        long threshold = sum / samples / 2;
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < energy.length; i += step) {
+            if (energy[i] >= threshold) {
+                if (first < 0) {
+                    first = i;
+                }
+                last = i;
+            }
+        }
+        return first < 0 ? null : new int[]{first, last};
+    }
+    
+    private int luminance(int rgb) {
+        int r = (rgb >> 16) & 0xff;
+        int g = (rgb >> 8) & 0xff;
+        int b = rgb & 0xff;
+        return (r * 299 + g * 587 + b * 114) / 1000;
+    }
+    
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+    
+    private Counter result(String result) {
+        return Counter.builder("ocr.preprocess.results")
+                .description("OCR 이미지 전처리 결과 (shrunk, kept_original, rejected, timeout, failed)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,11 @@
+package com.sxxm.med.ocr.service;
+
+/**
+ * 업로드 이미지가 허용 크기를 넘을 때 발생 (413 응답)
+ */
+public class ImageTooLargeException extends RuntimeException {
+    
+    public ImageTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,95 @@
+package com.sxxm.med.ocr.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * OCR 업로드 이미지 읽기
+ * 크기를 아는 경우 정확한 크기의 배열 하나에 바로 읽고, 모르는 경우 임시 파일로 받은 뒤 한 번에 읽음
+ * (Base64 문자열 → 디코딩 배열 → ByteString 복사로 이어지던 중복 복사를 없애기 위함)
+ */
+@Component
+@Slf4j
+public class ImageUploadReader {
+    
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+    
+    @Value("${ocr.upload.max-bytes:10485760}")
+    private long maxBytes;
+    
+    /**
+     * multipart 업로드 (스프링이 임시 파일에 받아 둔 파트를 읽음)
+     */
+    public byte[] read(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("업로드된 이미지가 없습니다");
+        }
+        try (InputStream in = file.getInputStream()) {
+            return read(in, file.getSize());
+        }
+    }
+    
+    /**
+     * 요청 본문 스트림 읽기 (application/octet-stream, image/*)
+     *
+     * @param contentLength Content-Length (모르면 -1)
+     */
+    public byte[] read(InputStream in, long contentLength) throws IOException {
+        if (contentLength > maxBytes) {
+            throw new ImageTooLargeException("이미지 크기가 허용 범위를 초과했습니다: " + contentLength + " bytes (최대 " + maxBytes + ")");
+        }
+        if (contentLength >= 0) {
+            byte[] bytes = in.readNBytes((int) contentLength);
+            if (bytes.length < contentLength) {
+                throw new IOException("업로드가 중간에 끊어졌습니다: " + bytes.length + "/" + contentLength + " bytes");
+            }
+            if (in.read() != -1) {
+                throw new ImageTooLargeException("이미지 크기가 Content-Length와 다릅니다");
+            }
+            return requireNotEmpty(bytes);
+        }
+        
+        // 크기를 모르는 chunked 업로드: 메모리에서 배열을 키워 가며 복사하지 않도록 임시 파일에 먼저 기록
+        Path temp = Files.createTempFile("ocr-upload-", ".img");
+        try {
+            long total = 0;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[TRANSFER_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    total += read;
+                    if (total > maxBytes) {
+                        throw new ImageTooLargeException("이미지 크기가 허용 범위를 초과했습니다 (최대 " + maxBytes + " bytes)");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            return requireNotEmpty(Files.readAllBytes(temp));
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("OCR 업로드 임시 파일 삭제 실패: {}", temp);
+            }
+        }
+    }
+    
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+    
+    private byte[] requireNotEmpty(byte[] bytes) {
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("업로드된 이미지가 없습니다");
+        }
+        return bytes;
+    }
+}
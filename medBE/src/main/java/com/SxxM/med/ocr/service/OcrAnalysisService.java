@@ -15,10 +15,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,56 +31,96 @@ public class OcrAnalysisService {
     private final AllergyService allergyService;
     private final OcrIngredientRepository ocrIngredientRepository;
     private final VisionService visionService;
+    private final OcrEngineRouter ocrEngineRouter;
+    private final OcrResultCacheService ocrResultCacheService;
+    private final AllergenTriggerScanner allergenTriggerScanner;
     private final PythonApiService pythonApiService;
     private final ObjectMapper objectMapper;
     
     public OcrAnalysisResponse analyzeOcrImage(OcrAnalysisRequest request) {
-        if (request.getUserId() == null) {
+        String imageUrl = request.isBase64() ? "base64_data" : request.getImageData();
+        return analyze(request.getUserId(), imageUrl,
+                () -> visionService.loadImageBytes(request.getImageData(), request.isBase64()));
+    }
+    
+    /**
+     * 업로드된 이미지 바이트로 OCR 분석 (multipart / octet-stream 업로드)
+     */
+    public OcrAnalysisResponse analyzeOcrImageBytes(Long userId, byte[] imageBytes) {
+        return analyze(userId, "upload", () -> imageBytes);
+    }
+    
+    private OcrAnalysisResponse analyze(Long userId, String imageUrl, Supplier<byte[]> imageLoader) {
+        if (userId == null) {
             throw new RuntimeException("사용자 ID가 설정되지 않았습니다");
         }
         
-        log.info("OCR 분석 시작: userId={}", request.getUserId());
+        log.info("OCR 분석 시작: userId={}", userId);
         
         // 사용자 정보 조회
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + request.getUserId()));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다: " + userId));
         
         // 사용자 알러지 정보 조회 (약물 알러지와 식품 알러지 분리)
-        List<String> medicationAllergies = allergyService.getMedicationAllergies(request.getUserId());
-        List<String> foodAllergies = allergyService.getFoodAllergies(request.getUserId());
+        List<String> medicationAllergies = allergyService.getMedicationAllergies(userId);
+        List<String> foodAllergies = allergyService.getFoodAllergies(userId);
         List<String> allAllergies = new ArrayList<>(medicationAllergies);
         allAllergies.addAll(foodAllergies);
         
         log.info("사용자 알러지 정보 조회 완료: 약물 알러지 개수={}, 식품 알러지 개수={}", 
                 medicationAllergies.size(), foodAllergies.size());
         
-        // OCR 텍스트 추출
-        log.info("OCR 텍스트 추출 시작");
-        String ocrText = visionService.extractTextFromImage(request.getImageData(), request.isBase64());
-        
-        if (ocrText == null || ocrText.trim().isEmpty()) {
-            log.warn("이미지에서 텍스트를 추출할 수 없습니다");
-            throw new RuntimeException("이미지에서 텍스트를 추출할 수 없습니다");
-        }
-        
-        log.info("OCR 텍스트 추출 완료: 텍스트 길이={}", ocrText.length());
+        // 같은 이미지의 이전 OCR/정규화 결과가 있으면 재사용 (사용자별 성분 분석만 다시 수행)
+        byte[] imageBytes = imageLoader.get();
+        OcrResultCacheService.ImageKey imageKey = ocrResultCacheService.keyOf(imageBytes);
+        Optional<OcrResultCacheService.CachedOcrResult> cached = ocrResultCacheService.get(imageKey);
         
-        // Python 서비스를 통해 OCR 텍스트 정규화 및 정리
-        log.info("Python 서비스 호출: OCR 텍스트 정규화 및 정리");
+        String ocrText;
+        String cleanedText;
         List<String> extractedIngredients;
-        String cleanedText = ocrText; // 기본값은 원본 텍스트
-        try {
-            Map<String, Object> normalizeResult = pythonApiService.normalizeOcrText(ocrText);
-            @SuppressWarnings("unchecked")
-            List<String> ingredients = (List<String>) normalizeResult.get("normalized_ingredients");
-            extractedIngredients = ingredients != null ? ingredients : List.of();
-            cleanedText = normalizeResult.containsKey("cleaned_text") ? 
-                    normalizeResult.get("cleaned_text").toString() : ocrText;
-            log.info("OCR 텍스트 정규화 완료: 성분 개수={}, 정리된 텍스트 길이={}", 
-                    extractedIngredients.size(), cleanedText.length());
-        } catch (Exception e) {
-            log.error("OCR 텍스트 정규화 실패", e);
-            throw new RuntimeException("OCR 텍스트 정규화 중 오류가 발생했습니다: " + e.getMessage(), e);
+        if (cached.isPresent()) {
+            ocrText = cached.get().ocrText();
+            cleanedText = cached.get().cleanedText();
+            extractedIngredients = cached.get().ingredients();
+            log.info("OCR 결과 캐시 적중: Vision/정규화 호출 생략, 성분 개수={}", extractedIngredients.size());
+        } else {
+            // OCR 텍스트 추출
+            log.info("OCR 텍스트 추출 시작");
+            ocrText = ocrEngineRouter.extractText(imageBytes);
+            
+            if (ocrText == null || ocrText.trim().isEmpty()) {
+                log.warn("이미지에서 텍스트를 추출할 수 없습니다");
+                throw new RuntimeException("이미지에서 텍스트를 추출할 수 없습니다");
+            }
+            
+            log.info("OCR 텍스트 추출 완료: 텍스트 길이={}", ocrText.length());
+            
+            // 거의 같은 사진이라도 OCR 원문까지 같을 때만 이전 정규화 결과 재사용
+            Optional<OcrResultCacheService.CachedOcrResult> similar = ocrResultCacheService.getSimilar(imageKey, ocrText);
+            if (similar.isPresent()) {
+                cleanedText = similar.get().cleanedText();
+                extractedIngredients = similar.get().ingredients();
+                log.info("OCR 원문이 같은 유사 이미지 캐시 적중: 정규화 호출 생략, 성분 개수={}", extractedIngredients.size());
+            } else {
+                // Python 서비스를 통해 OCR 텍스트 정규화 및 정리
+                log.info("Python 서비스 호출: OCR 텍스트 정규화 및 정리");
+                cleanedText = ocrText; // 기본값은 원본 텍스트
+                try {
+                    Map<String, Object> normalizeResult = pythonApiService.normalizeOcrText(ocrText);
+                    @SuppressWarnings("unchecked")
+                    List<String> ingredients = (List<String>) normalizeResult.get("normalized_ingredients");
+                    extractedIngredients = ingredients != null ? ingredients : List.of();
+                    cleanedText = normalizeResult.containsKey("cleaned_text") ? 
+                            normalizeResult.get("cleaned_text").toString() : ocrText;
+                    log.info("OCR 텍스트 정규화 완료: 성분 개수={}, 정리된 텍스트 길이={}", 
+                            extractedIngredients.size(), cleanedText.length());
+                } catch (Exception e) {
+                    log.error("OCR 텍스트 정규화 실패", e);
+                    throw new RuntimeException("OCR 텍스트 정규화 중 오류가 발생했습니다: " + e.getMessage(), e);
+                }
+            }
+            
+            ocrResultCacheService.put(imageKey, ocrText, cleanedText, extractedIngredients);
         }
         
         // OCR 텍스트에서 식품 알러지 트리거 성분 검색
@@ -110,7 +150,7 @@ public class OcrAnalysisService {
             try {
                 OcrIngredient ocrIngredient = OcrIngredient.builder()
                         .user(user)
-                        .imageUrl(request.isBase64() ? "base64_data" : request.getImageData())
+                        .imageUrl(imageUrl)
                         .ocrText(ocrText)
                         .ingredientList(extractedIngredients)
                         .analysisResult(objectMapper.writeValueAsString(response))
@@ -246,41 +286,15 @@ public class OcrAnalysisService {
      * 예: "젤라틴", "소젤라틴", "유당", "레시틴", "땅콩유", "전분", "콩유", "난백" 등
      */
     private List<String> detectFoodAllergenTriggers(String ocrText, List<String> foodAllergies) {
-        if (ocrText == null || ocrText.trim().isEmpty() || foodAllergies == null || foodAllergies.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        List<String> detectedTriggers = new ArrayList<>();
-        String lowerOcrText = ocrText.toLowerCase();
-        
-        // 식품 알러지 그룹별 트리거 성분 매핑 (7개 그룹)
-        Map<String, List<String>> foodAllergenGroups = new HashMap<>();
-        foodAllergenGroups.put("NUTS", Arrays.asList("땅콩", "peanut", "아몬드", "almond", "호두", "walnut",
-                "피스타치오", "pistachio", "캐슈넛", "cashew", "헤이즐넛", "hazelnut", "macadamia", "브라질넛"));
-        foodAllergenGroups.put("DAIRY_EGG", Arrays.asList("우유", "milk", "유청", "whey", "카제인", "casein",
-                "계란", "egg", "난백", "albumin", "ovalbumin", "lysozyme"));
-        foodAllergenGroups.put("SEAFOOD", Arrays.asList("연어", "salmon", "참치", "tuna", "cod", "fish",
-                "새우", "shrimp", "게", "crab", "crustacean", "조개", "clam", "mussel", "oyster", "mollusc"));
-        foodAllergenGroups.put("GRAINS_GLUTEN", Arrays.asList("밀", "wheat", "글루텐", "gluten", "보리", "barley", "호밀", "rye"));
-        foodAllergenGroups.put("SOY", Arrays.asList("대두", "soy", "soybean", "레시틴", "lecithin"));
-        foodAllergenGroups.put("SEEDS", Arrays.asList("참깨", "sesame", "해바라기씨", "sunflower seed"));
-        foodAllergenGroups.put("OTHER", Arrays.asList("젤라틴", "gelatin", "아황산", "sulfite", "sulphite",
-                "셀러리", "celery", "겨자", "mustard", "루핀", "lupin"));
-        
-        // 사용자의 식품 알러지 그룹에 대해 트리거 성분 검색
-        for (String foodAllergy : foodAllergies) {
-            String upperFoodAllergy = foodAllergy.toUpperCase();
-            List<String> triggers = foodAllergenGroups.getOrDefault(upperFoodAllergy, new ArrayList<>());
-            
-            // 트리거 성분이 OCR 텍스트에 포함되어 있는지 확인
-            for (String trigger : triggers) {
-                if (lowerOcrText.contains(trigger.toLowerCase())) {
-                    detectedTriggers.add(trigger);
-                }
-            }
+        List<AllergenTriggerScanner.Match> matches = allergenTriggerScanner.scan(ocrText, foodAllergies);
+        if (log.isDebugEnabled()) {
+            matches.forEach(match -> log.debug("식품 알러지 트리거 위치: trigger={}, group={}, 위치={}-{}",
+                    match.trigger(), match.group(), match.start(), match.end()));
         }
-        
-        return detectedTriggers.stream().distinct().collect(Collectors.toList());
+        return matches.stream()
+                .map(AllergenTriggerScanner.Match::trigger)
+                .distinct()
+                .collect(Collectors.toList());
     }
 }
 
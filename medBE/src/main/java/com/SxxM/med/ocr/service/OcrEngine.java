@@ -0,0 +1,30 @@
+package com.sxxm.med.ocr.service;
+
+/**
+ * OCR 엔진 (전처리된 이미지 바이트 → 텍스트)
+ * 구현체는 ocr.engine.mode 설정에 따라 OcrEngineRouter가 선택
+ */
+public interface OcrEngine {
+    
+    /**
+     * 설정/메트릭에서 쓰는 엔진 이름 (vision, tesseract)
+     */
+    String name();
+    
+    /**
+     * 현재 사용 가능한지 여부 (실행 파일, 학습 데이터 등)
+     */
+    boolean isAvailable();
+    
+    /**
+     * @param preparedBytes ImagePreprocessor를 거친 이미지 바이트 (수정하면 안 됨)
+     * @throws RuntimeException 인식에 실패한 경우
+     */
+    Result recognize(byte[] preparedBytes);
+    
+    /**
+     * @param confidence 인식 신뢰도 (0~1), 엔진이 제공하지 않으면 null
+     */
+    record Result(String text, Double confidence) {
+    }
+}
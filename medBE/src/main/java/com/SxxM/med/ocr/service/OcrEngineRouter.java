@@ -0,0 +1,130 @@
+package com.sxxm.med.ocr.service;
+
+import com.sxxm.med.common.RequestDeadline;
+import com.sxxm.med.common.RequestDeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OCR 엔진 선택 (ocr.engine.mode)
+ * - vision: Google Vision만 사용 (기본값)
+ * - local: 로컬 Tesseract만 사용 (네트워크/할당량 없음)
+ * - local-first: Tesseract를 먼저 쓰고, 실패하거나 신뢰도/텍스트 길이가 기준 미만이면 Vision으로 다시 인식
+ *   로컬 시도는 남은 요청 기한의 deadline-share 비율 안에서만 실행해 Vision 재인식 시간을 남김
+ * 이미지 전처리는 여기서 한 번만 수행하고 두 엔진이 같은 바이트를 사용
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OcrEngineRouter {
+    
+    private final VisionOcrEngine visionOcrEngine;
+    private final TesseractOcrEngine tesseractOcrEngine;
+    private final ImagePreprocessor imagePreprocessor;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${ocr.engine.mode:vision}")
+    private String mode;
+    
+    @Value("${ocr.engine.local-first.min-confidence:0.75}")
+    private double minConfidence;
+    
+    @Value("${ocr.engine.local-first.min-text-length:10}")
+    private int minTextLength;
+    
+    @Value("${ocr.engine.local-first.deadline-share:0.4}")
+    private double localDeadlineShare;
+    
+    @PostConstruct
+    public void init() {
+        if (!"vision".equalsIgnoreCase(mode)) {
+            boolean available = tesseractOcrEngine.isAvailable();
+            log.info("OCR 엔진 설정: mode={}, tesseract 사용 가능={}", mode, available);
+            if (!available && "local".equalsIgnoreCase(mode)) {
+                log.error("ocr.engine.mode=local이지만 Tesseract를 사용할 수 없습니다. OCR 요청이 실패합니다");
+            }
+        }
+    }
+    
+    /**
+     * 이미지 바이트에서 텍스트 추출
+     */
+    public String extractText(byte[] imageBytes) {
+        byte[] prepared = imagePreprocessor.prepare(imageBytes);
+        
+        if ("local".equalsIgnoreCase(mode)) {
+            return recognize(tesseractOcrEngine, prepared).text();
+        }
+        if (!"local-first".equalsIgnoreCase(mode) || !tesseractOcrEngine.isAvailable()) {
+            return recognize(visionOcrEngine, prepared).text();
+        }
+        
+        try {
+            OcrEngine.Result local = recognizeLocally(prepared);
+            String text = local.text() != null ? local.text().trim() : "";
+            if (text.length() >= minTextLength && local.confidence() != null && local.confidence() >= minConfidence) {
+                outcome(tesseractOcrEngine, "accepted");
+                return local.text();
+            }
+            log.info("로컬 OCR 결과 기준 미달, Vision으로 재인식: 신뢰도={}, 텍스트 길이={}", local.confidence(), text.length());
+            outcome(tesseractOcrEngine, "low_confidence");
+        } catch (RequestDeadlineExceededException e) {
+            // 로컬 몫의 기한만 지났으면 남은 시간으로 Vision 재인식, 요청 기한 자체가 지났으면 그대로 실패
+            RequestDeadline.check("Vision OCR 재인식");
+            log.warn("로컬 OCR 기한 초과, Vision으로 재인식: 오류={}", e.getMessage());
+            outcome(tesseractOcrEngine, "failed");
+        } catch (Exception e) {
+            log.warn("로컬 OCR 실패, Vision으로 재인식: 오류={}", e.getMessage());
+            outcome(tesseractOcrEngine, "failed");
+        }
+        return recognize(visionOcrEngine, prepared).text();
+    }
+    
+    /**
+     * 요청 기한이 있으면 남은 시간의 일부만 로컬 OCR에 주도록 더 짧은 기한을 걸고 실행
+     * (Tesseract의 대기열 대기와 프로세스 타임아웃이 모두 이 기한을 따름)
+     */
+    private OcrEngine.Result recognizeLocally(byte[] prepared) {
+        Optional<RequestDeadline> deadline = RequestDeadline.current();
+        if (deadline.isEmpty()) {
+            return recognize(tesseractOcrEngine, prepared);
+        }
+        Duration localBudget = Duration.ofMillis((long) (deadline.get().remaining().toMillis() * localDeadlineShare));
+        try (RequestDeadline ignored = RequestDeadline.start(localBudget)) {
+            return recognize(tesseractOcrEngine, prepared);
+        }
+    }
+    
+    private OcrEngine.Result recognize(OcrEngine engine, byte[] prepared) {
+        long startNanos = System.nanoTime();
+        try {
+            return engine.recognize(prepared);
+        } finally {
+            Timer.builder("ocr.engine.duration")
+                    .description("OCR 엔진별 인식 소요 시간")
+                    .tag("engine", engine.name())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private void outcome(OcrEngine engine, String outcome) {
+        Counter.builder("ocr.engine.local-first")
+                .description("local-first 모드의 로컬 OCR 결과 (accepted: 그대로 사용, low_confidence/failed: Vision 재인식)")
+                .tag("engine", engine.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
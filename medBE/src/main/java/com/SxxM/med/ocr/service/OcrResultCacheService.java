@@ -0,0 +1,312 @@
+package com.sxxm.med.ocr.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sxxm.med.ocr.entity.OcrResultCache;
+import com.sxxm.med.ocr.repository.OcrResultCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * OCR 결과 캐시 (이미지 내용 기준)
+ * 1차: 메모리 LRU, 2차: ocr_result_cache 테이블, 키는 디코딩된 이미지 바이트의 SHA-256
+ * 결과를 그대로 재사용하는 것은 SHA-256이 같을 때뿐 (성분 목록이 알러지 경고에 쓰이므로)
+ * ocr.cache.perceptual.enabled이면 dHash(64비트)로 거의 같은 사진을 찾되, 새로 OCR한 원문이 같을 때만 정규화 결과 재사용
+ * 저장 항목: OCR 원문, 정리된 텍스트, 정규화된 성분 목록 (사용자별 알러지 분석은 매번 수행)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OcrResultCacheService {
+    
+    private final OcrResultCacheRepository ocrResultCacheRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${ocr.cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${ocr.cache.ttl-days:30}")
+    private int ttlDays;
+    
+    @Value("${ocr.cache.memory.max-entries:200}")
+    private int memoryMaxEntries;
+    
+    @Value("${ocr.cache.perceptual.enabled:false}")
+    private boolean perceptualEnabled;
+    
+    @Value("${ocr.cache.perceptual.max-distance:4}")
+    private int perceptualMaxDistance;
+    
+    @Value("${ocr.cache.perceptual.index-size:5000}")
+    private int perceptualIndexSize;
+    
+    private Map<String, CachedOcrResult> memoryCache;
+    // imageHash → dHash (최근 항목만 보관, 선형 탐색)
+    private Map<String, Long> perceptualIndex;
+    private TransactionTemplate writeTransaction;
+    
+    @PostConstruct
+    public void init() {
+        memoryCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedOcrResult> eldest) {
+                return size() > memoryMaxEntries;
+            }
+        });
+        perceptualIndex = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > perceptualIndexSize;
+            }
+        });
+        
+        writeTransaction = new TransactionTemplate(transactionManager);
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        
+        if (enabled && perceptualEnabled) {
+            try {
+                List<OcrResultCache> recent = ocrResultCacheRepository.findRecentWithPerceptualHash(
+                        LocalDateTime.now(), PageRequest.of(0, perceptualIndexSize));
+                for (int i = recent.size() - 1; i >= 0; i--) {
+                    perceptualIndex.put(recent.get(i).getImageHash(), recent.get(i).getPerceptualHash());
+                }
+                log.info("OCR 결과 캐시 지각 해시 인덱스 적재: {}건", recent.size());
+            } catch (Exception e) {
+                log.warn("OCR 결과 캐시 지각 해시 인덱스 적재 실패: 오류={}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 캐시 키 계산 (SHA-256 + 선택적 dHash)
+     */
+    public ImageKey keyOf(byte[] imageBytes) {
+        String sha256;
+        try {
+            sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(imageBytes));
+        } catch (Exception e) {
+            throw new IllegalStateException("이미지 해시 계산 실패: " + e.getMessage(), e);
+        }
+        Long perceptualHash = enabled && perceptualEnabled ? differenceHash(imageBytes) : null;
+        return new ImageKey(sha256, perceptualHash);
+    }
+    
+    /**
+     * 같은 이미지(SHA-256 일치)의 OCR/정규화 결과
+     */
+    public Optional<CachedOcrResult> get(ImageKey key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        
+        Optional<CachedOcrResult> exact = findByHash(key.sha256(), "exact");
+        if (exact.isEmpty()) {
+            counter("miss").increment();
+        }
+        return exact;
+    }
+    
+    /**
+     * 거의 같은 이미지(dHash 거리 max-distance 이하)의 정규화 결과, 새로 OCR한 원문이 캐시된 원문과 같을 때만 반환
+     * dHash만으로는 포장이 비슷한 다른 제품을 구분하지 못하므로 OCR은 생략하지 않음
+     */
+    public Optional<CachedOcrResult> getSimilar(ImageKey key, String ocrText) {
+        if (!enabled || key.perceptualHash() == null) {
+            return Optional.empty();
+        }
+        String similar = findSimilar(key.perceptualHash());
+        if (similar == null || similar.equals(key.sha256())) {
+            return Optional.empty();
+        }
+        Optional<CachedOcrResult> near = findByHash(similar, "perceptual")
+                .filter(cached -> cached.ocrText().equals(ocrText));
+        if (near.isEmpty()) {
+            counter("perceptual_text_mismatch").increment();
+        }
+        return near;
+    }
+    
+    public void put(ImageKey key, String ocrText, String cleanedText, List<String> ingredients) {
+        if (!enabled || ocrText == null || ocrText.isBlank()) {
+            return;
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(ttlDays);
+        memoryCache.put(key.sha256(), new CachedOcrResult(ocrText, cleanedText, List.copyOf(ingredients), expiresAt));
+        if (key.perceptualHash() != null) {
+            perceptualIndex.put(key.sha256(), key.perceptualHash());
+        }
+        
+        try {
+            String ingredientsJson = objectMapper.writeValueAsString(ingredients);
+            writeTransaction.executeWithoutResult(status -> ocrResultCacheRepository.save(
+                    OcrResultCache.builder()
+                            .imageHash(key.sha256())
+                            .perceptualHash(key.perceptualHash())
+                            .ocrText(ocrText)
+                            .cleanedText(cleanedText)
+                            .ingredients(ingredientsJson)
+                            .expiresAt(expiresAt)
+                            .build()));
+        } catch (Exception e) {
+            log.warn("OCR 결과 캐시 DB 저장 실패 (메모리 캐시만 사용): 오류={}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 만료된 OCR 결과 캐시 정리
+     */
+    @Scheduled(fixedDelayString = "${ocr.cache.purge-interval-ms:3600000}", initialDelay = 90000)
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Integer deleted = writeTransaction.execute(status -> ocrResultCacheRepository.deleteExpired(LocalDateTime.now()));
+            if (deleted != null && deleted > 0) {
+                log.info("만료된 OCR 결과 캐시 정리 완료: 삭제 개수={}", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("만료된 OCR 결과 캐시 정리 실패: 오류={}", e.getMessage());
+        }
+    }
+    
+    private Optional<CachedOcrResult> findByHash(String imageHash, String matchType) {
+        CachedOcrResult cached = memoryCache.get(imageHash);
+        if (cached != null && cached.expiresAt().isBefore(LocalDateTime.now())) {
+            memoryCache.remove(imageHash);
+            cached = null;
+        }
+        if (cached != null) {
+            counter("hit_memory_" + matchType).increment();
+            return Optional.of(cached);
+        }
+        
+        try {
+            Optional<OcrResultCache> row = ocrResultCacheRepository.findById(imageHash)
+                    .filter(entity -> entity.getExpiresAt().isAfter(LocalDateTime.now()));
+            if (row.isPresent()) {
+                OcrResultCache entity = row.get();
+                List<String> ingredients = entity.getIngredients() != null
+                        ? objectMapper.readValue(entity.getIngredients(), new TypeReference<List<String>>() {})
+                        : List.of();
+                CachedOcrResult promoted = new CachedOcrResult(
+                        entity.getOcrText(), entity.getCleanedText(), ingredients, entity.getExpiresAt());
+                memoryCache.put(imageHash, promoted);
+                counter("hit_db_" + matchType).increment();
+                return Optional.of(promoted);
+            }
+        } catch (Exception e) {
+            log.warn("OCR 결과 캐시 DB 조회 실패 (캐시 미적중으로 처리): 오류={}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+    
+    private String findSimilar(long perceptualHash) {
+        String best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        synchronized (perceptualIndex) {
+            for (Map.Entry<String, Long> entry : perceptualIndex.entrySet()) {
+                int distance = Long.bitCount(entry.getValue() ^ perceptualHash);
+                if (distance <= perceptualMaxDistance && distance < bestDistance) {
+                    best = entry.getKey();
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * dHash: 9x8 흑백 축소 후 가로로 인접한 픽셀 밝기 비교 (64비트)
+     * 재압축, 크기 변경, 약간의 밝기 차이에는 거의 변하지 않음
+     */
+    private Long differenceHash(byte[] imageBytes) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            BufferedImage source;
+            try {
+                reader.setInput(input, true, true);
+                // 해시에는 작은 이미지면 충분하므로 디코딩 단계에서 크게 서브샘플링
+                int subsampling = Math.max(1, Math.min(reader.getWidth(0), reader.getHeight(0)) / 64);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                source = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+            
+            BufferedImage small = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+            Graphics2D g = small.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(source, 0, 0, 9, 8, null);
+            } finally {
+                g.dispose();
+            }
+            
+            long hash = 0L;
+            int bit = 0;
+            for (int y = 0; y < 8; y++) {
+                for (int x = 0; x < 8; x++) {
+                    int left = small.getRaster().getSample(x, y, 0);
+                    int right = small.getRaster().getSample(x + 1, y, 0);
+                    if (left > right) {
+                        hash |= 1L << bit;
+                    }
+                    bit++;
+                }
+            }
+            return hash;
+        } catch (Exception e) {
+            log.debug("지각 해시 계산 실패 (SHA-256만 사용): {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    private Counter counter(String result) {
+        return Counter.builder("ocr.cache.requests")
+                .description("OCR 결과 캐시 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    public record ImageKey(String sha256, Long perceptualHash) {
+    }
+    
+    public record CachedOcrResult(String ocrText, String cleanedText, List<String> ingredients, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.sxxm.med.ocr.service;
+
+import com.sxxm.med.common.RequestDeadline;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 Tesseract OCR 엔진 (tesseract 실행 파일 + kor/eng 학습 데이터 필요)
+ * 네트워크/할당량 없이 처리하며, 단어별 신뢰도 평균을 함께 반환해 Vision 재시도 여부 판단에 사용
+ * 프로세스 수는 ocr.tesseract.max-concurrency로 제한
+ */
+@Component
+@Slf4j
+public class TesseractOcrEngine implements OcrEngine {
+    
+    @Value("${ocr.tesseract.command:tesseract}")
+    private String command;
+    
+    @Value("${ocr.tesseract.languages:kor+eng}")
+    private String languages;
+    
+    // 6: 하나의 균일한 텍스트 블록으로 가정 (성분표에 적합)
+    @Value("${ocr.tesseract.psm:6}")
+    private int pageSegmentationMode;
+    
+    // 비어 있으면 TESSDATA_PREFIX 환경 변수 또는 설치 기본 경로 사용
+    @Value("${ocr.tesseract.tessdata-path:}")
+    private String tessdataPath;
+    
+    @Value("${ocr.tesseract.timeout-ms:20000}")
+    private long timeoutMs;
+    
+    @Value("${ocr.tesseract.max-concurrency:2}")
+    private int maxConcurrency;
+    
+    private Semaphore permits;
+    private volatile Boolean available;
+    
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(Math.max(1, maxConcurrency));
+    }
+    
+    @Override
+    public String name() {
+        return "tesseract";
+    }
+    
+    /**
+     * 처음 호출 시 tesseract --list-langs로 실행 파일과 학습 데이터를 확인하고 결과를 유지
+     */
+    @Override
+    public boolean isAvailable() {
+        Boolean checked = available;
+        if (checked == null) {
+            synchronized (this) {
+                if (available == null) {
+                    available = checkInstallation();
+                }
+                checked = available;
+            }
+        }
+        return checked;
+    }
+    
+    @Override
+    public Result recognize(byte[] preparedBytes) {
+        Duration timeout = RequestDeadline.timeout(Duration.ofMillis(timeoutMs), "Tesseract OCR");
+        long startNanos = System.nanoTime();
+        boolean acquired = false;
+        Path input = null;
+        Path output = null;
+        try {
+            acquired = permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                throw new RuntimeException("Tesseract OCR 대기열이 가득 찼습니다");
+            }
+            input = Files.createTempFile("ocr-tesseract-", ".img");
+            output = Files.createTempFile("ocr-tesseract-", ".tsv");
+            Files.write(input, preparedBytes);
+            
+            List<String> args = new ArrayList<>(Arrays.asList(command, input.toString(), "stdout",
+                    "-l", languages, "--psm", Integer.toString(pageSegmentationMode)));
+            if (!tessdataPath.isBlank()) {
+                args.add("--tessdata-dir");
+                args.add(tessdataPath);
+            }
+            args.add("tsv");
+            
+            Process process = new ProcessBuilder(args)
+                    .redirectOutput(output.toFile())
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            long remainingMs = timeout.toMillis() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            if (!process.waitFor(Math.max(1, remainingMs), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                throw new RuntimeException("Tesseract OCR 시간 초과: " + timeout.toMillis() + "ms");
+            }
+            if (process.exitValue() != 0) {
+                throw new RuntimeException("Tesseract OCR 실패: 종료 코드=" + process.exitValue());
+            }
+            
+            Result result = parseTsv(Files.readString(output, StandardCharsets.UTF_8));
+            log.info("Tesseract OCR 완료: 텍스트 길이={}, 신뢰도={}, 소요 시간={}ms", result.text().length(),
+                    result.confidence(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Tesseract OCR 처리 중 인터럽트되었습니다", e);
+        } catch (IOException e) {
+            throw new RuntimeException("Tesseract OCR 실행 중 오류가 발생했습니다: " + e.getMessage(), e);
+        } finally {
+            if (acquired) {
+                permits.release();
+            }
+            deleteQuietly(input);
+            deleteQuietly(output);
+        }
+    }
+    
+    /**
+     * TSV 출력 (level, page, block, par, line, word, left, top, width, height, conf, text)에서
+     * 줄 단위로 단어를 이어 붙이고, 글자 수 가중 평균 신뢰도 계산
+     */
+    Result parseTsv(String tsv) {
+        StringBuilder text = new StringBuilder();
+        String currentLine = null;
+        double weightedConfidence = 0;
+        long weight = 0;
+        
+        for (String row : tsv.split("\n")) {
+            String[] columns = row.split("\t", -1);
+            if (columns.length < 12 || !"5".equals(columns[0])) {
+                continue; // 헤더 또는 단어가 아닌 행
+            }
+            String word = columns[11].trim();
+            double confidence;
+            try {
+                confidence = Double.parseDouble(columns[10]);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if (word.isEmpty() || confidence < 0) {
+                continue;
+            }
+            
+            String lineKey = columns[1] + "." + columns[2] + "." + columns[3] + "." + columns[4];
+            if (currentLine != null) {
+                text.append(lineKey.equals(currentLine) ? ' ' : '\n');
+            }
+            currentLine = lineKey;
+            text.append(word);
+            
+            weightedConfidence += confidence * word.length();
+            weight += word.length();
+        }
+        return new Result(text.toString(), weight > 0 ? weightedConfidence / weight / 100.0 : 0.0);
+    }
+    
+    private boolean checkInstallation() {
+        try {
+            List<String> args = new ArrayList<>(Arrays.asList(command, "--list-langs"));
+            if (!tessdataPath.isBlank()) {
+                args.add("--tessdata-dir");
+                args.add(tessdataPath);
+            }
+            Process process = new ProcessBuilder(args).redirectErrorStream(true).start();
+            String installed = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            if (!process.waitFor(5, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                process.destroyForcibly();
+                log.warn("Tesseract 확인 실패: command={}", command);
+                return false;
+            }
+            List<String> installedLanguages = Arrays.stream(installed.split("\\R")).map(String::trim).toList();
+            for (String language : languages.split("\\+")) {
+                if (!installedLanguages.contains(language)) {
+                    log.warn("Tesseract 학습 데이터 없음: language={}, 설치된 언어={}", language, installedLanguages);
+                    return false;
+                }
+            }
+            log.info("Tesseract 사용 가능: command={}, languages={}", command, languages);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (IOException e) {
+            log.warn("Tesseract 실행 파일을 찾을 수 없습니다: command={}, 오류={}", command, e.getMessage());
+            return false;
+        }
+    }
+    
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Tesseract 임시 파일 삭제 실패: {}", path);
+        }
+    }
+}
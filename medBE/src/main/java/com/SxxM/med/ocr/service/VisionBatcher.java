@@ -0,0 +1,243 @@
+package com.sxxm.med.ocr.service;
+
+import com.google.api.gax.grpc.GrpcCallContext;
+import com.google.cloud.vision.v1.AnnotateImageRequest;
+import com.google.cloud.vision.v1.AnnotateImageResponse;
+import com.google.cloud.vision.v1.BatchAnnotateImagesRequest;
+import com.google.cloud.vision.v1.BatchAnnotateImagesResponse;
+import com.sxxm.med.common.RequestDeadlineExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Vision OCR 요청 묶음 처리
+ * 동시에 들어온 이미지들을 잠깐(google.vision.batch.max-wait-ms) 모았다가 batchAnnotateImages 한 번으로 보내고,
+ * 응답 순서대로 각 호출자에게 결과를 돌려줌
+ * - 한 번에 최대 16장 (Vision API 제한), 요청 크기 합계가 max-bytes를 넘으면 먼저 전송
+ * - 이미지별 오류(AnnotateImageResponse.error)는 해당 호출자에게만 전달
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VisionBatcher {
+    
+    private static final int VISION_MAX_BATCH_SIZE = 16;
+    
+    private final VisionClientManager visionClientManager;
+    private final MeterRegistry meterRegistry;
+    
+    @Qualifier("visionBatchExecutor")
+    private final TaskExecutor visionBatchExecutor;
+    
+    @Value("${google.vision.batch.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${google.vision.batch.max-size:16}")
+    private int maxSize;
+    
+    @Value("${google.vision.batch.max-wait-ms:5}")
+    private long maxWaitMs;
+    
+    @Value("${google.vision.batch.max-bytes:8388608}")
+    private long maxBytes;
+    
+    // 크기 제한 때문에 묶음에 넣지 못한 이미지를 맨 앞에 되돌려 놓을 수 있도록 Deque 사용
+    private final LinkedBlockingDeque<PendingImage> queue = new LinkedBlockingDeque<>();
+    private DistributionSummary batchSizeSummary;
+    private Timer batchCallTimer;
+    private Thread dispatcher;
+    private volatile boolean running;
+    
+    @PostConstruct
+    public void init() {
+        maxSize = Math.max(1, Math.min(maxSize, VISION_MAX_BATCH_SIZE));
+        batchSizeSummary = DistributionSummary.builder("vision.batch.size")
+                .description("Vision batchAnnotateImages 호출당 이미지 수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchCallTimer = Timer.builder("vision.batch.call")
+                .description("Vision batchAnnotateImages 호출 시간")
+                .register(meterRegistry);
+        
+        if (enabled) {
+            running = true;
+            dispatcher = new Thread(this::dispatchLoop, "vision-batcher");
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+        }
+        log.info("Vision 묶음 처리 초기화: enabled={}, maxSize={}, maxWaitMs={}, maxBytes={}",
+                enabled, maxSize, maxWaitMs, maxBytes);
+    }
+    
+    /**
+     * 이미지 한 장 OCR (다른 요청과 묶여 전송될 수 있음)
+     *
+     * @param timeout 호출자의 남은 처리 시간 (대기 + Vision 호출 포함)
+     */
+    public AnnotateImageResponse annotate(AnnotateImageRequest request, Duration timeout) {
+        PendingImage pending = new PendingImage(request, System.nanoTime() + timeout.toNanos());
+        if (enabled) {
+            queue.add(pending);
+        } else {
+            send(List.of(pending));
+        }
+        return await(pending, timeout);
+    }
+    
+    private AnnotateImageResponse await(PendingImage pending, Duration timeout) {
+        try {
+            return pending.future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            pending.future.cancel(false);
+            throw new RequestDeadlineExceededException("Vision API 응답 대기 시간이 초과되었습니다");
+        } catch (InterruptedException e) {
+            pending.future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Vision API 호출이 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+    
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                PendingImage first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingImage> batch = new ArrayList<>(maxSize);
+                batch.add(first);
+                long bytes = first.request.getSerializedSize();
+                long flushAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                
+                while (batch.size() < maxSize) {
+                    long waitNanos = flushAt - System.nanoTime();
+                    PendingImage next = waitNanos > 0 ? queue.poll(waitNanos, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    // 기다리는 동안 들어온 이미지도 크기를 확인하고, 넘치면 맨 앞에 되돌려 다음 묶음의 첫 이미지로
+                    int size = next.request.getSerializedSize();
+                    if (bytes + size > maxBytes) {
+                        queue.offerFirst(next);
+                        break;
+                    }
+                    batch.add(next);
+                    bytes += size;
+                }
+                
+                List<PendingImage> active = batch.stream().filter(item -> !item.future.isDone()).toList();
+                if (!active.isEmpty()) {
+                    // 전송은 별도 스레드에서 수행해 다음 묶음을 계속 모을 수 있게 함
+                    visionBatchExecutor.execute(() -> send(active));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Vision 묶음 처리 중 오류", e);
+            }
+        }
+    }
+    
+    private void send(List<PendingImage> batch) {
+        BatchAnnotateImagesRequest.Builder requestBuilder = BatchAnnotateImagesRequest.newBuilder();
+        long latestDeadline = Long.MIN_VALUE;
+        for (PendingImage item : batch) {
+            requestBuilder.addRequests(item.request);
+            latestDeadline = Math.max(latestDeadline, item.deadlineNanos);
+        }
+        long timeoutMs = TimeUnit.NANOSECONDS.toMillis(latestDeadline - System.nanoTime());
+        if (timeoutMs <= 0) {
+            batch.forEach(item -> item.future.completeExceptionally(
+                    new RequestDeadlineExceededException("요청 처리 기한이 지나 Vision API 호출을 건너뜁니다")));
+            return;
+        }
+        
+        batchSizeSummary.record(batch.size());
+        long startNanos = System.nanoTime();
+        try {
+            BatchAnnotateImagesResponse response = visionClientManager.getClient().batchAnnotateImagesCallable().call(
+                    requestBuilder.build(),
+                    GrpcCallContext.createDefault().withTimeout(org.threeten.bp.Duration.ofMillis(timeoutMs)));
+            batchCallTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            
+            List<AnnotateImageResponse> responses = response.getResponsesList();
+            for (int i = 0; i < batch.size(); i++) {
+                PendingImage item = batch.get(i);
+                if (i >= responses.size()) {
+                    item.future.completeExceptionally(new RuntimeException("Vision API 응답에 이미지 결과가 없습니다"));
+                    continue;
+                }
+                AnnotateImageResponse imageResponse = responses.get(i);
+                if (imageResponse.hasError() && imageResponse.getError().getCode() != 0) {
+                    item.future.completeExceptionally(toImageError(imageResponse.getError()));
+                } else {
+                    item.future.complete(imageResponse);
+                }
+            }
+        } catch (Exception e) {
+            batchCallTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            // 묶음 전체 실패 (인증, 할당량, 네트워크 등): 모든 호출자에게 같은 예외 전달
+            batch.forEach(item -> item.future.completeExceptionally(e));
+        }
+    }
+    
+    /**
+     * 이미지별 오류 변환 (google.rpc.Code: 3 INVALID_ARGUMENT, 8 RESOURCE_EXHAUSTED 등)
+     */
+    private RuntimeException toImageError(com.google.rpc.Status status) {
+        return switch (status.getCode()) {
+            case 3 -> new RuntimeException("이미지를 처리할 수 없습니다 (손상되었거나 지원하지 않는 형식): " + status.getMessage());
+            case 8 -> new RuntimeException("Vision API 할당량이 초과되었거나 리소스가 부족합니다: " + status.getMessage());
+            default -> new RuntimeException("Vision API 이미지 처리 오류 (code=" + status.getCode() + "): " + status.getMessage());
+        };
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        PendingImage remaining;
+        while ((remaining = queue.poll()) != null) {
+            remaining.future.completeExceptionally(new CancellationException("서버 종료로 Vision 요청이 취소되었습니다"));
+        }
+    }
+    
+    private static final class PendingImage {
+        private final AnnotateImageRequest request;
+        private final long deadlineNanos;
+        private final CompletableFuture<AnnotateImageResponse> future = new CompletableFuture<>();
+        
+        private PendingImage(AnnotateImageRequest request, long deadlineNanos) {
+            this.request = request;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
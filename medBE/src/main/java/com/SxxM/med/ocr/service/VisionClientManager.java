@@ -0,0 +1,168 @@
+package com.sxxm.med.ocr.service;
+
+import com.google.api.gax.core.FixedCredentialsProvider;
+import com.google.api.gax.grpc.GrpcTransportChannel;
+import com.google.api.gax.rpc.FixedTransportChannelProvider;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.vision.v1.ImageAnnotatorClient;
+import com.google.cloud.vision.v1.ImageAnnotatorSettings;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Google Vision 클라이언트 수명 관리
+ * 요청마다 클라이언트를 만들면 인증/채널 연결 비용이 매번 들고 예외 시 채널이 누수되므로,
+ * 애플리케이션 전체에서 gRPC 채널 하나를 공유하는 클라이언트를 사용
+ * - 시작 시 인증 토큰 발급 + 채널 연결을 미리 수행 (google.vision.warmup.enabled)
+ * - 초기화에 실패하면 첫 OCR 요청에서 다시 시도
+ * - 종료 시 클라이언트와 채널을 정리
+ */
+@Component
+@Slf4j
+public class VisionClientManager {
+    
+    @Value("${google.vision.credentials.path:}")
+    private String credentialsPath;
+    
+    @Value("${google.vision.endpoint:vision.googleapis.com:443}")
+    private String endpoint;
+    
+    @Value("${google.vision.warmup.enabled:true}")
+    private boolean warmupEnabled;
+    
+    @Value("${google.vision.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+    
+    private volatile ImageAnnotatorClient client;
+    private volatile ManagedChannel channel;
+    private volatile String lastError;
+    
+    /**
+     * 시작 직후 비동기로 미리 연결 (인증 정보가 없거나 실패해도 애플리케이션 시작은 계속)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmupEnabled) {
+            return;
+        }
+        try {
+            getClient();
+            log.info("Google Vision 클라이언트 준비 완료: endpoint={}, channelState={}", endpoint, getChannelState());
+        } catch (Exception e) {
+            log.warn("Google Vision 클라이언트 사전 초기화 실패 (첫 요청 시 재시도): {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 공유 클라이언트 반환 (없으면 생성)
+     * 반환된 클라이언트는 호출자가 닫으면 안 됨
+     */
+    public ImageAnnotatorClient getClient() {
+        ImageAnnotatorClient current = client;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (client == null) {
+                client = createClient();
+            }
+            return client;
+        }
+    }
+    
+    private ImageAnnotatorClient createClient() {
+        ManagedChannel newChannel = null;
+        try {
+            GoogleCredentials credentials = loadCredentials();
+            // OAuth 토큰을 미리 발급받아 첫 요청에서 토큰 교환 지연이 없도록 함
+            credentials.refreshIfExpired();
+            
+            newChannel = ManagedChannelBuilder.forTarget(endpoint)
+                    .maxInboundMessageSize(Integer.MAX_VALUE)
+                    .keepAliveTime(60, TimeUnit.SECONDS)
+                    .build();
+            // 연결 시작 (TLS 핸드셰이크를 첫 요청 전에 수행)
+            newChannel.getState(true);
+            
+            ImageAnnotatorSettings settings = ImageAnnotatorSettings.newBuilder()
+                    .setCredentialsProvider(FixedCredentialsProvider.create(credentials))
+                    .setTransportChannelProvider(FixedTransportChannelProvider.create(GrpcTransportChannel.create(newChannel)))
+                    .build();
+            ImageAnnotatorClient created = ImageAnnotatorClient.create(settings);
+            channel = newChannel;
+            lastError = null;
+            return created;
+        } catch (Exception e) {
+            if (newChannel != null) {
+                newChannel.shutdownNow();
+            }
+            lastError = e.getMessage();
+            throw new RuntimeException("Google Vision 클라이언트를 초기화할 수 없습니다: " + e.getMessage(), e);
+        }
+    }
+    
+    private GoogleCredentials loadCredentials() throws IOException {
+        GoogleCredentials credentials;
+        if (credentialsPath != null && !credentialsPath.isEmpty()) {
+            try (InputStream in = new FileInputStream(credentialsPath)) {
+                credentials = GoogleCredentials.fromStream(in);
+            }
+        } else {
+            credentials = GoogleCredentials.getApplicationDefault();
+        }
+        return credentials.createScopedRequired()
+                ? credentials.createScoped(ImageAnnotatorSettings.getDefaultServiceScopes())
+                : credentials;
+    }
+    
+    /**
+     * 채널 상태 (연결을 새로 시도하지 않음, 클라이언트가 없으면 null)
+     */
+    public ConnectivityState getChannelState() {
+        ManagedChannel current = channel;
+        return current != null ? current.getState(false) : null;
+    }
+    
+    public boolean isInitialized() {
+        return client != null;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        ImageAnnotatorClient current = client;
+        client = null;
+        if (current != null) {
+            current.shutdown();
+            try {
+                if (!current.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    current.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                current.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        ManagedChannel currentChannel = channel;
+        channel = null;
+        if (currentChannel != null && !currentChannel.isShutdown()) {
+            currentChannel.shutdownNow();
+        }
+        log.info("Google Vision 클라이언트 종료");
+    }
+}
@@ -0,0 +1,38 @@
+package com.sxxm.med.ocr.service;
+
+import io.grpc.ConnectivityState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/health 의 vision 항목 (Vision gRPC 채널 상태)
+ * 채널 상태만 조회하며 Vision API를 호출하지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class VisionHealthIndicator implements HealthIndicator {
+    
+    private final VisionClientManager visionClientManager;
+    
+    @Override
+    public Health health() {
+        if (!visionClientManager.isInitialized()) {
+            Health.Builder builder = Health.unknown().withDetail("initialized", false);
+            if (visionClientManager.getLastError() != null) {
+                builder.withDetail("error", visionClientManager.getLastError());
+            }
+            return builder.build();
+        }
+        
+        ConnectivityState state = visionClientManager.getChannelState();
+        Health.Builder builder = state == ConnectivityState.TRANSIENT_FAILURE || state == ConnectivityState.SHUTDOWN
+                ? Health.down()
+                : Health.up();
+        return builder
+                .withDetail("initialized", true)
+                .withDetail("channelState", String.valueOf(state))
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.sxxm.med.ocr.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Google Vision TEXT_DETECTION 엔진 (공유 클라이언트 + 요청 묶음 전송은 VisionService/VisionBatcher가 담당)
+ */
+@Component
+@RequiredArgsConstructor
+public class VisionOcrEngine implements OcrEngine {
+    
+    private final VisionService visionService;
+    
+    @Override
+    public String name() {
+        return "vision";
+    }
+    
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+    
+    @Override
+    public Result recognize(byte[] preparedBytes) {
+        return new Result(visionService.extractTextFromPreparedBytes(preparedBytes), null);
+    }
+}
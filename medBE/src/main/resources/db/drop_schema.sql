@@ -9,11 +9,21 @@ DROP TRIGGER IF EXISTS update_user_allergies_updated_at ON user_allergies;
 DROP TRIGGER IF EXISTS update_side_effect_reports_updated_at ON side_effect_reports;
 DROP TRIGGER IF EXISTS update_ocr_ingredients_updated_at ON ocr_ingredients;
 DROP TRIGGER IF EXISTS update_posts_updated_at ON posts;
+DROP TRIGGER IF EXISTS update_posts_search_vector ON posts;
 
 -- 함수 삭제
 DROP FUNCTION IF EXISTS update_updated_at_column();
+DROP FUNCTION IF EXISTS update_posts_search_vector();
+DROP FUNCTION IF EXISTS med_post_search_vector(TEXT, TEXT);
+DROP FUNCTION IF EXISTS med_search_query(TEXT);
+DROP FUNCTION IF EXISTS med_search_document_grams(TEXT);
+DROP FUNCTION IF EXISTS med_search_bigrams(TEXT);
 
 -- 테이블 삭제 (외래키 제약조건 때문에 순서 중요)
+DROP TABLE IF EXISTS ocr_result_cache CASCADE;
+DROP TABLE IF EXISTS moderation_verdict_cache CASCADE;
+DROP TABLE IF EXISTS moderation_queue CASCADE;
+DROP TABLE IF EXISTS gpt_response_cache CASCADE;
 DROP TABLE IF EXISTS comments CASCADE;
 DROP TABLE IF EXISTS posts CASCADE;
 DROP TABLE IF EXISTS ocr_ingredient_list CASCADE;
@@ -73,7 +73,12 @@ CREATE TABLE IF NOT EXISTS posts (
     author_id BIGINT NOT NULL,
     title VARCHAR(255) NOT NULL,
     content TEXT NOT NULL,
+    excerpt VARCHAR(200),
     category VARCHAR(100),
+    moderation_status VARCHAR(20) NOT NULL DEFAULT 'APPROVED',
+    content_simhash BIGINT,
+    like_count BIGINT NOT NULL DEFAULT 0,
+    search_vector TSVECTOR,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT fk_post_author FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE
@@ -85,6 +90,9 @@ CREATE TABLE IF NOT EXISTS comments (
     post_id BIGINT NOT NULL,
     author_id BIGINT NOT NULL,
     content TEXT NOT NULL,
+    moderation_status VARCHAR(20) NOT NULL DEFAULT 'APPROVED',
+    content_simhash BIGINT,
+    like_count BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT fk_comment_post FOREIGN KEY (post_id) REFERENCES posts(id) ON DELETE CASCADE,
     CONSTRAINT fk_comment_author FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE
@@ -112,43 +120,51 @@ CREATE TABLE IF NOT EXISTS comment_likes (
     CONSTRAINT uk_comment_like UNIQUE (comment_id, user_id)
 );
 
--- ============================================
--- 인덱스 생성
--- ============================================
-
--- 사용자 테이블 인덱스
-CREATE INDEX IF NOT EXISTS idx_users_username ON users(username);
-CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
-
--- 사용자 알러지 테이블 인덱스
-CREATE INDEX IF NOT EXISTS idx_user_allergies_user_id ON user_allergies(user_id);
-
--- 부작용 보고서 테이블 인덱스
-CREATE INDEX IF NOT EXISTS idx_side_effect_reports_user_id ON side_effect_reports(user_id);
-
--- OCR 성분 테이블 인덱스
-CREATE INDEX IF NOT EXISTS idx_ocr_ingredients_user_id ON ocr_ingredients(user_id);
-
--- 게시글 테이블 인덱스
-CREATE INDEX IF NOT EXISTS idx_posts_author_id ON posts(author_id);
-CREATE INDEX IF NOT EXISTS idx_posts_category ON posts(category);
-CREATE INDEX IF NOT EXISTS idx_posts_created_at ON posts(created_at DESC);
+-- GPT 응답 캐시 테이블 (cache_key = SHA-256(모델 + 메시지 목록 + 요청 옵션))
+CREATE TABLE IF NOT EXISTS gpt_response_cache (
+    cache_key VARCHAR(64) PRIMARY KEY,
+    model VARCHAR(100) NOT NULL,
+    call_site VARCHAR(50),
+    content TEXT NOT NULL,
+    total_tokens INTEGER,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
 
--- 댓글 테이블 인덱스
-CREATE INDEX IF NOT EXISTS idx_comments_post_id ON comments(post_id);
-CREATE INDEX IF NOT EXISTS idx_comments_author_id ON comments(author_id);
-CREATE INDEX IF NOT EXISTS idx_comments_created_at ON comments(created_at DESC);
+-- 게시글/댓글 비동기 검증 대기열 (대상당 1건, revision으로 처리 중 수정 감지)
+CREATE TABLE IF NOT EXISTS moderation_queue (
+    id BIGSERIAL PRIMARY KEY,
+    target_type VARCHAR(20) NOT NULL,
+    target_id BIGINT NOT NULL,
+    revision INTEGER NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_moderation_queue_target UNIQUE (target_type, target_id)
+);
 
--- 게시글 좋아요 테이블 인덱스
-CREATE INDEX IF NOT EXISTS idx_post_likes_post_id ON post_likes(post_id);
-CREATE INDEX IF NOT EXISTS idx_post_likes_user_id ON post_likes(user_id);
+-- 콘텐츠 검증 결과 캐시 (content_hash = 정규화된 본문의 SHA-256, simhash = 근사 중복 탐지용 지문)
+CREATE TABLE IF NOT EXISTS moderation_verdict_cache (
+    content_hash VARCHAR(64) PRIMARY KEY,
+    simhash BIGINT NOT NULL,
+    verdict VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
 
--- 댓글 좋아요 테이블 인덱스
-CREATE INDEX IF NOT EXISTS idx_comment_likes_comment_id ON comment_likes(comment_id);
-CREATE INDEX IF NOT EXISTS idx_comment_likes_user_id ON comment_likes(user_id);
+-- OCR 결과 캐시 테이블 (이미지 내용 해시 기준)
+CREATE TABLE IF NOT EXISTS ocr_result_cache (
+    image_hash VARCHAR(64) PRIMARY KEY,
+    perceptual_hash BIGINT,
+    ocr_text TEXT NOT NULL,
+    cleaned_text TEXT,
+    ingredients TEXT,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
 
 -- ============================================
 -- 트리거 생성 (updated_at 자동 업데이트)
+-- 아래 기존 데이터 채우기(UPDATE posts ...)가 updated_at을 바꾸지 않도록 먼저 생성
 -- ============================================
 
 -- updated_at 자동 업데이트 함수
@@ -189,12 +205,177 @@ CREATE TRIGGER update_ocr_ingredients_updated_at
     EXECUTE FUNCTION update_updated_at_column();
 
 -- posts 테이블 트리거
+-- 화면의 '수정됨' 표시에 쓰이므로 제목/본문/카테고리가 바뀔 때만 갱신
+-- (좋아요 수 증감/보정, 검증 상태, 요약/검색 벡터 채우기는 수정이 아님)
 DROP TRIGGER IF EXISTS update_posts_updated_at ON posts;
 CREATE TRIGGER update_posts_updated_at
     BEFORE UPDATE ON posts
     FOR EACH ROW
+    WHEN (OLD.title IS DISTINCT FROM NEW.title
+        OR OLD.content IS DISTINCT FROM NEW.content
+        OR OLD.category IS DISTINCT FROM NEW.category)
     EXECUTE FUNCTION update_updated_at_column();
 
+-- 기존 데이터베이스용 컬럼 추가
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS moderation_status VARCHAR(20) NOT NULL DEFAULT 'APPROVED';
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS moderation_status VARCHAR(20) NOT NULL DEFAULT 'APPROVED';
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS content_simhash BIGINT;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS content_simhash BIGINT;
+-- 기존 행의 좋아요 수는 LikeCountReconciler가 채움
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS like_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS like_count BIGINT NOT NULL DEFAULT 0;
+-- 기존 행의 검색 벡터는 아래 트리거 생성 후 채움
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS search_vector TSVECTOR;
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS excerpt VARCHAR(200);
+
+-- 기존 게시글 목록 요약 채우기 (PostExcerpt.of와 같은 규칙: 태그/마크다운 기호 제거, 공백 정리, 200자)
+UPDATE posts SET excerpt = (
+    SELECT CASE WHEN char_length(cleaned) <= 200 THEN cleaned ELSE rtrim(left(cleaned, 199)) || '…' END
+    FROM (
+        SELECT btrim(regexp_replace(
+            regexp_replace(
+                regexp_replace(
+                    regexp_replace(
+                        regexp_replace(
+                            regexp_replace(content, '<[^>]*>', ' ', 'g'),
+                        '!\[[^]]*]\([^)]*\)', ' ', 'g'),
+                    '\[([^]]*)]\([^)]*\)', '\1', 'g'),
+                '^\s*(#{1,6}|>+|[-*+])\s+', '', 'gn'),
+            '[*_`~]+', '', 'g'),
+        '\s+', ' ', 'g')) AS cleaned
+    ) c
+)
+WHERE excerpt IS NULL;
+
+-- ============================================
+-- 인덱스 생성
+-- ============================================
+
+-- 사용자 테이블 인덱스
+CREATE INDEX IF NOT EXISTS idx_users_username ON users(username);
+CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
+
+-- 사용자 알러지 테이블 인덱스
+CREATE INDEX IF NOT EXISTS idx_user_allergies_user_id ON user_allergies(user_id);
+
+-- 부작용 보고서 테이블 인덱스
+CREATE INDEX IF NOT EXISTS idx_side_effect_reports_user_id ON side_effect_reports(user_id);
+
+-- OCR 성분 테이블 인덱스
+CREATE INDEX IF NOT EXISTS idx_ocr_ingredients_user_id ON ocr_ingredients(user_id);
+
+-- 게시글 테이블 인덱스
+CREATE INDEX IF NOT EXISTS idx_posts_author_id ON posts(author_id);
+CREATE INDEX IF NOT EXISTS idx_posts_category ON posts(category);
+CREATE INDEX IF NOT EXISTS idx_posts_created_at ON posts(created_at DESC);
+
+-- 댓글 테이블 인덱스
+CREATE INDEX IF NOT EXISTS idx_comments_post_id ON comments(post_id);
+CREATE INDEX IF NOT EXISTS idx_comments_author_id ON comments(author_id);
+CREATE INDEX IF NOT EXISTS idx_comments_created_at ON comments(created_at DESC);
+
+-- 게시글 좋아요 테이블 인덱스
+CREATE INDEX IF NOT EXISTS idx_post_likes_post_id ON post_likes(post_id);
+CREATE INDEX IF NOT EXISTS idx_post_likes_user_id ON post_likes(user_id);
+
+-- 댓글 좋아요 테이블 인덱스
+CREATE INDEX IF NOT EXISTS idx_comment_likes_comment_id ON comment_likes(comment_id);
+CREATE INDEX IF NOT EXISTS idx_comment_likes_user_id ON comment_likes(user_id);
+
+-- GPT 응답 캐시 테이블 인덱스 (만료 항목 정리용)
+CREATE INDEX IF NOT EXISTS idx_gpt_response_cache_expires_at ON gpt_response_cache(expires_at);
+
+-- 게시글 공개 목록 조회 (moderation_status = 'APPROVED' 필터 + 최신순)
+-- id까지 포함해 커서 (created_at, id) 다음 위치를 인덱스에서 바로 찾음 (기존 2컬럼 인덱스 대체)
+DROP INDEX IF EXISTS idx_posts_moderation_status_created_at;
+CREATE INDEX IF NOT EXISTS idx_posts_moderation_status_created_at_id ON posts(moderation_status, created_at DESC, id DESC);
+
+-- 카테고리별 커서 목록
+CREATE INDEX IF NOT EXISTS idx_posts_category_moderation_status_created_at_id ON posts(category, moderation_status, created_at DESC, id DESC);
+
+-- 게시글별 댓글 커서 목록 (오래된 순)
+CREATE INDEX IF NOT EXISTS idx_comments_post_id_created_at_id ON comments(post_id, created_at, id);
+
+-- 검증 대기열 인덱스 (워커가 처리 가능 시각 순으로 조회)
+CREATE INDEX IF NOT EXISTS idx_moderation_queue_available_at ON moderation_queue(available_at);
+
+-- 검증 결과 캐시 인덱스 (시작 시 최근 거절 지문 적재, 오래된 항목 정리)
+CREATE INDEX IF NOT EXISTS idx_moderation_verdict_cache_verdict_created_at ON moderation_verdict_cache(verdict, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_moderation_verdict_cache_created_at ON moderation_verdict_cache(created_at);
+CREATE INDEX IF NOT EXISTS idx_ocr_result_cache_expires_at ON ocr_result_cache(expires_at);
+CREATE INDEX IF NOT EXISTS idx_ocr_result_cache_created_at ON ocr_result_cache(created_at DESC) WHERE perceptual_hash IS NOT NULL;
+
+-- 게시글 검색 (제목/본문 2-gram 검색 벡터)
+CREATE INDEX IF NOT EXISTS idx_posts_search_vector ON posts USING GIN (search_vector);
+
+-- ============================================
+-- 게시글 검색 벡터 (search_vector 자동 갱신)
+-- 한국어는 조사가 붙고 형태소 분석기가 없으므로 단어별 2글자 조각(2-gram)을 어휘소로 사용
+-- 예: '타이레놀을' → 타이, 이레, 레놀, 놀을 / 검색어 '타이레놀' → 타이 & 이레 & 레놀
+-- 한 글자 검색어('약')도 찾을 수 있도록 저장 시에는 글자 단위 조각(1-gram)도 함께 저장
+-- 파서/로케일 설정에 영향을 받지 않도록 array_to_tsvector로 조각을 그대로 저장
+-- ============================================
+
+-- 텍스트 → 2-gram 배열 (한 글자 단어는 그대로, 소문자화, 한글/영숫자 외 문자는 구분자)
+CREATE OR REPLACE FUNCTION med_search_bigrams(input TEXT)
+RETURNS TEXT[] AS $$
+    SELECT COALESCE(array_agg(DISTINCT gram), '{}')
+    FROM (
+        SELECT CASE WHEN char_length(word) = 1 THEN word ELSE substr(word, i, 2) END AS gram
+        FROM regexp_split_to_table(lower(COALESCE(input, '')), '[^0-9a-z가-힣]+') AS word,
+             generate_series(1, GREATEST(char_length(word) - 1, 1)) AS i
+        WHERE word <> ''
+    ) grams;
+$$ LANGUAGE sql IMMUTABLE;
+
+-- 텍스트 → 저장용 조각 배열 (2-gram + 한 글자 검색어용 1-gram)
+-- 검색어는 두 글자 이상이면 2-gram만 쓰므로 1-gram은 한 글자 검색어에만 일치
+CREATE OR REPLACE FUNCTION med_search_document_grams(input TEXT)
+RETURNS TEXT[] AS $$
+    SELECT COALESCE(array_agg(DISTINCT gram), '{}')
+    FROM (
+        SELECT unnest(med_search_bigrams(input)) AS gram
+        UNION
+        SELECT substr(word, i, 1)
+        FROM regexp_split_to_table(lower(COALESCE(input, '')), '[^0-9a-z가-힣]+') AS word,
+             generate_series(1, char_length(word)) AS i
+        WHERE word <> ''
+    ) grams;
+$$ LANGUAGE sql IMMUTABLE;
+
+-- 검색어 → 모든 2-gram을 포함해야 하는 tsquery (조각이 없으면 NULL)
+CREATE OR REPLACE FUNCTION med_search_query(keyword TEXT)
+RETURNS TSQUERY AS $$
+    SELECT CAST(string_agg(quote_literal(gram), ' & ') AS TSQUERY)
+    FROM unnest(med_search_bigrams(keyword)) AS gram;
+$$ LANGUAGE sql IMMUTABLE;
+
+-- 제목(가중치 A) + 본문(가중치 B)
+CREATE OR REPLACE FUNCTION med_post_search_vector(title TEXT, content TEXT)
+RETURNS TSVECTOR AS $$
+    SELECT setweight(array_to_tsvector(med_search_document_grams(title)), 'A')
+        || setweight(array_to_tsvector(med_search_document_grams(content)), 'B');
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION update_posts_search_vector()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector = med_post_search_vector(NEW.title, NEW.content);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS update_posts_search_vector ON posts;
+CREATE TRIGGER update_posts_search_vector
+    BEFORE INSERT OR UPDATE OF title, content ON posts
+    FOR EACH ROW
+    EXECUTE FUNCTION update_posts_search_vector();
+
+-- 기존 게시글 채우기 (1-gram이 없는 이전 형식 벡터도 다시 계산)
+UPDATE posts SET search_vector = med_post_search_vector(title, content)
+WHERE search_vector IS NULL
+   OR NOT EXISTS (SELECT 1 FROM unnest(search_vector) AS lexeme WHERE char_length(lexeme.lexeme) = 1);
+
 -- ============================================
 -- 초기 데이터 (선택적)
 -- ============================================
@@ -0,0 +1,237 @@
+package com.sxxm.med.analysis.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 가짜 시계로 우선순위 순서, 선점 거절, 클래스별 최대 대기 시간, 토큰 예산 충전 확인
+ * 대기 중인 요청은 가짜 시계를 움직인 뒤 wakeWaiters()로 깨우므로 실제 시간 경과에 의존하지 않음
+ */
+class GptRequestSchedulerTest {
+    
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private final List<Attempt> attempts = new ArrayList<>();
+    private GptRequestScheduler scheduler;
+    
+    @BeforeEach
+    void setUp() {
+        scheduler = scheduler(1, 60000L);
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        // 남은 대기 요청이 테스트 뒤에 계속 대기하지 않도록 정리
+        for (Attempt attempt : attempts) {
+            attempt.thread.interrupt();
+            attempt.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+    
+    @Test
+    void higherPriorityEntersFirst() throws InterruptedException {
+        GptRequestScheduler.Permit running = scheduler.acquire(GptPriority.STANDARD, 100);
+        List<GptPriority> order = new CopyOnWriteArrayList<>();
+        
+        Attempt background = start(GptPriority.BACKGROUND, 100, order);
+        awaitQueued(GptPriority.BACKGROUND, 1);
+        Attempt interactive = start(GptPriority.INTERACTIVE, 100, order);
+        awaitQueued(GptPriority.INTERACTIVE, 1);
+        
+        // 늦게 들어온 INTERACTIVE가 먼저 진입
+        scheduler.release(running, 0);
+        interactive.join();
+        assertThat(order).containsExactly(GptPriority.INTERACTIVE);
+        assertThat(queued(GptPriority.BACKGROUND)).isEqualTo(1.0);
+        
+        scheduler.release(interactive.permit, 0);
+        background.join();
+        assertThat(order).containsExactly(GptPriority.INTERACTIVE, GptPriority.BACKGROUND);
+        scheduler.release(background.permit, 0);
+    }
+    
+    @Test
+    void shedsNewestLowerPriorityWaiterWhenQueueIsFull() throws InterruptedException {
+        GptRequestScheduler.Permit running = scheduler.acquire(GptPriority.STANDARD, 100);
+        
+        Attempt older = start(GptPriority.BACKGROUND, 100, null);
+        awaitQueued(GptPriority.BACKGROUND, 1);
+        Attempt newer = start(GptPriority.BACKGROUND, 100, null);
+        awaitQueued(GptPriority.BACKGROUND, 2);
+        
+        // 대기열(2)이 가득 찬 상태에서 INTERACTIVE 진입: 가장 최근 BACKGROUND 선점 거절
+        Attempt interactive = start(GptPriority.INTERACTIVE, 100, null);
+        newer.join();
+        assertThat(newer.failure).isInstanceOf(GptRequestRejectedException.class);
+        assertThat(rejected(GptPriority.BACKGROUND, "preempted")).isEqualTo(1.0);
+        awaitQueued(GptPriority.INTERACTIVE, 1);
+        assertThat(queued(GptPriority.BACKGROUND)).isEqualTo(1.0);
+        
+        // 같은 우선순위 이하에는 선점할 대상이 없으므로 바로 거절
+        assertThatThrownBy(() -> scheduler.acquire(GptPriority.BACKGROUND, 100))
+                .isInstanceOf(GptRequestRejectedException.class);
+        assertThat(rejected(GptPriority.BACKGROUND, "queue_full")).isEqualTo(1.0);
+        
+        scheduler.release(running, 0);
+        interactive.join();
+        scheduler.release(interactive.permit, 0);
+        older.join();
+        assertThat(older.failure).isNull();
+        scheduler.release(older.permit, 0);
+    }
+    
+    @Test
+    void appliesMaxWaitPerPriorityClass() throws InterruptedException {
+        GptRequestScheduler.Permit running = scheduler.acquire(GptPriority.INTERACTIVE, 100);
+        
+        Attempt background = start(GptPriority.BACKGROUND, 100, null);
+        awaitQueued(GptPriority.BACKGROUND, 1);
+        Attempt standard = start(GptPriority.STANDARD, 100, null);
+        awaitQueued(GptPriority.STANDARD, 1);
+        
+        // BACKGROUND 최대 대기 5초 경과
+        advance(6, TimeUnit.SECONDS);
+        background.join();
+        assertThat(background.failure).isInstanceOf(GptRequestRejectedException.class);
+        assertThat(rejected(GptPriority.BACKGROUND, "timeout")).isEqualTo(1.0);
+        assertThat(queued(GptPriority.STANDARD)).isEqualTo(1.0);
+        
+        // STANDARD 최대 대기 15초 경과
+        advance(10, TimeUnit.SECONDS);
+        standard.join();
+        assertThat(standard.failure).isInstanceOf(GptRequestRejectedException.class);
+        assertThat(rejected(GptPriority.STANDARD, "timeout")).isEqualTo(1.0);
+        
+        scheduler.release(running, 0);
+    }
+    
+    @Test
+    void refillsTokenBudgetOverTime() throws InterruptedException {
+        scheduler = scheduler(4, 600L); // 초당 10토큰
+        GptRequestScheduler.Permit first = scheduler.acquire(GptPriority.INTERACTIVE, 600);
+        scheduler.release(first, 0);
+        assertThat(availableTokens()).isEqualTo(0.0);
+        
+        Attempt waiting = start(GptPriority.INTERACTIVE, 300, null);
+        awaitQueued(GptPriority.INTERACTIVE, 1);
+        
+        advance(29, TimeUnit.SECONDS);
+        awaitTokens(290.0);
+        assertThat(waiting.done()).isFalse();
+        
+        // 최대 대기(30초)를 넘겼어도 차례가 오면 진입이 먼저
+        advance(2, TimeUnit.SECONDS);
+        waiting.join();
+        assertThat(waiting.failure).isNull();
+        assertThat(isClose(availableTokens(), 10.0)).isTrue();
+        
+        // 실제 사용량이 예약보다 적으면 차이를 돌려받음
+        scheduler.release(waiting.permit, 100);
+        assertThat(isClose(availableTokens(), 210.0)).isTrue();
+    }
+    
+    private GptRequestScheduler scheduler(int maxConcurrent, long tokensPerMinute) {
+        // 스케줄러마다 게이지가 새로 등록되도록 레지스트리도 새로 만듦
+        meterRegistry = new SimpleMeterRegistry();
+        GptRequestScheduler scheduler = new GptRequestScheduler(meterRegistry, new MockEnvironment());
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "maxConcurrent", maxConcurrent);
+        ReflectionTestUtils.setField(scheduler, "tokensPerMinute", tokensPerMinute);
+        ReflectionTestUtils.setField(scheduler, "maxQueueSize", 2);
+        ReflectionTestUtils.setField(scheduler, "completionTokenEstimate", 0);
+        scheduler.setNanoClock(now::get);
+        scheduler.init();
+        return scheduler;
+    }
+    
+    private Attempt start(GptPriority priority, int tokens, List<GptPriority> order) {
+        Attempt attempt = new Attempt();
+        attempt.thread = new Thread(() -> {
+            try {
+                attempt.permit = scheduler.acquire(priority, tokens);
+                if (order != null) {
+                    order.add(priority);
+                }
+            } catch (RuntimeException e) {
+                attempt.failure = e;
+            }
+        }, "gpt-scheduler-test-" + priority);
+        attempt.thread.start();
+        attempts.add(attempt);
+        return attempt;
+    }
+    
+    private void advance(long amount, TimeUnit unit) {
+        now.addAndGet(unit.toNanos(amount));
+        scheduler.wakeWaiters();
+    }
+    
+    private void awaitQueued(GptPriority priority, int depth) throws InterruptedException {
+        awaitCondition(() -> queued(priority) == depth, priority + " 대기열 " + depth);
+    }
+    
+    private void awaitTokens(double tokens) throws InterruptedException {
+        // 대기 스레드가 깨어나 충전을 반영할 때까지
+        awaitCondition(() -> isClose(availableTokens(), tokens), "토큰 " + tokens);
+    }
+    
+    private boolean isClose(double actual, double expected) {
+        return Math.abs(actual - expected) < 0.001;
+    }
+    
+    private void awaitCondition(BooleanSupplier condition, String description) throws InterruptedException {
+        long limit = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > limit) {
+                throw new AssertionError("조건을 기다리다 시간 초과: " + description);
+            }
+            Thread.sleep(1);
+        }
+    }
+    
+    private double queued(GptPriority priority) {
+        return meterRegistry.get("gpt.scheduler.queue.depth").tag("priority", priority.name().toLowerCase()).gauge().value();
+    }
+    
+    private double availableTokens() {
+        return meterRegistry.get("gpt.scheduler.tokens.available").gauge().value();
+    }
+    
+    private double rejected(GptPriority priority, String reason) {
+        Counter counter = meterRegistry.find("gpt.scheduler.rejected")
+                .tag("priority", priority.name().toLowerCase())
+                .tag("reason", reason)
+                .counter();
+        return counter != null ? counter.count() : 0.0;
+    }
+    
+    private static final class Attempt {
+        private Thread thread;
+        private volatile GptRequestScheduler.Permit permit;
+        private volatile RuntimeException failure;
+        
+        private boolean done() {
+            return !thread.isAlive();
+        }
+        
+        private void join() throws InterruptedException {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            assertThat(thread.isAlive()).as(thread.getName() + " 종료").isFalse();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.sxxm.med.common.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickTest {
+    
+    @Test
+    void findsOverlappingMatchesThroughFailureLinks() {
+        AhoCorasick<String> automaton = AhoCorasick.<String>builder()
+                .add("he", "HE")
+                .add("she", "SHE")
+                .add("his", "HIS")
+                .add("hers", "HERS")
+                .build();
+        
+        List<AhoCorasick.Match<String>> matches = automaton.findAll("ushers");
+        
+        assertThat(matches.stream().map(AhoCorasick.Match::pattern).collect(Collectors.toList()))
+                .containsExactly("she", "he", "hers");
+        assertThat(matches.get(0).start()).isEqualTo(1);
+        assertThat(matches.get(0).end()).isEqualTo(4);
+        assertThat(matches.get(2).start()).isEqualTo(2);
+        assertThat(matches.get(2).end()).isEqualTo(6);
+    }
+    
+    @Test
+    void matchesHangulPatterns() {
+        AhoCorasick<String> automaton = AhoCorasick.<String>builder()
+                .add("레시틴", "SOY")
+                .add("대두", "SOY")
+                .add("밀", "GRAINS_GLUTEN")
+                .build();
+        
+        List<AhoCorasick.Match<String>> matches = automaton.findAll("밀가루,대두레시틴");
+        
+        assertThat(matches.stream().map(AhoCorasick.Match::pattern).collect(Collectors.toList()))
+                .containsExactly("밀", "대두", "레시틴");
+        assertThat(matches.get(2).value()).isEqualTo("SOY");
+    }
+    
+    @Test
+    void containsAnyStopsAtFirstMatch() {
+        AhoCorasick<Integer> automaton = AhoCorasick.<Integer>builder().add("abc", 1).add("bcd", 2).build();
+        
+        assertThat(automaton.containsAny("xxabcd")).isTrue();
+        assertThat(automaton.containsAny("abxbcx")).isFalse();
+        assertThat(automaton.containsAny("")).isFalse();
+    }
+    
+    @Test
+    void ignoresEmptyPatternsAndReplacesDuplicateValues() {
+        AhoCorasick<String> automaton = AhoCorasick.<String>builder()
+                .add("", "EMPTY")
+                .add(null, "NULL")
+                .add("egg", "OLD")
+                .add("egg", "NEW")
+                .build();
+        
+        assertThat(automaton.size()).isEqualTo(1);
+        assertThat(automaton.findAll("egg").get(0).value()).isEqualTo("NEW");
+        assertThat(automaton.findAll("no match")).isEmpty();
+        assertThat(AhoCorasick.<String>builder().build().findAll("egg")).isEmpty();
+    }
+}
@@ -0,0 +1,54 @@
+package com.sxxm.med.common.text;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HangulNormalizerTest {
+    
+    @Test
+    void foldsEvasiveSpellingsToRepresentativeForm() {
+        assertThat(HangulNormalizer.normalize("씨빨")).isEqualTo("시발");
+        assertThat(HangulNormalizer.normalize("시.발")).isEqualTo("시발");
+        assertThat(HangulNormalizer.normalize("시1발")).isEqualTo("시발");
+        assertThat(HangulNormalizer.normalize("ㅅㅣ발")).isEqualTo("시발");
+        assertThat(HangulNormalizer.normalize("ㅆㅂ")).isEqualTo("ㅅㅂ");
+        assertThat(HangulNormalizer.normalize("F0CK")).isEqualTo("fock");
+        assertThat(HangulNormalizer.normalize("fuuuck")).isEqualTo("fuck");
+    }
+    
+    @Test
+    void keepsWordBoundaries() {
+        HangulNormalizer.Words words = HangulNormalizer.normalizeWords("복용 시 발진");
+        
+        assertThat(words.text()).isEqualTo("복용시발진");
+        // "시발"(2..4)은 "시"와 "발진" 두 단어에 걸침
+        assertThat(words.spansWords(2, 4)).isTrue();
+        assertThat(words.spansWords(3, 5)).isFalse();
+    }
+    
+    @Test
+    void joinsSingleSyllableAndJamoPieces() {
+        assertThat(HangulNormalizer.normalizeWords("시 발").boundaries().isEmpty()).isTrue();
+        assertThat(HangulNormalizer.normalizeWords("ㅅ ㅂ").text()).isEqualTo("ㅅㅂ");
+        assertThat(HangulNormalizer.normalizeWords("ㅅ ㅂ").boundaries().isEmpty()).isTrue();
+        assertThat(HangulNormalizer.normalizeWords("시.발").boundaries().isEmpty()).isTrue();
+        assertThat(HangulNormalizer.normalizeWords("시 1 발").text()).isEqualTo("시발");
+        assertThat(HangulNormalizer.normalizeWords("시 1 발").boundaries().isEmpty()).isTrue();
+    }
+    
+    @Test
+    void doesNotJoinSingleSyllableWithLongerWord() {
+        HangulNormalizer.Words words = HangulNormalizer.normalizeWords("위염 병원");
+        
+        assertThat(words.text()).isEqualTo("위염병원");
+        assertThat(words.spansWords(1, 3)).isTrue();
+        assertThat(HangulNormalizer.normalizeWords("등 신경").spansWords(0, 2)).isTrue();
+    }
+    
+    @Test
+    void emptyInput() {
+        assertThat(HangulNormalizer.normalize(null)).isEmpty();
+        assertThat(HangulNormalizer.normalizeWords("  ").text()).isEmpty();
+    }
+}
@@ -0,0 +1,80 @@
+package com.sxxm.med.common.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimHashTest {
+    
+    @Test
+    void distanceCountsDifferentBits() {
+        assertThat(SimHash.distance(0L, 0L)).isEqualTo(0);
+        assertThat(SimHash.distance(0b1011L, 0b0001L)).isEqualTo(2);
+        assertThat(SimHash.distance(0L, -1L)).isEqualTo(64);
+        assertThat(SimHash.distance(Long.MIN_VALUE, 0L)).isEqualTo(1);
+    }
+    
+    @Test
+    void nearDuplicateTextIsCloserThanUnrelatedText() {
+        String spam = HangulNormalizer.normalize("지금 바로 가입하면 무료 상담 이벤트 진행 중입니다 링크 확인하세요");
+        String variant = HangulNormalizer.normalize("지금 바로 가입하면 무료 상담 이벤트 진행 중입니다 링크 확인하세요!!");
+        String unrelated = HangulNormalizer.normalize("어제 처방받은 항생제를 먹고 나서 속이 조금 불편했는데 다들 어떠셨나요");
+        
+        long spamHash = SimHash.compute(spam);
+        
+        assertThat(SimHash.compute(spam)).isEqualTo(spamHash);
+        assertThat(SimHash.distance(spamHash, SimHash.compute(variant))).isLessThanOrEqualTo(8);
+        assertThat(SimHash.distance(spamHash, SimHash.compute(unrelated))).isGreaterThan(8);
+    }
+    
+    @Test
+    void singleBandCoversAllBits() {
+        long simhash = 0x8000_0000_0000_0001L;
+        
+        // 폭 64인 밴드의 마스크가 0이 되어 모든 지문이 한 버킷에 모이면 안 됨
+        assertThat(SimHash.band(simhash, 0, 1)).isEqualTo(simhash);
+        assertThat(SimHash.band(-1L, 0, 1)).isEqualTo(-1L);
+    }
+    
+    @Test
+    void bandsSplitFingerprintIntoConsecutiveBitRanges() {
+        long simhash = 0x1234_5678_9ABC_DEF0L;
+        
+        assertThat(SimHash.band(simhash, 0, 4)).isEqualTo(0xDEF0L);
+        assertThat(SimHash.band(simhash, 1, 4)).isEqualTo(0x9ABCL);
+        assertThat(SimHash.band(simhash, 2, 4)).isEqualTo(0x5678L);
+        assertThat(SimHash.band(simhash, 3, 4)).isEqualTo(0x1234L);
+        // 32비트를 넘는 폭도 잘리지 않음
+        assertThat(SimHash.band(simhash, 0, 2)).isEqualTo(0x9ABC_DEF0L);
+        assertThat(SimHash.band(simhash, 1, 2)).isEqualTo(0x1234_5678L);
+    }
+    
+    @Test
+    void fingerprintsWithinDistanceShareBand() {
+        Random random = new Random(42);
+        int maxDistance = 8;
+        int bands = maxDistance + 1;
+        for (int i = 0; i < 1000; i++) {
+            long a = random.nextLong();
+            long b = a;
+            for (int flip = 0; flip < maxDistance; flip++) {
+                b ^= 1L << random.nextInt(64);
+            }
+            
+            boolean shared = false;
+            for (int band = 0; band < bands; band++) {
+                shared |= SimHash.band(a, band, bands) == SimHash.band(b, band, bands);
+            }
+            assertThat(shared).isTrue();
+        }
+    }
+    
+    @Test
+    void rejectsInvalidBandCount() {
+        assertThatThrownBy(() -> SimHash.band(1L, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SimHash.band(1L, 4, 4)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.sxxm.med.community.service;
+
+import com.sxxm.med.auth.entity.User;
+import com.sxxm.med.auth.repository.UserRepository;
+import com.sxxm.med.community.dto.CommentCreateRequest;
+import com.sxxm.med.community.dto.CommentResponse;
+import com.sxxm.med.community.entity.ModerationStatus;
+import com.sxxm.med.community.entity.Post;
+import com.sxxm.med.community.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 검증에서 숨겨진 게시글에는 작성자 외에 댓글을 쓰거나 읽을 수 없음
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CommentVisibilityTest {
+    
+    @Autowired
+    private CommentService commentService;
+    
+    @Autowired
+    private PostRepository postRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private User author;
+    private User viewer;
+    private Post hiddenPost;
+    
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(user("author"));
+        viewer = userRepository.save(user("viewer"));
+        hiddenPost = postRepository.save(Post.builder()
+                .author(author)
+                .title("제목")
+                .content("내용")
+                .moderationStatus(ModerationStatus.HIDDEN)
+                .build());
+    }
+    
+    @Test
+    void cannotCommentOnHiddenPost() {
+        assertThatThrownBy(() -> commentService.createComment(
+                viewer.getUsername(), new CommentCreateRequest(hiddenPost.getId(), "댓글")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("게시글을 찾을 수 없습니다");
+    }
+    
+    @Test
+    void authorCanStillCommentOnOwnHiddenPost() {
+        CommentResponse comment = commentService.createComment(
+                author.getUsername(), new CommentCreateRequest(hiddenPost.getId(), "댓글"));
+        
+        assertThat(comment.getPostId()).isEqualTo(hiddenPost.getId());
+    }
+    
+    @Test
+    void cannotListCommentsOfHiddenPost() {
+        assertThatThrownBy(() -> commentService.getCommentsByPostIdWithCursor(hiddenPost.getId(), null, 20, viewer.getId()))
+                .isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> commentService.getCommentsByPostIdWithCursor(hiddenPost.getId(), null, 20, null))
+                .isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> commentService.getCommentsByPostIdWithPagination(hiddenPost.getId(), 0, 20, viewer.getId()))
+                .isInstanceOf(RuntimeException.class);
+        
+        assertThat(commentService.getCommentsByPostIdWithCursor(hiddenPost.getId(), null, 20, author.getId()).getItems())
+                .isEmpty();
+    }
+    
+    private User user(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setPassword("password");
+        user.setEmail(name + "@example.com");
+        user.setNickname(name);
+        return user;
+    }
+}
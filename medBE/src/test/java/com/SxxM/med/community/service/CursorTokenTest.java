@@ -0,0 +1,41 @@
+package com.sxxm.med.community.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTokenTest {
+    
+    @Test
+    void roundTripsFieldsWithoutPadding() {
+        String token = CursorToken.encode("2024-03-01T09:30:15", 42L);
+        
+        assertThat(token).doesNotContain("=");
+        assertThat(CursorToken.decode(token, 2)).containsExactly("2024-03-01T09:30:15", "42");
+    }
+    
+    @Test
+    void emptyTokenMeansFirstPage() {
+        assertThat(CursorToken.decode(null, 2)).isNull();
+        assertThat(CursorToken.decode("  ", 2)).isNull();
+    }
+    
+    @Test
+    void rejectsInvalidBase64() {
+        assertThatThrownBy(() -> CursorToken.decode("not base64!", 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("잘못된 커서");
+    }
+    
+    @Test
+    void rejectsWrongFieldCount() {
+        assertThatThrownBy(() -> CursorToken.decode(CursorToken.encode("0.5"), 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("잘못된 커서");
+        assertThatThrownBy(() -> CursorToken.decode(CursorToken.encode("0.5", 42L, 7L), 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorToken.decode(CursorToken.encode("0.5", "42|"), 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
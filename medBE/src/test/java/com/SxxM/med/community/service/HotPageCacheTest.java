@@ -0,0 +1,136 @@
+package com.sxxm.med.community.service;
+
+import com.sxxm.med.community.dto.PostResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotPageCacheTest {
+    
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+    
+    private HotPageCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        cache = cache(60);
+    }
+    
+    @Test
+    void cachesOnlyFrontPagesOfLimitedSize() {
+        assertThat(cache.keyOf(null, FIRST_PAGE)).isEqualTo(cache.keyOf("", FIRST_PAGE));
+        assertThat(cache.keyOf("질문", PageRequest.of(2, 20))).isNotNull();
+        assertThat(cache.keyOf("질문", PageRequest.of(3, 20))).isNull();
+        assertThat(cache.keyOf("질문", PageRequest.of(0, 51))).isNull();
+    }
+    
+    @Test
+    void returnsStoredPageUntilInvalidated() {
+        HotPageCache.Key key = cache.keyOf("질문", FIRST_PAGE);
+        cache.put(key, List.of(post(1L, "질문")), 1, cache.version());
+        
+        HotPageCache.CachedPage cached = cache.get(key);
+        
+        assertThat(cached.posts()).hasSize(1);
+        assertThat(cached.totalElements()).isEqualTo(1L);
+    }
+    
+    @Test
+    void doesNotStorePageReadBeforeInvalidation() {
+        HotPageCache.Key key = cache.keyOf("질문", FIRST_PAGE);
+        long readVersion = cache.version();
+        
+        // 조회하는 동안 다른 요청이 게시글을 변경
+        cache.onPostChanged(PostChangedEvent.listing(2L, "질문"));
+        cache.put(key, List.of(post(1L, "질문")), 1, readVersion);
+        
+        assertThat(cache.get(key)).isNull();
+    }
+    
+    @Test
+    void likeChangeEvictsOnlyPagesContainingPost() {
+        HotPageCache.Key first = cache.keyOf("질문", FIRST_PAGE);
+        HotPageCache.Key second = cache.keyOf("질문", PageRequest.of(1, 20, FIRST_PAGE.getSort()));
+        cache.put(first, List.of(post(1L, "질문")), 2, cache.version());
+        cache.put(second, List.of(post(2L, "질문")), 2, cache.version());
+        
+        cache.onPostChanged(PostChangedEvent.like(2L));
+        
+        assertThat(cache.get(first)).isNotNull();
+        assertThat(cache.get(second)).isNull();
+    }
+    
+    @Test
+    void likeChangeEvictsEveryPageSortedByLikes() {
+        Sort byLikes = Sort.by(Sort.Direction.DESC, "likeCount").and(Sort.by(Sort.Direction.DESC, "id"));
+        HotPageCache.Key first = cache.keyOf("질문", PageRequest.of(0, 20, byLikes));
+        HotPageCache.Key second = cache.keyOf("질문", PageRequest.of(1, 20, byLikes));
+        HotPageCache.Key latest = cache.keyOf("질문", FIRST_PAGE);
+        cache.put(first, List.of(post(1L, "질문")), 2, cache.version());
+        cache.put(second, List.of(post(2L, "질문")), 2, cache.version());
+        cache.put(latest, List.of(post(1L, "질문")), 2, cache.version());
+        
+        // 2번 게시글의 좋아요가 늘면 첫 페이지로 올라올 수 있으므로 좋아요순 페이지는 모두 제거
+        cache.onPostChanged(PostChangedEvent.like(2L));
+        
+        assertThat(cache.get(first)).isNull();
+        assertThat(cache.get(second)).isNull();
+        assertThat(cache.get(latest)).isNotNull();
+    }
+    
+    @Test
+    void listingChangeEvictsCategoryAndAllCategoriesPages() {
+        HotPageCache.Key question = cache.keyOf("질문", FIRST_PAGE);
+        HotPageCache.Key review = cache.keyOf("후기", FIRST_PAGE);
+        HotPageCache.Key all = cache.keyOf(null, FIRST_PAGE);
+        cache.put(question, List.of(post(1L, "질문")), 1, cache.version());
+        cache.put(review, List.of(post(2L, "후기")), 1, cache.version());
+        cache.put(all, List.of(post(2L, "후기"), post(1L, "질문")), 2, cache.version());
+        
+        cache.onPostChanged(PostChangedEvent.listing(3L, "질문"));
+        
+        assertThat(cache.get(question)).isNull();
+        assertThat(cache.get(all)).isNull();
+        assertThat(cache.get(review)).isNotNull();
+        
+        // 카테고리를 모르는 변경은 전체 무효화
+        cache.onPostChanged(PostChangedEvent.listing(2L, null));
+        assertThat(cache.get(review)).isNull();
+    }
+    
+    @Test
+    void expiresPagesAfterTtl() {
+        cache = cache(-1);
+        HotPageCache.Key key = cache.keyOf("질문", FIRST_PAGE);
+        cache.put(key, List.of(post(1L, "질문")), 1, cache.version());
+        
+        assertThat(cache.get(key)).isNull();
+    }
+    
+    private HotPageCache cache(long ttlSeconds) {
+        HotPageCache cache = new HotPageCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxPages", 3);
+        ReflectionTestUtils.setField(cache, "maxPageSize", 50);
+        ReflectionTestUtils.setField(cache, "maxEntries", 200);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", ttlSeconds);
+        cache.init();
+        return cache;
+    }
+    
+    private PostResponse post(Long id, String category) {
+        return PostResponse.builder()
+                .id(id)
+                .title("게시글 " + id)
+                .category(category)
+                .likeCount(0L)
+                .build();
+    }
+}
@@ -0,0 +1,200 @@
+package com.sxxm.med.community.service;
+
+import com.sxxm.med.auth.entity.User;
+import com.sxxm.med.auth.repository.UserRepository;
+import com.sxxm.med.community.dto.CommentResponse;
+import com.sxxm.med.community.dto.CursorPageResponse;
+import com.sxxm.med.community.dto.PostDetailResponse;
+import com.sxxm.med.community.dto.PostResponse;
+import com.sxxm.med.community.entity.Comment;
+import com.sxxm.med.community.entity.CommentLike;
+import com.sxxm.med.community.entity.Post;
+import com.sxxm.med.community.entity.PostLike;
+import com.sxxm.med.community.repository.CommentLikeRepository;
+import com.sxxm.med.community.repository.CommentRepository;
+import com.sxxm.med.community.repository.PostLikeRepository;
+import com.sxxm.med.community.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 게시글/댓글 목록 조회 쿼리 수가 항목 수와 무관한지 확인 (좋아요 수는 like_count 컬럼, 좋아요 여부는 일괄 조회)
+ * LikeService의 좋아요 쿼리는 PostgreSQL 전용(데이터 변경 CTE)이므로 H2에서는 좋아요 행과 like_count를 직접 저장
+ * (좋아요 쿼리 자체는 LikeServicePostgresTest에서 확인)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class LikeQueryCountTest {
+    
+    @Autowired
+    private PostService postService;
+    
+    @Autowired
+    private CommentService commentService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PostRepository postRepository;
+    
+    @Autowired
+    private CommentRepository commentRepository;
+    
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+    
+    @Autowired
+    private CommentLikeRepository commentLikeRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private Statistics statistics;
+    private User author;
+    private User viewer;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        author = userRepository.save(user("author"));
+        viewer = userRepository.save(user("viewer"));
+    }
+    
+    @Test
+    void postPageUsesConstantNumberOfQueries() {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Post post = postRepository.save(Post.builder()
+                    .author(author)
+                    .title("제목 " + i)
+                    .content("내용 " + i)
+                    .category("자유게시판")
+                    .likeCount(i % 2 == 0 ? 2L : 1L)
+                    .build());
+            posts.add(post);
+            postLikeRepository.save(PostLike.builder().post(post).user(author).build());
+            if (i % 2 == 0) {
+                postLikeRepository.save(PostLike.builder().post(post).user(viewer).build());
+            }
+        }
+        flushAndClear();
+        
+        Page<PostResponse> page = postService.getAllPosts(
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id")), null, viewer.getId());
+        
+        // 목록(작성자 포함) 1 + 전체 개수 1 + 조회자 좋아요 ID 조회 1 (좋아요 수는 like_count 컬럼)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(page.getContent()).hasSize(20);
+        PostResponse first = page.getContent().get(0);
+        assertThat(first.getId()).isEqualTo(posts.get(0).getId());
+        assertThat(first.getLikeCount()).isEqualTo(2L);
+        assertThat(first.getIsLiked()).isTrue();
+        assertThat(first.getAuthorNickname()).isEqualTo("author");
+        PostResponse second = page.getContent().get(1);
+        assertThat(second.getLikeCount()).isEqualTo(1L);
+        assertThat(second.getIsLiked()).isFalse();
+    }
+    
+    @Test
+    void commentListUsesConstantNumberOfQueries() {
+        Post post = postRepository.save(Post.builder()
+                .author(author)
+                .title("제목")
+                .content("내용")
+                .build());
+        for (int i = 0; i < 30; i++) {
+            Comment comment = commentRepository.save(Comment.builder()
+                    .post(post)
+                    .author(i % 2 == 0 ? author : viewer)
+                    .content("댓글 " + i)
+                    .likeCount(i % 3 == 0 ? 1L : 0L)
+                    .build());
+            if (i % 3 == 0) {
+                commentLikeRepository.save(CommentLike.builder().comment(comment).user(viewer).build());
+            }
+        }
+        flushAndClear();
+        
+        List<CommentResponse> comments = commentService.getCommentsByPostIdOrdered(post.getId(), viewer.getId());
+        
+        // 댓글(작성자 포함) 1 + 조회자 좋아요 ID 조회 1
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(comments).hasSize(30);
+        assertThat(comments.stream().filter(CommentResponse::getIsLiked).count()).isEqualTo(10L);
+        assertThat(comments.get(0).getLikeCount()).isEqualTo(1L);
+        assertThat(comments.get(1).getLikeCount()).isEqualTo(0L);
+        
+        flushAndClear();
+        Page<CommentResponse> page = commentService.getCommentsByPostIdWithPagination(post.getId(), 0, 20, viewer.getId());
+        
+        // 게시글 조회 가능 여부 1 + 댓글 페이지 1 + 전체 개수 1 + 좋아요 여부 1
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(page.getTotalElements()).isEqualTo(30L);
+    }
+    
+    @Test
+    void postDetailEmbedsFirstCommentPageWithConstantNumberOfQueries() {
+        Post post = postRepository.save(Post.builder()
+                .author(author)
+                .title("제목")
+                .content("내용")
+                .build());
+        for (int i = 0; i < 30; i++) {
+            commentRepository.save(Comment.builder()
+                    .post(post)
+                    .author(i % 2 == 0 ? author : viewer)
+                    .content("댓글 " + i)
+                    .build());
+        }
+        flushAndClear();
+        
+        PostDetailResponse detail = postService.getPostWithComments(post.getId(), viewer.getId(), 20);
+        
+        // 게시글+작성자 1 + 게시글 좋아요 여부 1 + 댓글 페이지(작성자 포함) 1 + 댓글 좋아요 여부 1
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(detail.getComments()).hasSize(20);
+        assertThat(detail.getCommentsHasNext()).isTrue();
+        assertThat(detail.getCommentsNextCursor()).isNotNull();
+        
+        flushAndClear();
+        CursorPageResponse<CommentResponse> rest = commentService.getCommentsByPostIdWithCursor(
+                post.getId(), detail.getCommentsNextCursor(), 20, viewer.getId());
+        assertThat(rest.getItems()).hasSize(10);
+        assertThat(rest.getHasNext()).isFalse();
+        assertThat(rest.getItems().get(0).getContent()).isEqualTo("댓글 20");
+    }
+    
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+    
+    private User user(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setPassword("password");
+        user.setEmail(name + "@example.com");
+        user.setNickname(name);
+        return user;
+    }
+}
@@ -0,0 +1,143 @@
+package com.sxxm.med.community.service;
+
+import com.sxxm.med.auth.entity.User;
+import com.sxxm.med.auth.repository.UserRepository;
+import com.sxxm.med.community.dto.LikeResponse;
+import com.sxxm.med.community.entity.Comment;
+import com.sxxm.med.community.entity.Post;
+import com.sxxm.med.community.repository.CommentLikeRepository;
+import com.sxxm.med.community.repository.CommentRepository;
+import com.sxxm.med.community.repository.PostLikeRepository;
+import com.sxxm.med.community.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PostgreSQL에서 좋아요/좋아요 취소의 멱등성과 반환되는 좋아요 수 확인 (데이터 변경 CTE는 H2에서 실행 불가)
+ * MED_IT_DATASOURCE_URL 환경 변수가 있을 때만 실행 (예: jdbc:postgresql://localhost:5432/med_it)
+ * 테이블을 create-drop으로 만들고 지우므로 반드시 전용 테스트 DB를 지정
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${MED_IT_DATASOURCE_URL}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.datasource.username=${MED_IT_DATASOURCE_USERNAME:postgres}",
+        "spring.datasource.password=${MED_IT_DATASOURCE_PASSWORD:}",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "community.realtime.notify.enabled=false"
+})
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "MED_IT_DATASOURCE_URL", matches = ".+")
+@Transactional
+class LikeServicePostgresTest {
+    
+    @Autowired
+    private LikeService likeService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PostRepository postRepository;
+    
+    @Autowired
+    private CommentRepository commentRepository;
+    
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+    
+    @Autowired
+    private CommentLikeRepository commentLikeRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private User author;
+    private User viewer;
+    private Post post;
+    
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(user("author"));
+        viewer = userRepository.save(user("viewer"));
+        post = postRepository.save(Post.builder()
+                .author(author)
+                .title("제목")
+                .content("내용")
+                .build());
+        entityManager.flush();
+    }
+    
+    @Test
+    void postLikeAndUnlikeAreIdempotent() {
+        assertLike(likeService.likePost(post.getId(), viewer.getId()), 1L, true);
+        assertLike(likeService.likePost(post.getId(), viewer.getId()), 1L, true);
+        assertLike(likeService.likePost(post.getId(), author.getId()), 2L, true);
+        
+        assertLike(likeService.unlikePost(post.getId(), viewer.getId()), 1L, false);
+        assertLike(likeService.unlikePost(post.getId(), viewer.getId()), 1L, false);
+        
+        // 반환된 좋아요 수가 실제 좋아요 행 수와 일치
+        assertThat(postLikeRepository.countByPostId(post.getId())).isEqualTo(1L);
+        assertThat(postLikeRepository.existsByPostIdAndUserId(post.getId(), viewer.getId())).isFalse();
+    }
+    
+    @Test
+    void commentLikeAndUnlikeAreIdempotent() {
+        Comment comment = commentRepository.save(Comment.builder()
+                .post(post)
+                .author(author)
+                .content("댓글")
+                .build());
+        entityManager.flush();
+        
+        assertLike(likeService.likeComment(comment.getId(), viewer.getId()), 1L, true);
+        assertLike(likeService.likeComment(comment.getId(), viewer.getId()), 1L, true);
+        
+        assertLike(likeService.unlikeComment(comment.getId(), viewer.getId()), 0L, false);
+        assertLike(likeService.unlikeComment(comment.getId(), viewer.getId()), 0L, false);
+        
+        assertThat(commentLikeRepository.countByCommentId(comment.getId())).isZero();
+    }
+    
+    // 외래키 위반 후에는 트랜잭션이 중단되므로 테스트마다 한 번만 위반
+    @Test
+    void likeOnMissingPostReportsMissingPost() {
+        assertThatThrownBy(() -> likeService.likePost(Long.MAX_VALUE, viewer.getId()))
+                .hasMessage("게시글을 찾을 수 없습니다");
+    }
+    
+    @Test
+    void likeByMissingUserReportsMissingUser() {
+        assertThatThrownBy(() -> likeService.likePost(post.getId(), Long.MAX_VALUE))
+                .hasMessage("사용자를 찾을 수 없습니다");
+    }
+    
+    @Test
+    void unlikeOnMissingPostReportsMissingPost() {
+        assertThatThrownBy(() -> likeService.unlikePost(Long.MAX_VALUE, viewer.getId()))
+                .hasMessage("게시글을 찾을 수 없습니다");
+    }
+    
+    private void assertLike(LikeResponse response, long likeCount, boolean isLiked) {
+        assertThat(response.getLikeCount()).isEqualTo(likeCount);
+        assertThat(response.getIsLiked()).isEqualTo(isLiked);
+    }
+    
+    private User user(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setPassword("password");
+        user.setEmail(name + "@example.com");
+        user.setNickname(name);
+        return user;
+    }
+}
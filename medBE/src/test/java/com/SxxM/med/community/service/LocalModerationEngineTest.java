@@ -0,0 +1,83 @@
+package com.sxxm.med.community.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기본 사전(moderation/lexicon.txt)으로 로컬 판정 확인
+ */
+class LocalModerationEngineTest {
+    
+    private LocalModerationEngine engine;
+    
+    @BeforeEach
+    void setUp() {
+        engine = new LocalModerationEngine(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(engine, "lexiconPath", "classpath:moderation/lexicon.txt");
+        ReflectionTestUtils.setField(engine, "spamRejectScore", 2);
+        ReflectionTestUtils.setField(engine, "maxLinks", 3);
+        engine.init();
+    }
+    
+    @Test
+    void shortTermsSpanningWordsInMedicalTextAreApproved() {
+        List<String> sentences = List.of(
+                "약 복용 시 발진이 생기면 바로 중단하세요",
+                "위염 병원 추천 부탁드립니다",
+                "허리 통증이 등 신경 쪽으로 퍼져요",
+                "증상이 있을 시 바로 진료를 받으세요",
+                "어머니 미소가 돌아왔어요"
+        );
+        for (String sentence : sentences) {
+            assertThat(engine.evaluate(sentence).verdict()).as(sentence).isEqualTo(ModerationVerdict.APPROVE);
+        }
+    }
+    
+    @Test
+    void allowedCompoundsAreApproved() {
+        assertThat(engine.evaluate("이 증상의 시발점이 궁금해요").verdict()).isEqualTo(ModerationVerdict.APPROVE);
+        assertThat(engine.evaluate("시바견이 약을 삼켰어요").verdict()).isEqualTo(ModerationVerdict.APPROVE);
+    }
+    
+    @Test
+    void blockTermsAreRejected() {
+        List<String> sentences = List.of(
+                "시발 왜 안 낫냐",
+                "씨 발 진짜 짜증나",
+                "ㅅ ㅂ 효과 없음",
+                "시.발",
+                "이 병신아",
+                "개 새끼"
+        );
+        for (String sentence : sentences) {
+            assertThat(engine.evaluate(sentence).verdict()).as(sentence).isEqualTo(ModerationVerdict.REJECT);
+        }
+    }
+    
+    @Test
+    void suspectTermsGoToReview() {
+        assertThat(engine.evaluate("그만 닥쳐").verdict()).isEqualTo(ModerationVerdict.REVIEW);
+    }
+    
+    @Test
+    void multipleSpamTermsAreRejected() {
+        LocalModerationEngine.Result result = engine.evaluate("고수익 재택알바 오픈카톡으로 연락주세요");
+        
+        assertThat(result.verdict()).isEqualTo(ModerationVerdict.REJECT);
+        assertThat(result.matchedTerms()).contains("고수익", "재택알바");
+    }
+    
+    @Test
+    void plainTextIsApproved() {
+        LocalModerationEngine.Result result = engine.evaluate("두통약을 하루에 몇 번 먹어도 되나요?");
+        
+        assertThat(result.verdict()).isEqualTo(ModerationVerdict.APPROVE);
+        assertThat(result.matchedTerms()).isEmpty();
+    }
+}
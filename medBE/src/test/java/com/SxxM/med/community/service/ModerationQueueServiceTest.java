@@ -0,0 +1,111 @@
+package com.sxxm.med.community.service;
+
+import com.sxxm.med.auth.entity.User;
+import com.sxxm.med.auth.repository.UserRepository;
+import com.sxxm.med.community.entity.ModerationStatus;
+import com.sxxm.med.community.entity.ModerationTargetType;
+import com.sxxm.med.community.entity.ModerationTask;
+import com.sxxm.med.community.entity.Post;
+import com.sxxm.med.community.repository.ModerationTaskRepository;
+import com.sxxm.med.community.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 검증 중에 내용이 수정되면 이전 내용에 대한 결과가 반영되지 않는지 확인
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ModerationQueueServiceTest {
+    
+    @Autowired
+    private ModerationQueueService moderationQueueService;
+    
+    @Autowired
+    private ModerationTaskRepository moderationTaskRepository;
+    
+    @Autowired
+    private PostRepository postRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private Post post;
+    
+    @BeforeEach
+    void setUp() {
+        User author = new User();
+        author.setUsername("author");
+        author.setPassword("password");
+        author.setEmail("author@example.com");
+        author.setNickname("author");
+        userRepository.save(author);
+        
+        post = postRepository.save(Post.builder()
+                .author(author)
+                .title("제목")
+                .content("이전 내용")
+                .moderationStatus(ModerationStatus.PENDING)
+                .build());
+        moderationQueueService.enqueueIfPending(ModerationTargetType.POST, post.getId(), ModerationStatus.PENDING);
+    }
+    
+    @Test
+    void editApprovedLocallyDiscardsInFlightVerdict() {
+        ModerationQueueService.ClaimedTask inFlight = claimed();
+        
+        // 워커가 이전 내용을 검증하는 동안 수정된 내용이 로컬 검증에서 바로 승인됨
+        post.setModerationStatus(ModerationStatus.APPROVED);
+        moderationQueueService.onContentUpdated(ModerationTargetType.POST, post.getId(), ModerationStatus.APPROVED);
+        moderationQueueService.complete(List.of(inFlight), List.of(ModerationVerdict.REJECT));
+        
+        assertThat(statusOfPost()).isEqualTo(ModerationStatus.APPROVED);
+        assertThat(moderationTaskRepository.findByTargetTypeAndTargetId(ModerationTargetType.POST, post.getId())).isEmpty();
+    }
+    
+    @Test
+    void editStillPendingIsVerifiedAgain() {
+        ModerationQueueService.ClaimedTask inFlight = claimed();
+        
+        moderationQueueService.onContentUpdated(ModerationTargetType.POST, post.getId(), ModerationStatus.PENDING);
+        moderationQueueService.complete(List.of(inFlight), List.of(ModerationVerdict.REJECT));
+        
+        assertThat(statusOfPost()).isEqualTo(ModerationStatus.PENDING);
+        ModerationTask task = moderationTaskRepository.findByTargetTypeAndTargetId(ModerationTargetType.POST, post.getId())
+                .orElseThrow();
+        assertThat(task.getRevision()).isEqualTo(inFlight.revision() + 1);
+    }
+    
+    @Test
+    void verdictForCurrentRevisionIsApplied() {
+        moderationQueueService.complete(List.of(claimed()), List.of(ModerationVerdict.REJECT));
+        
+        assertThat(statusOfPost()).isEqualTo(ModerationStatus.HIDDEN);
+    }
+    
+    private ModerationQueueService.ClaimedTask claimed() {
+        ModerationTask task = moderationTaskRepository.findByTargetTypeAndTargetId(ModerationTargetType.POST, post.getId())
+                .orElseThrow();
+        return new ModerationQueueService.ClaimedTask(task.getId(), ModerationTargetType.POST, post.getId(),
+                task.getRevision(), 1, post.getContent());
+    }
+    
+    private ModerationStatus statusOfPost() {
+        entityManager.flush();
+        entityManager.clear();
+        return postRepository.findById(post.getId()).orElseThrow().getModerationStatus();
+    }
+}
@@ -0,0 +1,33 @@
+package com.sxxm.med.community.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 토큰 형식(Base64, 필드 수)은 CursorTokenTest에서 확인하고 여기서는 필드 해석만 확인
+ */
+class PageCursorTest {
+    
+    @Test
+    void roundTripsCreatedAtAndId() {
+        PageCursor cursor = PageCursor.after(LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123456000), 42L);
+        
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(PageCursor.decode(null)).isNull();
+    }
+    
+    @Test
+    void rejectsTamperedFields() {
+        assertThatThrownBy(() -> PageCursor.decode(CursorToken.encode("yesterday", 42L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("잘못된 커서");
+        assertThatThrownBy(() -> PageCursor.decode(CursorToken.encode("2024-03-01T09:30:15", "42 or 1=1")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(CursorToken.encode("2024-03-01T09:30:15", null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,183 @@
+package com.sxxm.med.community.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sxxm.med.community.repository.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 전송 작업을 직접 제어하는 TaskExecutor로 구독자 버퍼 초과, 자기 알림 무시, 구독 종료 확인
+ */
+class PostEventRelayTest {
+    
+    private static final Long POST_ID = 1L;
+    
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+    private boolean runImmediately;
+    private final TaskExecutor executor = task -> {
+        if (runImmediately) {
+            task.run();
+        } else {
+            pendingTasks.add(task);
+        }
+    };
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private PostEventHub hub;
+    private PostEventRelay relay;
+    
+    @BeforeEach
+    void setUp() {
+        hub = new PostEventHub(executor, meterRegistry);
+        ReflectionTestUtils.setField(hub, "timeoutMs", 60000L);
+        ReflectionTestUtils.setField(hub, "maxConnections", 10);
+        ReflectionTestUtils.setField(hub, "bufferSize", 2);
+        hub.init();
+        
+        // notifyEnabled 기본값 false: 이 노드 안에서만 전달
+        relay = new PostEventRelay(hub, postRepository, null, objectMapper, executor);
+    }
+    
+    @Test
+    void evictsSubscriberWhoseBufferIsFull() {
+        // 전송 작업이 실행되지 않아 버퍼가 비워지지 않는 느린 구독자
+        hub.subscribe(POST_ID);
+        
+        hub.deliver(PostActivityEvent.commentCreated(POST_ID, 10L)); // connected + 1 = 버퍼 2
+        hub.deliver(PostActivityEvent.commentCreated(POST_ID, 11L)); // 버퍼 초과
+        
+        assertThat(events("delivered")).isEqualTo(1.0);
+        assertThat(events("evicted")).isEqualTo(1.0);
+        assertThat(connections()).isEqualTo(0.0);
+        assertThat(hub.hasSubscribers(POST_ID)).isFalse();
+        
+        // 늦게 실행된 전송 작업은 끊긴 구독자에게 보내지 않음
+        pendingTasks.forEach(Runnable::run);
+        hub.deliver(PostActivityEvent.commentCreated(POST_ID, 12L));
+        assertThat(events("delivered")).isEqualTo(1.0);
+    }
+    
+    @Test
+    void keepsSubscriberThatDrainsBuffer() {
+        runImmediately = true;
+        hub.subscribe(POST_ID);
+        
+        for (long commentId = 1; commentId <= 5; commentId++) {
+            hub.deliver(PostActivityEvent.commentCreated(POST_ID, commentId));
+        }
+        
+        assertThat(events("delivered")).isEqualTo(5.0);
+        assertThat(events("evicted")).isEqualTo(0.0);
+        assertThat(connections()).isEqualTo(1.0);
+    }
+    
+    @Test
+    void ignoresNotificationsSentByThisNode() throws Exception {
+        runImmediately = true;
+        hub.subscribe(POST_ID);
+        String nodeId = (String) ReflectionTestUtils.getField(relay, "nodeId");
+        PostActivityEvent event = PostActivityEvent.postLike(POST_ID, 3L);
+        
+        receive(new PostEventRelay.Envelope(nodeId, event));
+        assertThat(events("delivered")).isEqualTo(0.0);
+        
+        receive(new PostEventRelay.Envelope("other-node", event));
+        assertThat(events("delivered")).isEqualTo(1.0);
+    }
+    
+    @Test
+    void closesTopicWhenPostIsNoLongerVisible() {
+        runImmediately = true;
+        hub.subscribe(POST_ID);
+        
+        when(postRepository.isVisible(POST_ID, null)).thenReturn(true);
+        relay.onPostChanged(PostChangedEvent.listing(POST_ID, "자유게시판"));
+        assertThat(hub.hasSubscribers(POST_ID)).isTrue();
+        
+        // 좋아요 변경은 공개 여부를 바꾸지 않음
+        when(postRepository.isVisible(POST_ID, null)).thenReturn(false);
+        relay.onPostChanged(PostChangedEvent.like(POST_ID));
+        assertThat(hub.hasSubscribers(POST_ID)).isTrue();
+        
+        relay.onPostChanged(PostChangedEvent.listing(POST_ID, null));
+        assertThat(hub.hasSubscribers(POST_ID)).isFalse();
+        assertThat(connections()).isEqualTo(0.0);
+    }
+    
+    @Test
+    void closesTopicOnClosedNotificationFromOtherNode() throws Exception {
+        runImmediately = true;
+        hub.subscribe(POST_ID);
+        hub.subscribe(2L);
+        
+        receive(new PostEventRelay.Envelope("other-node", PostActivityEvent.postClosed(POST_ID)));
+        
+        assertThat(hub.hasSubscribers(POST_ID)).isFalse();
+        assertThat(hub.hasSubscribers(2L)).isTrue();
+        assertThat(connections()).isEqualTo(1.0);
+    }
+    
+    @Test
+    void evictsSubscriberWhoseSendIsStalledAndInterruptsSender() throws Exception {
+        ReflectionTestUtils.setField(hub, "sendTimeoutMs", 1000L);
+        hub.subscribe(POST_ID);
+        hub.subscribe(2L);
+        
+        // POST_ID 구독자에게 쓰는 전송 스레드가 2초째 막혀 있는 상태
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Thread sender = new Thread(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        sender.start();
+        Object stalled = subscriberOf(POST_ID);
+        ReflectionTestUtils.setField(stalled, "sender", sender);
+        ReflectionTestUtils.setField(stalled, "sendStartedAt", System.nanoTime() - TimeUnit.SECONDS.toNanos(2));
+        
+        hub.evictStalledSenders();
+        
+        assertThat(events("stalled")).isEqualTo(1.0);
+        assertThat(hub.hasSubscribers(POST_ID)).isFalse();
+        assertThat(hub.hasSubscribers(2L)).isTrue();
+        assertThat(connections()).isEqualTo(1.0);
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+    
+    private Object subscriberOf(Long postId) {
+        Map<?, ? extends Set<?>> topics = (Map<?, ? extends Set<?>>) ReflectionTestUtils.getField(hub, "topics");
+        return topics.get(postId).iterator().next();
+    }
+    
+    private void receive(PostEventRelay.Envelope envelope) throws Exception {
+        ReflectionTestUtils.invokeMethod(relay, "receive", objectMapper.writeValueAsString(envelope));
+    }
+    
+    private double events(String result) {
+        Counter counter = meterRegistry.find("community.realtime.events").tag("result", result).counter();
+        return counter != null ? counter.count() : 0.0;
+    }
+    
+    private double connections() {
+        return meterRegistry.get("community.realtime.connections").gauge().value();
+    }
+}
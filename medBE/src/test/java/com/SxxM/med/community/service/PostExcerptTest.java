@@ -0,0 +1,50 @@
+package com.sxxm.med.community.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostExcerptTest {
+    
+    @Test
+    void stripsHtmlAndMarkdown() {
+        String content = "# 두통 질문\n\n<p>타이레놀을 **하루 두 번** 먹어도 되나요?</p>\n"
+                + "> 약사님 답변\n- [식약처 안내](https://example.com/guide)\n![사진](https://example.com/a.png) `끝`";
+        
+        assertThat(PostExcerpt.of(content))
+                .isEqualTo("두통 질문 타이레놀을 하루 두 번 먹어도 되나요? 약사님 답변 식약처 안내 끝");
+    }
+    
+    @Test
+    void returnsEmptyForMissingContent() {
+        assertThat(PostExcerpt.of(null)).isEqualTo("");
+        assertThat(PostExcerpt.of("")).isEqualTo("");
+        assertThat(PostExcerpt.of("<br/>  ** ")).isEqualTo("");
+    }
+    
+    @Test
+    void keepsShortTextWhole() {
+        String text = "가".repeat(PostExcerpt.MAX_LENGTH);
+        
+        assertThat(PostExcerpt.of(text)).isEqualTo(text);
+    }
+    
+    @Test
+    void truncatesLongTextWithEllipsis() {
+        String excerpt = PostExcerpt.of("가".repeat(PostExcerpt.MAX_LENGTH + 1));
+        
+        assertThat(excerpt.length()).isEqualTo(PostExcerpt.MAX_LENGTH);
+        assertThat(excerpt).endsWith("…");
+    }
+    
+    @Test
+    void doesNotSplitSurrogatePair() {
+        // 잘리는 위치 바로 앞에 이모지(서로게이트 쌍)가 걸치도록 배치
+        String text = "가".repeat(PostExcerpt.MAX_LENGTH - 2) + "😀" + "나".repeat(10);
+        
+        String excerpt = PostExcerpt.of(text);
+        
+        assertThat(excerpt).isEqualTo("가".repeat(PostExcerpt.MAX_LENGTH - 2) + "…");
+        assertThat(Character.isHighSurrogate(excerpt.charAt(excerpt.length() - 2))).isFalse();
+    }
+}
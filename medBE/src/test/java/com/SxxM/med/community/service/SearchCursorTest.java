@@ -0,0 +1,41 @@
+package com.sxxm.med.community.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 토큰 형식(Base64, 필드 수)은 CursorTokenTest에서 확인하고 여기서는 점수/ID 해석만 확인
+ */
+class SearchCursorTest {
+    
+    @Test
+    void roundTripsScoreExactly() {
+        // ts_rank 결과(real)를 그대로 비교하므로 소수점 오차 없이 복원되어야 함
+        SearchCursor cursor = new SearchCursor(0.0607927F, 42L);
+        
+        SearchCursor decoded = SearchCursor.decode(cursor.encode());
+        
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(Float.floatToIntBits(decoded.score())).isEqualTo(Float.floatToIntBits(0.0607927F));
+        assertThat(SearchCursor.decode(new SearchCursor(Float.MIN_VALUE, 1L).encode()).score()).isEqualTo(Float.MIN_VALUE);
+    }
+    
+    @Test
+    void rejectsTamperedFields() {
+        assertThatThrownBy(() -> SearchCursor.decode(CursorToken.encode("high", 42L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("잘못된 커서");
+        assertThatThrownBy(() -> SearchCursor.decode(CursorToken.encode("0.5", "abc")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void rejectsNonFiniteScores() {
+        assertThatThrownBy(() -> SearchCursor.decode(CursorToken.encode("NaN", 42L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCursor.decode(CursorToken.encode("Infinity", 42L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
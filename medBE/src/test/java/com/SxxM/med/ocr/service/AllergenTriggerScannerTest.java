@@ -0,0 +1,119 @@
+package com.sxxm.med.ocr.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기본 사전(allergen/food-triggers.txt)으로 찾은 그룹이 이전 그룹별 contains() 검색과 같은지 확인
+ * 속도 비교는 src/jmh의 AllergenTriggerScanBenchmark (./gradlew jmh)
+ */
+class AllergenTriggerScannerTest {
+    
+    /**
+     * 사전 파일로 옮기기 전 OcrAnalysisService.detectFoodAllergenTriggers의 그룹별 트리거 목록
+     */
+    private static final Map<String, List<String>> LEGACY_GROUPS = new LinkedHashMap<>();
+    
+    static {
+        LEGACY_GROUPS.put("NUTS", List.of("땅콩", "peanut", "아몬드", "almond", "호두", "walnut",
+                "피스타치오", "pistachio", "캐슈넛", "cashew", "헤이즐넛", "hazelnut", "macadamia", "브라질넛"));
+        LEGACY_GROUPS.put("DAIRY_EGG", List.of("우유", "milk", "유청", "whey", "카제인", "casein",
+                "계란", "egg", "난백", "albumin", "ovalbumin", "lysozyme"));
+        LEGACY_GROUPS.put("SEAFOOD", List.of("연어", "salmon", "참치", "tuna", "cod", "fish",
+                "새우", "shrimp", "게", "crab", "crustacean", "조개", "clam", "mussel", "oyster", "mollusc"));
+        LEGACY_GROUPS.put("GRAINS_GLUTEN", List.of("밀", "wheat", "글루텐", "gluten", "보리", "barley", "호밀", "rye"));
+        LEGACY_GROUPS.put("SOY", List.of("대두", "soy", "soybean", "레시틴", "lecithin"));
+        LEGACY_GROUPS.put("SEEDS", List.of("참깨", "sesame", "해바라기씨", "sunflower seed"));
+        LEGACY_GROUPS.put("OTHER", List.of("젤라틴", "gelatin", "아황산", "sulfite", "sulphite",
+                "셀러리", "celery", "겨자", "mustard", "루핀", "lupin"));
+    }
+    
+    private static final List<String> OCR_TEXTS = List.of(
+            "원재료명: 밀가루, 설탕, 대두유, 레시-\n틴(대두), 우유, 계란",
+            "Ingredients: Sunflower-Seed Oil, Sugar, Soy Lecithin, Whey Powder",
+            "땅콩, 아몬드, 호두, 캐슈넛 함유",
+            "새우,게,조개,참치,연어",
+            "WHEAT FLOUR, BARLEY MALT, RYE, MUSTARD, CELERY",
+            "참 깨, 해바라기 씨, 젤라틴, 아황산나트륨",
+            "정제수, 포도당, 구연산, 비타민C",
+            "Contains: milk, egg albumin, peanut, pistachio, sesame, sulphite",
+            "이 제품은 메밀, 땅콩, 대두, 우유, 밀, 새우를 사용한 제품과 같은 제조 시설에서 제조하고 있습니다"
+    );
+    
+    private AllergenTriggerScanner scanner;
+    
+    @BeforeEach
+    void setUp() {
+        scanner = new AllergenTriggerScanner(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(scanner, "triggersPath", "classpath:allergen/food-triggers.txt");
+        scanner.init();
+    }
+    
+    @Test
+    void findsSameGroupsAsLegacyContainsOnCollapsedText() {
+        for (String text : OCR_TEXTS) {
+            // 이전 방식에 같은 정규화(소문자, 공백/하이픈/줄바꿈 제거)를 적용한 결과와 같아야 함
+            assertThat(scannedGroups(text)).as(text).isEqualTo(legacyGroups(collapse(text), true));
+        }
+    }
+    
+    @Test
+    void neverMissesGroupFoundByLegacyContains() {
+        for (String text : OCR_TEXTS) {
+            assertThat(scannedGroups(text).containsAll(legacyGroups(text, false))).as(text).isTrue();
+        }
+    }
+    
+    @Test
+    void matchesTriggersSplitByHyphenAndLineBreak() {
+        String text = "대두유, 레시-\n틴, Sunflower-Seed Oil";
+        
+        List<AllergenTriggerScanner.Match> matches = scanner.scan(text, List.of("soy", "seeds"));
+        
+        assertThat(matches.stream().map(AllergenTriggerScanner.Match::trigger).collect(Collectors.toList()))
+                .containsExactly("대두", "레시틴", "sunflower seed");
+        AllergenTriggerScanner.Match lecithin = matches.get(1);
+        assertThat(text.substring(lecithin.start(), lecithin.end())).isEqualTo("레시-\n틴");
+    }
+    
+    @Test
+    void doesNotJoinIngredientsAcrossComma() {
+        // "대,두"는 쉼표로 나뉜 서로 다른 성분
+        assertThat(scanner.scan("옥수수 전분 대,두부 향료", List.of("SOY"))).isEmpty();
+    }
+    
+    private Set<String> scannedGroups(String text) {
+        return scanner.scan(text, LEGACY_GROUPS.keySet()).stream()
+                .map(AllergenTriggerScanner.Match::group)
+                .collect(Collectors.toSet());
+    }
+    
+    private Set<String> legacyGroups(String text, boolean collapseTriggers) {
+        Set<String> groups = new HashSet<>();
+        String lower = text.toLowerCase();
+        LEGACY_GROUPS.forEach((group, triggers) -> {
+            for (String trigger : triggers) {
+                String pattern = collapseTriggers ? collapse(trigger) : trigger.toLowerCase();
+                if (lower.contains(pattern)) {
+                    groups.add(group);
+                }
+            }
+        });
+        return groups;
+    }
+    
+    private String collapse(String text) {
+        return text.toLowerCase().replaceAll("[\\s\\-]", "");
+    }
+}
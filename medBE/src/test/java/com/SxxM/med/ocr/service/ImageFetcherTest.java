@@ -0,0 +1,124 @@
+package com.sxxm.med.ocr.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 네트워크 없이 WebClient의 ExchangeFunction을 바꿔 응답을 만들어 크기 제한과 시그니처 확인을 검사
+ */
+class ImageFetcherTest {
+    
+    private static final int MAX_BYTES = 1024;
+    private static final String URL = "https://images.example.com/label.png";
+    
+    private static final byte[] PNG = bytes(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0x00, 0x00, 0x00, 0x0D);
+    
+    @Test
+    void detectsSupportedSignatures() {
+        assertThat(ImageFetcher.detectFormat(bytes(0xFF, 0xD8, 0xFF, 0xE0))).isEqualTo("jpeg");
+        assertThat(ImageFetcher.detectFormat(PNG)).isEqualTo("png");
+        assertThat(ImageFetcher.detectFormat("GIF89a".getBytes(StandardCharsets.US_ASCII))).isEqualTo("gif");
+        assertThat(ImageFetcher.detectFormat("RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII))).isEqualTo("webp");
+        assertThat(ImageFetcher.detectFormat("BM\0\0".getBytes(StandardCharsets.US_ASCII))).isEqualTo("bmp");
+        assertThat(ImageFetcher.detectFormat(bytes('I', 'I', 0x2A, 0x00))).isEqualTo("tiff");
+        assertThat(ImageFetcher.detectFormat(bytes('M', 'M', 0x00, 0x2A))).isEqualTo("tiff");
+    }
+    
+    @Test
+    void rejectsUnknownOrTruncatedSignatures() {
+        assertThat(ImageFetcher.detectFormat("<!DOCTYPE html>".getBytes(StandardCharsets.US_ASCII))).isNull();
+        // WAV도 RIFF로 시작하지만 8바이트 뒤가 WEBP가 아님
+        assertThat(ImageFetcher.detectFormat("RIFF\0\0\0\0WAVEfmt ".getBytes(StandardCharsets.US_ASCII))).isNull();
+        assertThat(ImageFetcher.detectFormat(Arrays.copyOf(PNG, 4))).isNull();
+        assertThat(ImageFetcher.detectFormat(new byte[0])).isNull();
+    }
+    
+    @Test
+    void returnsImageBytes() {
+        ImageFetcher fetcher = fetcher(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.IMAGE_PNG_VALUE)
+                .body(Flux.just(buffer(PNG))));
+        
+        assertThat(fetcher.fetch(URL)).isEqualTo(PNG);
+    }
+    
+    @Test
+    void rejectsDeclaredContentLengthOverLimit() {
+        ImageFetcher fetcher = fetcher(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.IMAGE_PNG_VALUE)
+                .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(MAX_BYTES + 1))
+                .body(Flux.just(buffer(PNG))));
+        
+        assertThatThrownBy(() -> fetcher.fetch(URL)).isInstanceOf(ImageTooLargeException.class);
+    }
+    
+    @Test
+    void stopsReadingWhenStreamedBodyExceedsLimit() {
+        // Content-Length 없이(chunked) 청크를 나눠 보내 누적 크기로만 초과를 알 수 있는 경우
+        byte[] chunk = Arrays.copyOf(PNG, MAX_BYTES / 2);
+        ImageFetcher fetcher = fetcher(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.IMAGE_PNG_VALUE)
+                .body(Flux.range(0, 3).map(i -> buffer(chunk))));
+        
+        assertThatThrownBy(() -> fetcher.fetch(URL)).isInstanceOf(ImageTooLargeException.class);
+    }
+    
+    @Test
+    void rejectsOctetStreamWithoutImageSignature() {
+        ImageFetcher fetcher = fetcher(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                .body(Flux.just(buffer("<html>login</html>".getBytes(StandardCharsets.US_ASCII)))));
+        
+        assertThatThrownBy(() -> fetcher.fetch(URL)).hasMessageContaining("지원하지 않는 이미지 형식");
+    }
+    
+    @Test
+    void rejectsNonImageContentType() {
+        ImageFetcher fetcher = fetcher(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_HTML_VALUE)
+                .body(Flux.just(buffer(PNG))));
+        
+        assertThatThrownBy(() -> fetcher.fetch(URL)).hasMessageContaining("이미지가 아닌 응답");
+    }
+    
+    private ImageFetcher fetcher(ClientResponse.Builder response) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> Mono.just(response.build()));
+        ImageFetcher fetcher = new ImageFetcher(builder, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(fetcher, "maxBytes", MAX_BYTES);
+        ReflectionTestUtils.setField(fetcher, "connectTimeoutMs", 1000);
+        ReflectionTestUtils.setField(fetcher, "readTimeoutMs", 1000);
+        ReflectionTestUtils.setField(fetcher, "totalTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(fetcher, "cacheMaxBytes", 1024L * 1024);
+        ReflectionTestUtils.setField(fetcher, "revalidateAfterMs", 300000L);
+        fetcher.init();
+        return fetcher;
+    }
+    
+    private static DataBuffer buffer(byte[] bytes) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes.clone());
+    }
+    
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
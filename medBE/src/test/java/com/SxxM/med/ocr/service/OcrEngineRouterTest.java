@@ -0,0 +1,98 @@
+package com.sxxm.med.ocr.service;
+
+import com.sxxm.med.common.RequestDeadline;
+import com.sxxm.med.common.RequestDeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * local-first 모드에서 로컬 OCR이 요청 기한을 다 쓰지 않고 Vision 재인식 시간을 남기는지 확인
+ */
+class OcrEngineRouterTest {
+    
+    private static final byte[] IMAGE = {1, 2, 3};
+    
+    private final VisionOcrEngine vision = mock(VisionOcrEngine.class);
+    private final TesseractOcrEngine tesseract = mock(TesseractOcrEngine.class);
+    private final AtomicLong localBudgetMs = new AtomicLong(-1);
+    private OcrEngineRouter router;
+    
+    @BeforeEach
+    void setUp() {
+        ImagePreprocessor preprocessor = mock(ImagePreprocessor.class);
+        when(preprocessor.prepare(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(tesseract.name()).thenReturn("tesseract");
+        when(tesseract.isAvailable()).thenReturn(true);
+        when(vision.name()).thenReturn("vision");
+        when(vision.recognize(any())).thenReturn(new OcrEngine.Result("원재료명: 밀가루, 대두", null));
+        
+        router = new OcrEngineRouter(vision, tesseract, preprocessor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(router, "mode", "local-first");
+        ReflectionTestUtils.setField(router, "minConfidence", 0.75);
+        ReflectionTestUtils.setField(router, "minTextLength", 10);
+        ReflectionTestUtils.setField(router, "localDeadlineShare", 0.4);
+    }
+    
+    @Test
+    void limitsLocalEngineToShareOfRemainingDeadline() {
+        when(tesseract.recognize(any())).thenAnswer(invocation -> {
+            localBudgetMs.set(RequestDeadline.current().orElseThrow().remaining().toMillis());
+            throw new RuntimeException("Tesseract OCR 시간 초과");
+        });
+        
+        String text;
+        Duration remainingAfter;
+        try (RequestDeadline deadline = RequestDeadline.start(Duration.ofSeconds(10))) {
+            text = router.extractText(IMAGE);
+            remainingAfter = deadline.remaining();
+        }
+        
+        assertThat(localBudgetMs.get()).isBetween(1L, 4000L);
+        assertThat(text).isEqualTo("원재료명: 밀가루, 대두");
+        // 로컬 시도 후에도 요청 기한은 원래대로 복원
+        assertThat(remainingAfter).isGreaterThan(Duration.ofSeconds(5));
+    }
+    
+    @Test
+    void fallsBackToVisionWhenOnlyLocalShareExpires() {
+        when(tesseract.recognize(any())).thenThrow(new RequestDeadlineExceededException("요청 처리 기한이 지나 Tesseract OCR을(를) 건너뜁니다"));
+        
+        try (RequestDeadline ignored = RequestDeadline.start(Duration.ofSeconds(10))) {
+            assertThat(router.extractText(IMAGE)).isEqualTo("원재료명: 밀가루, 대두");
+        }
+    }
+    
+    @Test
+    void failsWhenRequestDeadlineItselfHasPassed() {
+        when(tesseract.recognize(any())).thenThrow(new RequestDeadlineExceededException("요청 처리 기한이 지나 Tesseract OCR을(를) 건너뜁니다"));
+        
+        try (RequestDeadline ignored = RequestDeadline.start(Duration.ZERO)) {
+            assertThatThrownBy(() -> router.extractText(IMAGE)).isInstanceOf(RequestDeadlineExceededException.class);
+        }
+        verify(vision, never()).recognize(any());
+    }
+    
+    @Test
+    void usesLocalEngineTimeoutWithoutRequestDeadline() {
+        when(tesseract.recognize(any())).thenAnswer(invocation -> {
+            assertThat(RequestDeadline.current()).isEmpty();
+            return new OcrEngine.Result("원재료명: 밀가루, 설탕, 대두유", 0.92);
+        });
+        
+        assertThat(router.extractText(IMAGE)).isEqualTo("원재료명: 밀가루, 설탕, 대두유");
+        verify(vision, never()).recognize(any());
+    }
+}
@@ -0,0 +1,83 @@
+package com.sxxm.med.ocr.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sxxm.med.ocr.repository.OcrResultCacheRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 유사 이미지(dHash)의 결과는 OCR 원문이 같을 때만 재사용되는지 확인 (DB는 mock, 메모리 캐시만 사용)
+ */
+class OcrResultCacheServiceTest {
+    
+    private static final String OCR_TEXT = "원재료명: 밀가루, 설탕, 땅콩";
+    
+    private OcrResultCacheService cacheService;
+    private OcrResultCacheService.ImageKey original;
+    private OcrResultCacheService.ImageKey resized;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        cacheService = new OcrResultCacheService(mock(OcrResultCacheRepository.class),
+                mock(PlatformTransactionManager.class), new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cacheService, "enabled", true);
+        ReflectionTestUtils.setField(cacheService, "ttlDays", 30);
+        ReflectionTestUtils.setField(cacheService, "memoryMaxEntries", 200);
+        ReflectionTestUtils.setField(cacheService, "perceptualEnabled", true);
+        ReflectionTestUtils.setField(cacheService, "perceptualMaxDistance", 4);
+        ReflectionTestUtils.setField(cacheService, "perceptualIndexSize", 5000);
+        cacheService.init();
+        
+        // 같은 사진을 크기만 바꿔 저장: 바이트(SHA-256)는 다르고 dHash는 같음
+        original = cacheService.keyOf(png(90, 80));
+        resized = cacheService.keyOf(png(180, 160));
+        cacheService.put(original, OCR_TEXT, OCR_TEXT, List.of("밀가루", "설탕", "땅콩"));
+    }
+    
+    @Test
+    void reusesResultDirectlyOnlyForSameImageBytes() {
+        assertThat(resized.sha256()).isNotEqualTo(original.sha256());
+        assertThat(Long.bitCount(resized.perceptualHash() ^ original.perceptualHash())).isLessThanOrEqualTo(4);
+        
+        assertThat(cacheService.get(original)).isPresent();
+        assertThat(cacheService.get(resized)).isEmpty();
+    }
+    
+    @Test
+    void reusesSimilarImageResultWhenOcrTextMatches() {
+        assertThat(cacheService.getSimilar(resized, OCR_TEXT))
+                .hasValueSatisfying(cached -> assertThat(cached.ingredients()).containsExactly("밀가루", "설탕", "땅콩"));
+    }
+    
+    @Test
+    void ignoresSimilarImageResultWhenOcrTextDiffers() {
+        // 포장이 비슷한 다른 제품: 성분이 다르면 이전 성분 목록을 쓰면 안 됨
+        assertThat(cacheService.getSimilar(resized, "원재료명: 밀가루, 설탕")).isEmpty();
+    }
+    
+    // 가로 방향 밝기 그라데이션 + 세로 줄무늬
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int gray = (x * 255 / width + (y * 8 / height % 2) * 64) % 256;
+                image.setRGB(x, y, gray << 16 | gray << 8 | gray);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
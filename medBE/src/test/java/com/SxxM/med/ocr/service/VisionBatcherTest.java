@@ -0,0 +1,200 @@
+package com.sxxm.med.ocr.service;
+
+import com.google.api.gax.rpc.ApiCallContext;
+import com.google.api.gax.rpc.UnaryCallable;
+import com.google.cloud.vision.v1.AnnotateImageRequest;
+import com.google.cloud.vision.v1.AnnotateImageResponse;
+import com.google.cloud.vision.v1.BatchAnnotateImagesRequest;
+import com.google.cloud.vision.v1.BatchAnnotateImagesResponse;
+import com.google.cloud.vision.v1.Image;
+import com.google.cloud.vision.v1.ImageAnnotatorClient;
+import com.google.cloud.vision.v1.TextAnnotation;
+import com.google.protobuf.ByteString;
+import com.google.rpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 묶음 크기(3)만큼 동시에 요청해 한 번의 Vision 호출로 묶이게 하고, 응답 위치대로 호출자에게 돌아가는지 확인
+ * max-wait-ms를 길게 두어 묶음은 크기로만 닫히므로 실행 시점과 무관하게 항상 한 묶음
+ */
+class VisionBatcherTest {
+    
+    private static final int BATCH_SIZE = 3;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final List<Long> batchBytes = new CopyOnWriteArrayList<>();
+    private final ExecutorService callers = Executors.newFixedThreadPool(BATCH_SIZE);
+    private Function<BatchAnnotateImagesRequest, BatchAnnotateImagesResponse> vision;
+    private VisionBatcher batcher;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        UnaryCallable<BatchAnnotateImagesRequest, BatchAnnotateImagesResponse> callable = mock(UnaryCallable.class);
+        when(callable.call(any(BatchAnnotateImagesRequest.class), any(ApiCallContext.class))).thenAnswer(invocation -> {
+            BatchAnnotateImagesRequest request = invocation.getArgument(0);
+            batchSizes.add(request.getRequestsCount());
+            batchBytes.add(request.getRequestsList().stream().mapToLong(AnnotateImageRequest::getSerializedSize).sum());
+            return vision.apply(request);
+        });
+        ImageAnnotatorClient client = mock(ImageAnnotatorClient.class);
+        when(client.batchAnnotateImagesCallable()).thenReturn(callable);
+        VisionClientManager visionClientManager = mock(VisionClientManager.class);
+        when(visionClientManager.getClient()).thenReturn(client);
+        
+        batcher = new VisionBatcher(visionClientManager, new SimpleMeterRegistry(), Runnable::run);
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        ReflectionTestUtils.setField(batcher, "maxSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(batcher, "maxWaitMs", 60000L);
+        ReflectionTestUtils.setField(batcher, "maxBytes", 8L * 1024 * 1024);
+        batcher.init();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+        callers.shutdownNow();
+    }
+    
+    @Test
+    void returnsEachCallerItsOwnResponse() {
+        vision = this::echo;
+        
+        List<CompletableFuture<AnnotateImageResponse>> results = annotateAll("image-a", "image-b", "image-c");
+        
+        assertThat(batchSizes).containsExactly(BATCH_SIZE);
+        assertThat(text(results.get(0))).isEqualTo("text of image-a");
+        assertThat(text(results.get(1))).isEqualTo("text of image-b");
+        assertThat(text(results.get(2))).isEqualTo("text of image-c");
+    }
+    
+    @Test
+    void deliversImageErrorOnlyToItsCaller() {
+        vision = this::echo;
+        
+        List<CompletableFuture<AnnotateImageResponse>> results = annotateAll("image-a", "broken-b", "image-c");
+        
+        assertThat(batchSizes).containsExactly(BATCH_SIZE);
+        assertThat(text(results.get(0))).isEqualTo("text of image-a");
+        assertThatThrownBy(() -> results.get(1).join())
+                .isInstanceOf(CompletionException.class)
+                .hasMessageContaining("이미지를 처리할 수 없습니다");
+        assertThat(text(results.get(2))).isEqualTo("text of image-c");
+    }
+    
+    @Test
+    void failsCallersWithoutResponse() {
+        // 응답이 요청보다 적으면 결과가 없는 위치의 호출자만 실패
+        vision = request -> {
+            BatchAnnotateImagesResponse full = echo(request);
+            return BatchAnnotateImagesResponse.newBuilder().addResponses(full.getResponses(0)).build();
+        };
+        
+        List<CompletableFuture<AnnotateImageResponse>> results = annotateAll("image-a", "image-b", "image-c");
+        
+        // 묶음 안의 순서는 도착 순서이므로 어느 호출자가 첫 번째인지는 정해지지 않음
+        List<CompletableFuture<AnnotateImageResponse>> failed = results.stream()
+                .filter(CompletableFuture::isCompletedExceptionally)
+                .toList();
+        assertThat(failed).hasSize(2);
+        for (CompletableFuture<AnnotateImageResponse> result : failed) {
+            assertThatThrownBy(result::join).hasMessageContaining("결과가 없습니다");
+        }
+        assertThat(results).filteredOn(result -> !result.isCompletedExceptionally())
+                .singleElement()
+                .satisfies(result -> assertThat(text(result)).startsWith("text of image-"));
+    }
+    
+    @Test
+    void failsWholeBatchWhenCallFails() {
+        vision = request -> {
+            throw new IllegalStateException("Vision API 할당량 초과");
+        };
+        
+        List<CompletableFuture<AnnotateImageResponse>> results = annotateAll("image-a", "image-b", "image-c");
+        
+        for (CompletableFuture<AnnotateImageResponse> result : results) {
+            assertThatThrownBy(result::join).hasMessageContaining("할당량 초과");
+        }
+    }
+    
+    @Test
+    void keepsImageArrivingDuringWaitOutOfFullBatch() {
+        // 두 장까지만 들어가는 크기 제한, 세 번째 이미지는 묶음을 기다리는 중에 도착해도 다음 묶음으로
+        long twoImages = 2L * request("image-a").getSerializedSize();
+        ReflectionTestUtils.setField(batcher, "maxBytes", twoImages);
+        ReflectionTestUtils.setField(batcher, "maxWaitMs", 200L);
+        vision = this::echo;
+        
+        List<CompletableFuture<AnnotateImageResponse>> results = annotateAll("image-a", "image-b", "image-c");
+        
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(BATCH_SIZE);
+        assertThat(batchSizes).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(2));
+        assertThat(batchBytes).allSatisfy(bytes -> assertThat(bytes).isLessThanOrEqualTo(twoImages));
+        assertThat(text(results.get(0))).isEqualTo("text of image-a");
+        assertThat(text(results.get(1))).isEqualTo("text of image-b");
+        assertThat(text(results.get(2))).isEqualTo("text of image-c");
+    }
+    
+    private List<CompletableFuture<AnnotateImageResponse>> annotateAll(String... contents) {
+        List<CompletableFuture<AnnotateImageResponse>> results = Arrays.stream(contents)
+                .map(content -> CompletableFuture.supplyAsync(() -> batcher.annotate(request(content), TIMEOUT), callers))
+                .toList();
+        // 모든 호출이 끝날 때까지 (성공/실패 무관)
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                .handle((ignored, error) -> null)
+                .orTimeout(10, TimeUnit.SECONDS)
+                .join();
+        return results;
+    }
+    
+    private AnnotateImageRequest request(String content) {
+        return AnnotateImageRequest.newBuilder()
+                .setImage(Image.newBuilder().setContent(ByteString.copyFromUtf8(content)))
+                .build();
+    }
+    
+    /**
+     * 요청 순서대로 "text of <이미지 내용>"을 돌려주고, broken으로 시작하는 이미지는 INVALID_ARGUMENT 오류
+     */
+    private BatchAnnotateImagesResponse echo(BatchAnnotateImagesRequest request) {
+        BatchAnnotateImagesResponse.Builder response = BatchAnnotateImagesResponse.newBuilder();
+        for (AnnotateImageRequest image : request.getRequestsList()) {
+            String content = image.getImage().getContent().toStringUtf8();
+            if (content.startsWith("broken")) {
+                response.addResponses(AnnotateImageResponse.newBuilder()
+                        .setError(Status.newBuilder().setCode(3).setMessage("bad image data")));
+            } else {
+                response.addResponses(AnnotateImageResponse.newBuilder()
+                        .setFullTextAnnotation(TextAnnotation.newBuilder().setText("text of " + content)));
+            }
+        }
+        return response.build();
+    }
+    
+    private String text(CompletableFuture<AnnotateImageResponse> result) {
+        return result.join().getFullTextAnnotation().getText();
+    }
+}
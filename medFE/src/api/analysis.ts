@@ -23,5 +23,15 @@ export const analysisApi = {
     const response = await apiClient.post<OcrAnalysisResponse>('/api/analysis/ocr', data);
     return response.data;
   },
+
+  // 이미지 파일을 Base64 변환 없이 multipart로 업로드
+  analyzeOcrUpload: async (file: File): Promise<OcrAnalysisResponse> => {
+    const formData = new FormData();
+    formData.append('image', file);
+    const response = await apiClient.post<OcrAnalysisResponse>('/api/analysis/ocr/upload', formData, {
+      headers: { 'Content-Type': 'multipart/form-data' },
+    });
+    return response.data;
+  },
 };
 
@@ -1,10 +1,8 @@
 import { useState, useRef } from 'react';
 import { analysisApi } from '../api/analysis';
-import { useAuthStore } from '../store/authStore';
 import type { OcrAnalysisResponse } from '../types/api';
 
 export default function OcrAnalysisPage() {
-  const { user } = useAuthStore();
   const [imageFile, setImageFile] = useState<File | null>(null);
   const [preview, setPreview] = useState<string | null>(null);
   const [loading, setLoading] = useState(false);
@@ -44,22 +42,7 @@ export default function OcrAnalysisPage() {
     setResult(null);
 
     try {
-      // 이미지를 base64로 변환
-      const base64 = await new Promise<string>((resolve, reject) => {
-        const reader = new FileReader();
-        reader.onloadend = () => {
-          const base64String = (reader.result as string).split(',')[1];
-          resolve(base64String);
-        };
-        reader.onerror = reject;
-        reader.readAsDataURL(imageFile);
-      });
-
-      const data = await analysisApi.analyzeOcr({
-        userId: user?.id || 0, // 로그인하지 않은 경우 0 사용
-        imageData: base64,
-        base64: true,
-      });
+      const data = await analysisApi.analyzeOcrUpload(imageFile);
       setResult(data);
     } catch (err: any) {
       setError(err.response?.data?.message || 'OCR 분석에 실패했습니다.');
@@ -29,7 +29,7 @@ export default function PostDetailPage() {
       const postData = await postsApi.getPost(Number(postId), true);
       setPost(postData);
       setEditPostTitle(postData.title);
-      setEditPostContent(postData.content);
+      setEditPostContent(postData.content ?? '');
     } catch (err: any) {
       setError(err.response?.data?.message || '게시글을 불러오는데 실패했습니다.');
       console.error('게시글 조회 실패:', err);
@@ -258,7 +258,7 @@ export default function PostDetailPage() {
                 onClick={() => {
                   setIsEditingPost(false);
                   setEditPostTitle(post.title);
-                  setEditPostContent(post.content);
+                  setEditPostContent(post.content ?? '');
                 }}
                 className="px-4 py-2 border border-gray-300 rounded-lg text-gray-700 hover:bg-gray-50"
               >
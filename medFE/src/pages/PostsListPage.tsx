@@ -174,7 +174,7 @@ export default function PostsListPage() {
                         </span>
                       )}
                     </div>
-                    <p className="text-gray-600 mb-3 line-clamp-2">{post.content}</p>
+                    <p className="text-gray-600 mb-3 line-clamp-2">{post.excerpt ?? post.content}</p>
                     <div className="flex items-center gap-4 text-sm text-gray-500">
                       <span>{post.authorNickname}</span>
                       <span>•</span>
@@ -200,7 +200,9 @@ export interface PostResponse {
   authorId: number;
   authorNickname: string;
   title: string;
-  content: string;
+  // 상세 조회에서만 포함 (목록은 excerpt)
+  content?: string;
+  excerpt?: string;
   category?: string;
   likeCount: number;
   isLiked: boolean;
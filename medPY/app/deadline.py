@@ -0,0 +1,45 @@
+import time
+from contextvars import ContextVar
+from typing import Optional
+
+# Spring 백엔드가 전달하는 요청 처리 기한 헤더 (epoch milliseconds)
+DEADLINE_HEADER = "X-Request-Deadline"
+
+_request_deadline: ContextVar[Optional[float]] = ContextVar("request_deadline", default=None)
+
+
+class DeadlineExceeded(Exception):
+    """요청 처리 기한이 지나 작업을 건너뛸 때 발생"""
+    pass
+
+
+def parse_deadline(header_value: Optional[str]) -> Optional[float]:
+    """헤더 값(epoch ms)을 epoch seconds로 변환. 없거나 잘못된 값이면 None"""
+    if not header_value:
+        return None
+    try:
+        return int(header_value) / 1000.0
+    except ValueError:
+        return None
+
+
+def set_deadline(deadline: Optional[float]):
+    return _request_deadline.set(deadline)
+
+
+def reset_deadline(token) -> None:
+    _request_deadline.reset(token)
+
+
+def remaining_timeout(default: float) -> float:
+    """
+    하위 호출 타임아웃(초): 기본값과 남은 기한 중 짧은 값
+    기한이 이미 지났으면 DeadlineExceeded
+    """
+    deadline = _request_deadline.get()
+    if deadline is None:
+        return default
+    remaining = deadline - time.time()
+    if remaining <= 0:
+        raise DeadlineExceeded("요청 처리 기한이 지났습니다")
+    return min(default, remaining)
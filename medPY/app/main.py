@@ -1,7 +1,10 @@
-from fastapi import FastAPI
+import time
+from fastapi import FastAPI, Request
 from fastapi.middleware.cors import CORSMiddleware
+from fastapi.responses import JSONResponse
 from dotenv import load_dotenv
 from app.routers import ingredients, sideeffects, ocr
+from app.deadline import DEADLINE_HEADER, parse_deadline, set_deadline, reset_deadline
 
 # 환경변수 로드
 load_dotenv()
@@ -17,6 +20,20 @@ app.add_middleware(
     allow_headers=["*"],
 )
 
+# 요청 처리 기한 (백엔드가 X-Request-Deadline 헤더로 전달)
+# 이미 기한이 지난 요청은 처리하지 않고, 처리 중인 GPT 호출은 남은 시간만큼만 대기
+@app.middleware("http")
+async def request_deadline_middleware(request: Request, call_next):
+    deadline = parse_deadline(request.headers.get(DEADLINE_HEADER))
+    if deadline is not None and deadline <= time.time():
+        return JSONResponse(status_code=504, content={"detail": "요청 처리 기한이 지났습니다"})
+    
+    token = set_deadline(deadline)
+    try:
+        return await call_next(request)
+    finally:
+        reset_deadline(token)
+
 # 라우터 등록
 app.include_router(ingredients.router, prefix="/analyze", tags=["ingredients"])
 app.include_router(sideeffects.router, prefix="/analyze", tags=["sideeffects"])
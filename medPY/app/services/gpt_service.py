@@ -3,6 +3,7 @@ import json
 import httpx
 from typing import Dict, Any, Optional
 from dotenv import load_dotenv
+from app.deadline import remaining_timeout
 
 load_dotenv()
 
@@ -34,7 +35,8 @@ class GptService:
             "response_format": {"type": "json_object"}
         }
         
-        async with httpx.AsyncClient(timeout=60.0) as client:
+        # 요청 처리 기한이 있으면 남은 시간만큼만 대기 (기한이 지났으면 호출하지 않음)
+        async with httpx.AsyncClient(timeout=remaining_timeout(60.0)) as client:
             response = await client.post(self.api_url, headers=headers, json=payload)
             response.raise_for_status()
             